@@ -0,0 +1,62 @@
+package com.tandem.auth;
+
+import com.tandem.auth.dto.Auth0ErrorResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Classification of Auth0 error bodies into {@link Auth0ErrorCode}, with and without the
+ * JSON decode that precedes it on a rejected call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Auth0ErrorCodeBenchmark {
+
+    @Param({"invalid_grant", "email_not_verified", "user_exists", "password_strength"})
+    public String body;
+
+    private JsonMapper mapper;
+    private byte[] json;
+    private Auth0ErrorResponse decoded;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        String text = switch (body) {
+            case "invalid_grant" -> """
+                    {"error":"invalid_grant","error_description":"Wrong email or password."}""";
+            case "email_not_verified" -> """
+                    {"error":"unauthorized","error_description":"Please verify your email before logging in."}""";
+            case "user_exists" -> """
+                    {"name":"BadRequestError","code":"user_exists","description":"The user already exists.",\
+                    "statusCode":400}""";
+            case "password_strength" -> """
+                    {"name":"PasswordStrengthError","message":"Password is too weak","code":"invalid_password",\
+                    "description":{"rules":[{"message":"At least %d characters in length","format":[8],\
+                    "code":"lengthAtLeast","verified":false}],"verified":false},"statusCode":400}""";
+            default -> throw new IllegalArgumentException(body);
+        };
+        json = text.getBytes(StandardCharsets.UTF_8);
+        decoded = mapper.readValue(json, Auth0ErrorResponse.class);
+    }
+
+    @Benchmark
+    public Auth0ErrorCode classify() {
+        return Auth0ErrorCode.of(decoded);
+    }
+
+    @Benchmark
+    public Auth0ErrorCode decodeAndClassify() {
+        return Auth0ErrorCode.of(mapper.readValue(json, Auth0ErrorResponse.class));
+    }
+}
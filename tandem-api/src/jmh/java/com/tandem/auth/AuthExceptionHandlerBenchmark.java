@@ -0,0 +1,54 @@
+package com.tandem.auth;
+
+import com.tandem.auth.dto.ErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Mapping of the common failures to error responses, including the rejection counter and
+ * the cost of creating the exception itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthExceptionHandlerBenchmark {
+
+    private AuthExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        handler = new AuthExceptionHandler();
+        handler.bindTo(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> invalidCredentials() {
+        return handler.handleInvalidCredentials(new InvalidCredentialsException(Auth0ErrorCode.INVALID_GRANT, null));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> emailNotVerified() {
+        return handler.handleInvalidCredentials(
+                new InvalidCredentialsException(Auth0ErrorCode.EMAIL_NOT_VERIFIED, null));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> rateLimited() {
+        return handler.handleRateLimited(new RateLimitExceededException(AuthEndpoint.LOGIN, Duration.ofMillis(1500)));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> auth0Unavailable() {
+        return handler.handleAuth0Unavailable(
+                new Auth0UnavailableException(Auth0Operation.TOKEN, Duration.ofSeconds(30)));
+    }
+}
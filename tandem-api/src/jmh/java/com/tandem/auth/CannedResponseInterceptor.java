@@ -0,0 +1,53 @@
+package com.tandem.auth;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Answers every request with a fixed JSON body without touching the network, so client
+ * benchmarks measure payload construction, serialization and response handling only.
+ */
+final class CannedResponseInterceptor {
+
+    private CannedResponseInterceptor() {
+    }
+
+    static ClientHttpRequestInterceptor of(HttpStatus status, String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return (request, requestBody, execution) -> new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return status;
+            }
+
+            @Override
+            public String getStatusText() {
+                return status.getReasonPhrase();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.tandem.auth.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Compares decoding a repeated bearer token with the default Nimbus decoder (RSA verify on
+ * every call) against {@link CachingJwtDecoder}, with and without the decode timers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtDecoderBenchmark {
+
+    private String token;
+    private JwtDecoder defaultDecoder;
+    private JwtDecoder cachingDecoder;
+    private JwtDecoder timedCachingDecoder;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("bench").generate();
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .subject("auth0|bench")
+                        .issuer("https://tenant.example.com/")
+                        .audience("https://api.example.com")
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                        .build());
+        jwt.sign(new RSASSASigner(key));
+        token = jwt.serialize();
+
+        defaultDecoder = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+        cachingDecoder = new CachingJwtDecoder(defaultDecoder, 10_000, Duration.ofMinutes(15));
+        timedCachingDecoder = new TimedJwtDecoder(
+                new CachingJwtDecoder(defaultDecoder, 10_000, Duration.ofMinutes(15)),
+                new SimpleMeterRegistry(), "total");
+    }
+
+    @Benchmark
+    public Jwt defaultDecoder() {
+        return defaultDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachingDecoder() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt timedCachingDecoder() {
+        return timedCachingDecoder.decode(token);
+    }
+}
@@ -0,0 +1,126 @@
+package com.tandem.household;
+
+import com.tandem.TandemBackendApplication;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Card writes per second through JPA with the development settings ({@code profile=default})
+ * and with {@code application-prod.properties} ({@code profile=prod}): each operation
+ * inserts, or reassigns, one card inside a transaction that writes {@value #CARDS} cards.
+ * <p>
+ * Needs the docker compose database (or {@code SPRING_DATASOURCE_URL}); rows are written
+ * under a dedicated user and removed afterwards.
+ * {@code ./gradlew jmh -PjmhIncludes=HouseholdCardWriteBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HouseholdCardWriteBenchmark {
+
+    private static final int CARDS = 100;
+    private static final String USER = "auth0|jmh-write-benchmark";
+    private static final String TEMPLATE_PREFIX = "jmh-write-";
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private JdbcClient jdbcClient;
+    private TransactionTemplate transactionTemplate;
+    private HouseholdRepository households;
+    private HouseholdCardRepository cards;
+    private List<UUID> assignedCards;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TandemBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                // Only the persistence beans are needed; Auth0 and JWT beans are never created
+                .properties("spring.main.lazy-initialization=true",
+                        "auth0.client-id=benchmark",
+                        "auth0.client-secret=benchmark");
+        if (!profile.equals("default")) {
+            builder.profiles(profile);
+        }
+        context = builder.run();
+        jdbcClient = context.getBean(JdbcClient.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        households = context.getBean(HouseholdRepository.class);
+        cards = context.getBean(HouseholdCardRepository.class);
+
+        for (int i = 0; i < CARDS; i++) {
+            jdbcClient.sql("""
+                            INSERT INTO card_template (id, name, category, description, conception_description,
+                                                       planning_description, execution_description, frequency, icon_name)
+                            VALUES (:id, :id, 'home_care', '', '', '', '', 'weekly', 'home')
+                            ON CONFLICT (id) DO NOTHING
+                            """)
+                    .param("id", TEMPLATE_PREFIX + i)
+                    .update();
+        }
+        assignedCards = transactionTemplate.execute(status -> insertHousehold().stream()
+                .map(HouseholdCard::getId)
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcClient.sql("DELETE FROM household WHERE created_by = :user").param("user", USER).update();
+        jdbcClient.sql("DELETE FROM card_template WHERE id LIKE :prefix")
+                .param("prefix", TEMPLATE_PREFIX + "%")
+                .update();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARDS)
+    public List<HouseholdCard> insertCards() {
+        return transactionTemplate.execute(status -> insertHousehold());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARDS)
+    public int reassignCards() {
+        String owner = (round++ & 1) == 0 ? USER : null;
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<HouseholdCard> loaded = cards.findAllById(assignedCards);
+            for (HouseholdCard card : loaded) {
+                card.assignTo(owner, now);
+            }
+            cards.flush();
+            return loaded.size();
+        });
+    }
+
+    private List<HouseholdCard> insertHousehold() {
+        Instant now = Instant.now();
+        Household household = households.save(new Household("Benchmark", USER, now));
+        List<HouseholdCard> batch = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            batch.add(new HouseholdCard(household.getId(), TEMPLATE_PREFIX + i, null, null, now));
+        }
+        return cards.saveAll(batch);
+    }
+}
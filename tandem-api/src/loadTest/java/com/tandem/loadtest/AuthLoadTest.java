@@ -0,0 +1,184 @@
+package com.tandem.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.auth.fake.FakeAuth0Server;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Drives the full application over HTTP with thousands of concurrent virtual users, each
+ * cycling through login, a few bearer-token requests and a token refresh against
+ * {@link FakeAuth0Server}. Prints throughput and p50/p99/p999 per operation and writes the
+ * same numbers to {@code build/reports/loadtest/auth-load-test.json}.
+ * <p>
+ * Needs the database from {@code docker compose up -d}. Run with {@code ./gradlew loadTest},
+ * optionally {@code -PloadTest.users=5000 -PloadTest.duration=60s -PloadTest.auth0ErrorRate=0.02}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth0.client-id=load-test-client",
+        "auth0.client-secret=load-test-secret",
+        "auth0.audience=" + AuthLoadTest.AUDIENCE,
+        // Every virtual user connects from 127.0.0.1
+        "auth0.rate-limit.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class AuthLoadTest {
+
+    static final String AUDIENCE = "https://api.tandem.test";
+    private static final String PASSWORD = "load-test-password";
+    private static final Path REPORT = Path.of("build", "reports", "loadtest", "auth-load-test.json");
+
+    private static final FakeAuth0Server auth0 = startAuth0();
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final LatencyStats stats = new LatencyStats();
+
+    @LocalServerPort
+    private int port;
+
+    private HttpClient http;
+
+    @DynamicPropertySource
+    static void auth0Properties(DynamicPropertyRegistry registry) {
+        registry.add("auth0.domain", auth0::baseUrl);
+    }
+
+    @AfterAll
+    static void stopAuth0() throws IOException {
+        auth0.close();
+    }
+
+    @Test
+    void loginRefreshAndAuthenticatedRequestsUnderLoad() throws Exception {
+        for (int user = 0; user < settings.users(); user++) {
+            auth0.withUser(email(user), PASSWORD, true);
+        }
+        auth0.latency(settings.auth0Latency(), settings.auth0Jitter())
+                .failing(settings.auth0ErrorRate(), settings.auth0ErrorStatus());
+
+        long start = System.nanoTime();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            http = HttpClient.newBuilder()
+                    .executor(users)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            long rampStepNanos = settings.rampUp().toNanos() / Math.max(1, settings.users());
+            List<Future<?>> running = new ArrayList<>();
+            for (int user = 0; user < settings.users(); user++) {
+                int id = user;
+                long startAt = start + id * rampStepNanos;
+                running.add(users.submit(() -> {
+                    runUser(id, startAt);
+                    return null;
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get(settings.rampUp().plus(settings.duration()).plusMinutes(2).toSeconds(), TimeUnit.SECONDS);
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        stats.print(System.out, elapsed);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.putAll(stats.summary(elapsed));
+        stats.writeJson(REPORT, report);
+
+        assertThat(stats.count("login", 200)).as("successful logins").isPositive();
+        assertThat(stats.count("authenticated", 200)).as("accepted bearer tokens").isPositive();
+        assertThat(stats.countMatching(500, 500)).as("unhandled server errors").isZero();
+    }
+
+    private void runUser(int user, long startAtNanos) throws InterruptedException {
+        long delay = startAtNanos - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        long deadline = System.nanoTime() + settings.duration().toNanos();
+        while (System.nanoTime() < deadline) {
+            JsonNode tokens = post("login", "/api/auth/login",
+                    "{\"email\":\"" + email(user) + "\",\"password\":\"" + PASSWORD + "\"}");
+            if (tokens == null) {
+                // Rejected or shed; back off briefly like a real client would
+                TimeUnit.MILLISECONDS.sleep(100);
+                continue;
+            }
+            String accessToken = tokens.path("accessToken").asString();
+            for (int call = 0; call < settings.authenticatedCallsPerLogin(); call++) {
+                authenticated(accessToken);
+            }
+            post("refresh", "/api/auth/refresh",
+                    "{\"refreshToken\":\"" + tokens.path("refreshToken").asString() + "\"}");
+        }
+    }
+
+    private JsonNode post(String operation, String path, String json) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = send(operation, request);
+        return response != null && response.statusCode() == 200 ? mapper.readTree(response.body()) : null;
+    }
+
+    private void authenticated(String accessToken) throws InterruptedException {
+        send("authenticated", HttpRequest.newBuilder(uri("/actuator/health"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build());
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(operation, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException ex) {
+            // Connection-level failures are reported as status 0
+            stats.record(operation, System.nanoTime() - start, 0);
+            return null;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String email(int user) {
+        return "user-" + user + "@load-test.tandem";
+    }
+
+    private static FakeAuth0Server startAuth0() {
+        try {
+            return FakeAuth0Server.start();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to start the fake Auth0 server", ex);
+        }
+    }
+}
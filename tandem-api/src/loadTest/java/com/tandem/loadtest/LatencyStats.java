@@ -0,0 +1,102 @@
+package com.tandem.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Latency histograms and response status counts per operation, shared by all virtual users.
+ */
+final class LatencyStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+
+    void record(String operation, long elapsedNanos, int status) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS);
+        latencies.computeIfAbsent(operation, op -> new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3))
+                .recordValue(micros);
+        statuses.computeIfAbsent(operation, op -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder())
+                .increment();
+    }
+
+    long count(String operation, int status) {
+        Map<Integer, LongAdder> byStatus = statuses.get(operation);
+        LongAdder count = byStatus == null ? null : byStatus.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    long countMatching(int statusFrom, int statusTo) {
+        long total = 0;
+        for (Map<Integer, LongAdder> byStatus : statuses.values()) {
+            for (Map.Entry<Integer, LongAdder> entry : byStatus.entrySet()) {
+                if (entry.getKey() >= statusFrom && entry.getKey() <= statusTo) {
+                    total += entry.getValue().sum();
+                }
+            }
+        }
+        return total;
+    }
+
+    Map<String, Object> summary(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        Map<String, Object> operations = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("throughputPerSecond", Math.round(histogram.getTotalCount() / seconds));
+            stats.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Millis", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMillis", millis(histogram.getMaxValue()));
+            Map<String, Long> byStatus = new TreeMap<>();
+            statuses.getOrDefault(operation, Map.of())
+                    .forEach((status, count) -> byStatus.put(Integer.toString(status), count.sum()));
+            stats.put("statuses", byStatus);
+            operations.put(operation, stats);
+        });
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedSeconds", seconds);
+        summary.put("operations", operations);
+        return summary;
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n%-16s %10s %10s %9s %9s %9s %9s  %s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses");
+        new TreeMap<>(latencies).forEach((operation, histogram) -> out.printf(
+                "%-16s %10d %10.0f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                operation,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                new TreeMap<>(statuses.getOrDefault(operation, Map.of()))));
+    }
+
+    void writeJson(Path file, Map<String, Object> report) throws IOException {
+        Files.createDirectories(file.getParent());
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tandem.loadtest;
+
+import java.time.Duration;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load shape and fake Auth0 behaviour, read from {@code loadTest.*} system properties
+ * (passed through from {@code -PloadTest.*} by the Gradle task).
+ *
+ * @param users                      concurrent virtual users
+ * @param duration                   how long each user keeps cycling once started
+ * @param rampUp                     period over which user start times are spread
+ * @param authenticatedCallsPerLogin bearer-token requests a user makes per login
+ * @param auth0Latency               base latency of every fake Auth0 response
+ * @param auth0Jitter                additional random latency, up to this value
+ * @param auth0ErrorRate             share of Auth0 requests answered with {@code auth0ErrorStatus}
+ * @param auth0ErrorStatus           status used for injected failures (e.g. 503 or 429)
+ */
+record LoadTestSettings(
+        int users,
+        Duration duration,
+        Duration rampUp,
+        int authenticatedCallsPerLogin,
+        Duration auth0Latency,
+        Duration auth0Jitter,
+        double auth0ErrorRate,
+        int auth0ErrorStatus
+) {
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(property("users", "2000")),
+                DurationStyle.detectAndParse(property("duration", "30s")),
+                DurationStyle.detectAndParse(property("rampUp", "5s")),
+                Integer.parseInt(property("authenticatedCallsPerLogin", "5")),
+                DurationStyle.detectAndParse(property("auth0Latency", "80ms")),
+                DurationStyle.detectAndParse(property("auth0Jitter", "40ms")),
+                Double.parseDouble(property("auth0ErrorRate", "0")),
+                Integer.parseInt(property("auth0ErrorStatus", "503")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+}
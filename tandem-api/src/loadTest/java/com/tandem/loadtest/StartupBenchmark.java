@@ -0,0 +1,141 @@
+package com.tandem.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request of the extracted application (see the {@code cdsArchive} Gradle task),
+ * started plain, with AOT and with AOT plus the CDS archive: the time from launching the JVM
+ * until the server first answers a request. The embedded server only accepts connections
+ * once the context is refreshed, so any response counts, including the 401 an anonymous
+ * request gets. Each mode is started several times and
+ * the minimum, median and maximum are printed and appended to a CSV file.
+ * <p>
+ * Needs the database from {@code docker compose up -d} and the usual environment (e.g.
+ * {@code JASYPT_TANDEM_ENCRYPTOR_PASSWORD}). Run with {@code ./gradlew startupBenchmark},
+ * optionally {@code -PstartupBenchmark.runs=10}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private enum Mode {
+        PLAIN("-Dspring.aot.enabled=false"),
+        AOT("-Dspring.aot.enabled=true"),
+        AOT_CDS("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa");
+
+        private final List<String> jvmArgs;
+
+        Mode(String... jvmArgs) {
+            this.jvmArgs = List.of(jvmArgs);
+        }
+    }
+
+    private final Path appDir;
+    private final String jar;
+    private final int runs;
+    private final int port;
+    private final String profiles;
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private StartupBenchmark(Path appDir, String jar) {
+        this.appDir = appDir;
+        this.jar = jar;
+        this.runs = Integer.parseInt(System.getProperty("startupBenchmark.runs", "5"));
+        this.port = Integer.parseInt(System.getProperty("startupBenchmark.port", "18080"));
+        this.profiles = System.getProperty("startupBenchmark.profiles", "prod");
+    }
+
+    /**
+     * @param args the extracted application directory, the jar name within it and the CSV
+     *             file results are appended to
+     */
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(Path.of(args[0]), args[1]);
+        Path report = Path.of(args[2]);
+        Files.createDirectories(report.getParent());
+        if (Files.notExists(report)) {
+            Files.writeString(report, "timestamp,mode,runs,min_ms,median_ms,max_ms\n");
+        }
+        String timestamp = Instant.now().toString();
+        for (Mode mode : Mode.values()) {
+            List<Long> millis = benchmark.measure(mode);
+            Collections.sort(millis);
+            long min = millis.getFirst();
+            long median = millis.get(millis.size() / 2);
+            long max = millis.getLast();
+            System.out.printf("%-8s min %5d ms  median %5d ms  max %5d ms%n", mode, min, median, max);
+            Files.writeString(report, String.join(",", timestamp, mode.name(), Integer.toString(millis.size()),
+                    Long.toString(min), Long.toString(median), Long.toString(max)) + "\n",
+                    StandardOpenOption.APPEND);
+        }
+    }
+
+    private List<Long> measure(Mode mode) throws IOException, InterruptedException {
+        List<Long> millis = new ArrayList<>(runs);
+        for (int run = 0; run < runs; run++) {
+            millis.add(startOnce(mode, run));
+        }
+        return millis;
+    }
+
+    private long startOnce(Mode mode, int run) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs);
+        command.add("-Dserver.port=" + port);
+        command.add("-Dspring.profiles.active=" + profiles);
+        command.add("-jar");
+        command.add(jar);
+        Path log = appDir.resolve("startup-" + mode.name().toLowerCase() + "-" + run + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(appDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitFirstResponse(process, log);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitFirstResponse(Process process, Path log) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited during startup, see " + log);
+            }
+            try {
+                http.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException ex) {
+                // Not listening yet, or the connection was reset while the server starts
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("Application not answering after " + STARTUP_TIMEOUT + ", see " + log);
+    }
+}
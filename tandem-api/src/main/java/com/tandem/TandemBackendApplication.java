@@ -1,14 +1,44 @@
 package com.tandem;
 
+import com.tandem.auth.Auth0HttpProperties;
+import com.tandem.auth.Auth0JwksProperties;
 import com.tandem.auth.Auth0Properties;
+import com.tandem.auth.Auth0ResilienceProperties;
+import com.tandem.auth.AuthCoalescingProperties;
+import com.tandem.auth.AuthConcurrencyProperties;
+import com.tandem.auth.AuthRateLimitProperties;
+import com.tandem.auth.IdempotencyProperties;
+import com.tandem.auth.SignupOutboxProperties;
+import com.tandem.auth.TokenDenylistProperties;
+import com.tandem.auth.UserProfileProperties;
+import com.tandem.auth.VerifiedJwtCacheProperties;
+import com.tandem.config.DataSourcePoolProperties;
+import com.tandem.household.events.HouseholdEventProperties;
 import com.ulisesbocchio.jasyptspringboot.annotation.EnableEncryptableProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(Auth0Properties.class)
+@EnableConfigurationProperties({
+		Auth0Properties.class,
+		Auth0HttpProperties.class,
+		Auth0JwksProperties.class,
+		Auth0ResilienceProperties.class,
+		AuthConcurrencyProperties.class,
+		AuthCoalescingProperties.class,
+		AuthRateLimitProperties.class,
+		SignupOutboxProperties.class,
+		IdempotencyProperties.class,
+		VerifiedJwtCacheProperties.class,
+		TokenDenylistProperties.class,
+		UserProfileProperties.class,
+		DataSourcePoolProperties.class,
+		HouseholdEventProperties.class
+})
 @EnableEncryptableProperties
+@EnableScheduling
 public class TandemBackendApplication {
 
 	public static void main(String[] args) {
@@ -1,120 +1,142 @@
 package com.tandem.auth;
 
+import com.tandem.auth.dto.Auth0ErrorResponse;
 import com.tandem.auth.dto.Auth0TokenResponse;
 import com.tandem.auth.dto.SignUpRequest;
 import com.tandem.auth.dto.SignUpResponse;
-import java.util.HashMap;
-import java.util.Map;
+import com.tandem.auth.dto.UserProfileResponse;
+import com.tandem.auth.resilience.Auth0CallExecutor;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
+import tools.jackson.databind.json.JsonMapper;
 
 @Component
 public class Auth0AuthenticationClient {
 
-    private static final String PASSWORD_REALM_GRANT = "http://auth0.com/oauth/grant-type/password-realm";
+    // Used when a 429 from Auth0 carries no usable Retry-After
+    private static final Duration RATE_LIMIT_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final JsonMapper ERROR_READER = JsonMapper.builder().build();
 
     private final RestClient restClient;
     private final Auth0Properties properties;
+    private final Auth0RequestBodies requestBodies;
+    private final Auth0CallExecutor callExecutor;
 
-    public Auth0AuthenticationClient(RestClient.Builder builder, Auth0Properties properties) {
+    public Auth0AuthenticationClient(RestClient.Builder builder,
+                                     Auth0Properties properties,
+                                     Auth0CallExecutor callExecutor) {
         this.properties = properties;
+        this.callExecutor = callExecutor;
+        this.requestBodies = new Auth0RequestBodies(properties);
         this.restClient = builder.baseUrl(properties.baseUrl()).build();
     }
 
     public Auth0TokenResponse exchangeCredentials(String email, String password) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("grant_type", PASSWORD_REALM_GRANT);
-        payload.put("username", email);
-        payload.put("password", password);
-        payload.put("audience", properties.audience());
-        payload.put("client_id", properties.clientId());
-        payload.put("client_secret", properties.clientSecret());
-        payload.put("realm", properties.realm());
-        payload.put("scope", properties.resolvedScope());
+        return callExecutor.execute(Auth0Operation.TOKEN, () -> requestCredentialsExchange(email, password));
+    }
+
+    public Auth0TokenResponse refreshTokens(String refreshToken) {
+        return callExecutor.execute(Auth0Operation.REFRESH, () -> requestTokenRefresh(refreshToken));
+    }
+
+    public SignUpResponse signUp(SignUpRequest request) {
+        return callExecutor.execute(Auth0Operation.SIGNUP, () -> requestSignUp(request));
+    }
+
+    public void resendVerificationEmail(String email) {
+        callExecutor.execute(Auth0Operation.RESEND_VERIFICATION, () -> {
+            requestVerificationEmail(email);
+            return null;
+        });
+    }
+
+    public UserProfileResponse userInfo(String accessToken) {
+        return callExecutor.execute(Auth0Operation.USERINFO, () -> requestUserInfo(accessToken));
+    }
+
+    public void revokeRefreshToken(String refreshToken) {
+        callExecutor.execute(Auth0Operation.REVOKE, () -> {
+            requestRevocation(refreshToken);
+            return null;
+        });
+    }
 
+    private Auth0TokenResponse requestCredentialsExchange(String email, String password) {
         try {
             return restClient.post()
                     .uri(properties.tokenPath())
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(payload)
+                    .body(requestBodies.passwordRealm(email, password))
                     .retrieve()
+                    .onStatus(HttpStatusCode::is4xxClientError, (request, response) -> {
+                        throw rejection(Auth0Operation.TOKEN, response);
+                    })
                     .body(Auth0TokenResponse.class);
         } catch (RestClientResponseException ex) {
-            if (ex.getStatusCode().is4xxClientError()) {
-                String responseBody = ex.getResponseBodyAsString();
-                
-                // Check for specific Auth0 error codes
-                //TODO: Create a class that parses this response body
-                if (responseBody.contains("\"error\":\"unauthorized\"")) {
-                    if (responseBody.contains("email not verified") || 
-                        responseBody.contains("Please verify your email")) {
-                        throw new InvalidCredentialsException(
-                            "Email not verified. Please check your email and click the verification link.", ex);
-                    }
-                    throw new InvalidCredentialsException("Invalid email or password", ex);
-                } else if (responseBody.contains("\"error\":\"invalid_grant\"")) {
-                    throw new InvalidCredentialsException("Invalid email or password", ex);
-                }
-                
-                // Generic 4xx error
-                throw new InvalidCredentialsException("Authentication failed: " + responseBody, ex);
-            }
             throw new Auth0ClientException("Auth0 returned an unexpected error", ex);
         } catch (RestClientException ex) {
             throw new Auth0ClientException("Unable to reach Auth0 authentication service", ex);
         }
     }
 
-    public SignUpResponse signUp(SignUpRequest request) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("client_id", properties.clientId());
-        payload.put("email", request.email());
-        payload.put("password", request.password());
-        payload.put("connection", properties.realm());
-        
-        // Add optional fields if provided
-        if (request.name() != null && !request.name().isBlank()) {
-            payload.put("name", request.name());
-        }
-        if (request.givenName() != null && !request.givenName().isBlank()) {
-            payload.put("given_name", request.givenName());
-        }
-        if (request.familyName() != null && !request.familyName().isBlank()) {
-            payload.put("family_name", request.familyName());
+    private Auth0TokenResponse requestTokenRefresh(String refreshToken) {
+        try {
+            return restClient.post()
+                    .uri(properties.tokenPath())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(requestBodies.refresh(refreshToken))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::is4xxClientError, (request, response) -> {
+                        RuntimeException rejection = rejection(Auth0Operation.REFRESH, response);
+                        if (rejection instanceof InvalidCredentialsException invalid
+                                && (invalid.errorCode() == Auth0ErrorCode.INVALID_GRANT
+                                || invalid.errorCode() == Auth0ErrorCode.UNAUTHORIZED)) {
+                            throw new InvalidCredentialsException(invalid.errorCode(),
+                                    "Refresh token is invalid or has expired", null);
+                        }
+                        throw rejection;
+                    })
+                    .body(Auth0TokenResponse.class);
+        } catch (RestClientResponseException ex) {
+            throw new Auth0ClientException("Auth0 returned an unexpected error during token refresh", ex);
+        } catch (RestClientException ex) {
+            throw new Auth0ClientException("Unable to reach Auth0 authentication service", ex);
         }
+    }
 
+    private SignUpResponse requestSignUp(SignUpRequest request) {
         try {
             return restClient.post()
                     .uri("/dbconnections/signup")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(payload)
+                    .body(requestBodies.signup(request))
                     .retrieve()
+                    .onStatus(HttpStatusCode::is4xxClientError, (httpRequest, response) -> {
+                        throw rejection(Auth0Operation.SIGNUP, response);
+                    })
                     .body(SignUpResponse.class);
         } catch (RestClientResponseException ex) {
-            if (ex.getStatusCode().is4xxClientError()) {
-                String errorMessage = "Signup failed: " + ex.getResponseBodyAsString();
-                throw new InvalidCredentialsException(errorMessage, ex);
-            }
             throw new Auth0ClientException("Auth0 returned an unexpected error during signup", ex);
         } catch (RestClientException ex) {
             throw new Auth0ClientException("Unable to reach Auth0 signup service", ex);
         }
     }
 
-    public void resendVerificationEmail(String email) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("client_id", properties.clientId());
-        payload.put("email", email);
-        payload.put("connection", properties.realm());
-
+    private void requestVerificationEmail(String email) {
         try {
             restClient.post()
                     .uri("/dbconnections/resend_verification")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(payload)
+                    .body(requestBodies.resendVerification(email))
                     .retrieve()
                     .toBodilessEntity();
         } catch (RestClientResponseException ex) {
@@ -127,4 +149,78 @@ public class Auth0AuthenticationClient {
             throw new Auth0ClientException("Unable to reach Auth0 service", ex);
         }
     }
+
+    private UserProfileResponse requestUserInfo(String accessToken) {
+        try {
+            return restClient.get()
+                    .uri("/userinfo")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    // Only a rejected token is the caller's fault; a rate limit is an outage to retry
+                    .onStatus(status -> status.value() == HttpStatus.UNAUTHORIZED.value()
+                            || status.value() == HttpStatus.TOO_MANY_REQUESTS.value(), (request, response) -> {
+                        throw rejection(Auth0Operation.USERINFO, response);
+                    })
+                    .body(UserProfileResponse.class);
+        } catch (RestClientResponseException ex) {
+            if (ex.getStatusCode().is4xxClientError()) {
+                throw new Auth0ClientException("Auth0 rejected the user profile request", ex);
+            }
+            throw new Auth0ClientException("Auth0 returned an unexpected error while loading the user profile", ex);
+        } catch (RestClientException ex) {
+            throw new Auth0ClientException("Unable to reach Auth0 userinfo endpoint", ex);
+        }
+    }
+
+    private void requestRevocation(String refreshToken) {
+        try {
+            restClient.post()
+                    .uri("/oauth/revoke")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(requestBodies.revoke(refreshToken))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::is4xxClientError, (request, response) -> {
+                        throw rejection(Auth0Operation.REVOKE, response);
+                    })
+                    .toBodilessEntity();
+        } catch (RestClientResponseException ex) {
+            throw new Auth0ClientException("Auth0 returned an unexpected error during token revocation", ex);
+        } catch (RestClientException ex) {
+            throw new Auth0ClientException("Unable to reach Auth0 revocation endpoint", ex);
+        }
+    }
+
+    /**
+     * A 4xx from Auth0, decoded from the response itself. Rejections are routine on the login
+     * path, so they are raised without Spring's stack-traced response exception as a cause.
+     * A 429 is Auth0's rate limit, an outage to retry after it lifts, unless it is
+     * {@code too_many_attempts}: that one blocks a single user and is a rejection.
+     */
+    private static RuntimeException rejection(Auth0Operation operation, ClientHttpResponse response)
+            throws IOException {
+        Auth0ErrorCode errorCode = decodeError(response.getBody().readAllBytes());
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                && errorCode != Auth0ErrorCode.TOO_MANY_ATTEMPTS) {
+            return new Auth0UnavailableException(operation, retryAfter(response.getHeaders()));
+        }
+        return new InvalidCredentialsException(errorCode, null);
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return retryAfter == null ? RATE_LIMIT_RETRY_AFTER : Duration.ofSeconds(Long.parseLong(retryAfter.strip()));
+        } catch (NumberFormatException notSeconds) {
+            return RATE_LIMIT_RETRY_AFTER;
+        }
+    }
+
+    private static Auth0ErrorCode decodeError(byte[] body) {
+        try {
+            return Auth0ErrorCode.of(ERROR_READER.readValue(body, Auth0ErrorResponse.class));
+        } catch (RuntimeException unreadable) {
+            return Auth0ErrorCode.UNKNOWN;
+        }
+    }
 }
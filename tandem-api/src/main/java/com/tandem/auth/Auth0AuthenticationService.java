@@ -3,39 +3,100 @@ package com.tandem.auth;
 import com.tandem.auth.dto.Auth0TokenResponse;
 import com.tandem.auth.dto.LoginRequest;
 import com.tandem.auth.dto.LoginResponse;
+import com.tandem.auth.dto.RefreshTokenRequest;
 import com.tandem.auth.dto.ResendVerificationRequest;
 import com.tandem.auth.dto.ResendVerificationResponse;
 import com.tandem.auth.dto.SignUpRequest;
 import com.tandem.auth.dto.SignUpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import org.springframework.stereotype.Service;
 
 @Service
 public class Auth0AuthenticationService {
 
     private final Auth0AuthenticationClient auth0Client;
+    private final AuthConcurrencyLimiter concurrencyLimiter;
+    private final SingleFlight<String, SignUpResponse> signups;
+    private final SingleFlight<String, Boolean> verificationEmails;
 
-    public Auth0AuthenticationService(Auth0AuthenticationClient auth0Client) {
+    public Auth0AuthenticationService(Auth0AuthenticationClient auth0Client,
+                                      AuthConcurrencyLimiter concurrencyLimiter,
+                                      AuthCoalescingProperties coalescingProperties) {
         this.auth0Client = auth0Client;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.signups = new SingleFlight<>(coalescingProperties.dedupeWindow());
+        this.verificationEmails = new SingleFlight<>(coalescingProperties.dedupeWindow());
     }
 
     public LoginResponse login(LoginRequest request) {
-        Auth0TokenResponse tokenResponse = auth0Client.exchangeCredentials(request.email(), request.password());
-        return new LoginResponse(
-                tokenResponse.accessToken(),
-                tokenResponse.idToken(),
-                tokenResponse.refreshToken(),
-                tokenResponse.expiresIn(),
-                tokenResponse.tokenType(),
-                tokenResponse.scope()
-        );
+        Auth0TokenResponse tokenResponse = concurrencyLimiter.call(AuthEndpoint.LOGIN,
+                () -> auth0Client.exchangeCredentials(request.email(), request.password()));
+        return toLoginResponse(tokenResponse, tokenResponse.refreshToken());
     }
 
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        Auth0TokenResponse tokenResponse = concurrencyLimiter.call(AuthEndpoint.REFRESH,
+                () -> auth0Client.refreshTokens(request.refreshToken()));
+        // With refresh token rotation Auth0 issues a new refresh token and invalidates the
+        // presented one; without rotation the presented token stays valid and is returned as is.
+        String refreshToken = tokenResponse.refreshToken() != null
+                ? tokenResponse.refreshToken()
+                : request.refreshToken();
+        return toLoginResponse(tokenResponse, refreshToken);
+    }
+
+    /**
+     * Signs up a user. Concurrent or repeated signups with the same payload share one Auth0
+     * call; a signup for the same email with a different password or profile runs on its own,
+     * so it is answered by Auth0 rather than with another request's result.
+     */
     public SignUpResponse signup(SignUpRequest request) {
-        return auth0Client.signUp(request);
+        return signups.execute(signupKey(request),
+                () -> concurrencyLimiter.call(AuthEndpoint.SIGNUP, () -> auth0Client.signUp(request)));
     }
 
+    /**
+     * Resends the verification email. Concurrent or repeated requests for the same email
+     * share one Auth0 call, so the user gets a single email.
+     */
     public ResendVerificationResponse resendVerification(ResendVerificationRequest request) {
-        auth0Client.resendVerificationEmail(request.email());
+        verificationEmails.execute(EmailAddresses.normalize(request.email()),
+                () -> concurrencyLimiter.call(AuthEndpoint.RESEND_VERIFICATION, () -> {
+                    auth0Client.resendVerificationEmail(request.email());
+                    return Boolean.TRUE;
+                }));
         return new ResendVerificationResponse("Verification email sent. Please check your inbox.");
     }
+
+    // Hex SHA-256 of every field, so the key does not keep the password itself in memory
+    static String signupKey(SignUpRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[] {EmailAddresses.normalize(request.email()), request.password(),
+                    request.name(), request.givenName(), request.familyName()}) {
+                // Length prefixes keep ("ab", "c") and ("a", "bc") apart; null is -1, distinct from ""
+                byte[] bytes = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(field == null ? -1 : bytes.length).array());
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static LoginResponse toLoginResponse(Auth0TokenResponse tokenResponse, String refreshToken) {
+        return new LoginResponse(
+                tokenResponse.accessToken(),
+                tokenResponse.idToken(),
+                refreshToken,
+                tokenResponse.expiresIn(),
+                tokenResponse.tokenType(),
+                tokenResponse.scope()
+        );
+    }
 }
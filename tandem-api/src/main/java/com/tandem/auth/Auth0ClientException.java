@@ -8,4 +8,8 @@ public class Auth0ClientException extends RuntimeException {
     public Auth0ClientException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected Auth0ClientException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
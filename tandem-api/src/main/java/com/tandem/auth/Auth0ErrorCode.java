@@ -0,0 +1,79 @@
+package com.tandem.auth;
+
+import com.tandem.auth.dto.Auth0ErrorResponse;
+import java.util.Locale;
+
+/**
+ * Known Auth0 rejection reasons, decoded once from the error body.
+ */
+public enum Auth0ErrorCode {
+    UNAUTHORIZED("Login rejected: invalid email or password"),
+    INVALID_GRANT("Login rejected: invalid email or password"),
+    EMAIL_NOT_VERIFIED("Email not verified. Please check your email and click the verification link."),
+    TOO_MANY_ATTEMPTS("Too many failed login attempts. Please try again later or reset your password."),
+    BLOCKED_USER("This account has been blocked"),
+    USER_EXISTS("An account with this email already exists"),
+    INVALID_SIGNUP("Signup was rejected. Please check your details and try again."),
+    INVALID_PASSWORD("Password does not meet the strength requirements"),
+    UNKNOWN("Authentication request was rejected");
+
+    private final String defaultMessage;
+
+    Auth0ErrorCode(String defaultMessage) {
+        this.defaultMessage = defaultMessage;
+    }
+
+    public String defaultMessage() {
+        return defaultMessage;
+    }
+
+    public static Auth0ErrorCode of(Auth0ErrorResponse response) {
+        if (response == null) {
+            return UNKNOWN;
+        }
+        if (response.error() != null) {
+            return fromTokenError(response.error(), response.errorDescription());
+        }
+        if (response.code() != null) {
+            return fromSignupCode(response.code());
+        }
+        if ("PasswordStrengthError".equals(response.name())) {
+            return INVALID_PASSWORD;
+        }
+        return UNKNOWN;
+    }
+
+    private static Auth0ErrorCode fromTokenError(String error, String description) {
+        return switch (error) {
+            case "invalid_grant" -> INVALID_GRANT;
+            case "too_many_attempts" -> TOO_MANY_ATTEMPTS;
+            case "unauthorized", "access_denied" -> fromUnauthorizedDescription(description);
+            default -> UNKNOWN;
+        };
+    }
+
+    // Auth0 reports unverified and blocked users as "unauthorized"; only the description tells them apart
+    private static Auth0ErrorCode fromUnauthorizedDescription(String description) {
+        if (description == null) {
+            return UNAUTHORIZED;
+        }
+        String normalized = description.toLowerCase(Locale.ROOT);
+        if (normalized.contains("verify your email") || normalized.contains("email not verified")) {
+            return EMAIL_NOT_VERIFIED;
+        }
+        if (normalized.contains("blocked")) {
+            return BLOCKED_USER;
+        }
+        return UNAUTHORIZED;
+    }
+
+    private static Auth0ErrorCode fromSignupCode(String code) {
+        return switch (code) {
+            case "user_exists", "username_exists" -> USER_EXISTS;
+            case "invalid_signup" -> INVALID_SIGNUP;
+            case "invalid_password", "password_strength_error", "password_dictionary_error",
+                 "password_no_user_info_error", "password_leaked" -> INVALID_PASSWORD;
+            default -> UNKNOWN;
+        };
+    }
+}
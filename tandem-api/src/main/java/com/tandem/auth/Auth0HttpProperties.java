@@ -0,0 +1,32 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Transport settings for outbound calls to Auth0.
+ * <p>
+ * With {@code http2=false} (the default) calls go through a pooled Apache HttpClient so
+ * that logins reuse warm TLS connections. With {@code http2=true} the JDK client is used
+ * instead; it negotiates HTTP/2 via ALPN and multiplexes over a single connection per
+ * origin, so the pool sizing settings and pool metrics do not apply.
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.http")
+public record Auth0HttpProperties(
+        @DefaultValue("50") @Positive int maxConnectionsPerRoute,
+        @DefaultValue("100") @Positive int maxConnectionsTotal,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue("500ms") Duration poolAcquireTimeout,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("60s") Duration idleEviction,
+        @DefaultValue("5m") Duration connectionTimeToLive,
+        @DefaultValue("2s") Duration validateAfterInactivity,
+        @DefaultValue("false") boolean http2
+) {
+}
@@ -0,0 +1,30 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+/**
+ * Signing key cache used by the JWT resource server.
+ *
+ * @param ttl                how long a fetched key set is considered fresh
+ * @param refreshAhead       how long before {@code ttl} elapses the background refresh runs
+ * @param minRefetchInterval minimum spacing between fetches triggered by an unknown {@code kid}
+ * @param waitTimeout        how long a request waits for an in-flight fetch before giving up
+ * @param coldStartFile      optional JWKS document loaded at startup so no request waits on the network
+ */
+@ConfigurationProperties(prefix = "auth0.jwks")
+public record Auth0JwksProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1m") Duration refreshAhead,
+        @DefaultValue("30s") Duration minRefetchInterval,
+        @DefaultValue("2s") Duration waitTimeout,
+        Resource coldStartFile
+) {
+    public Duration refreshInterval() {
+        Duration interval = ttl.minus(refreshAhead);
+        return interval.isNegative() || interval.isZero() ? ttl : interval;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tandem.auth;
+
+/**
+ * Outbound Auth0 API calls made by {@link Auth0AuthenticationClient}.
+ */
+public enum Auth0Operation {
+    TOKEN("token"),
+    REFRESH("refresh"),
+    SIGNUP("signup"),
+    RESEND_VERIFICATION("resend-verification"),
+    USERINFO("userinfo"),
+    REVOKE("revoke");
+
+    private final String tag;
+
+    Auth0Operation(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Name used for metric tags and resilience component names.
+     */
+    public String tag() {
+        return tag;
+    }
+}
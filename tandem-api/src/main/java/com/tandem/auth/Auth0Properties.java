@@ -26,6 +26,14 @@ public record Auth0Properties(
         return sanitized;
     }
 
+    public String issuer() {
+        return baseUrl() + "/";
+    }
+
+    public String jwksUri() {
+        return baseUrl() + "/.well-known/jwks.json";
+    }
+
     public String tokenPath() {
         return "/oauth/token";
     }
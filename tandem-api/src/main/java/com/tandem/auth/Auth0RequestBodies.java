@@ -0,0 +1,149 @@
+package com.tandem.auth;
+
+import com.tandem.auth.dto.SignUpRequest;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON bodies for the Auth0 authentication API. The fields that come from
+ * {@link Auth0Properties} are encoded once; each request only escapes its own values into
+ * a single byte array of the exact body size, without an intermediate map or serializer.
+ */
+final class Auth0RequestBodies {
+
+    static final String PASSWORD_REALM_GRANT = "http://auth0.com/oauth/grant-type/password-realm";
+    static final String REFRESH_TOKEN_GRANT = "refresh_token";
+
+    private static final byte[] PASSWORD = key("password");
+    private static final byte[] NAME = key("name");
+    private static final byte[] GIVEN_NAME = key("given_name");
+    private static final byte[] FAMILY_NAME = key("family_name");
+
+    // Each prefix opens the object and ends with the key of the first per-request field
+    private final byte[] passwordRealmPrefix;
+    private final byte[] refreshPrefix;
+    private final byte[] signupPrefix;
+    private final byte[] resendVerificationPrefix;
+    private final byte[] revokePrefix;
+
+    Auth0RequestBodies(Auth0Properties properties) {
+        this.passwordRealmPrefix = prefix(
+                "grant_type", PASSWORD_REALM_GRANT,
+                "audience", properties.audience(),
+                "client_id", properties.clientId(),
+                "client_secret", properties.clientSecret(),
+                "realm", properties.realm(),
+                "scope", properties.resolvedScope(),
+                "username");
+        this.refreshPrefix = prefix(
+                "grant_type", REFRESH_TOKEN_GRANT,
+                "client_id", properties.clientId(),
+                "client_secret", properties.clientSecret(),
+                "refresh_token");
+        this.signupPrefix = prefix(
+                "client_id", properties.clientId(),
+                "connection", properties.realm(),
+                "email");
+        this.resendVerificationPrefix = prefix(
+                "client_id", properties.clientId(),
+                "connection", properties.realm(),
+                "email");
+        this.revokePrefix = prefix(
+                "client_id", properties.clientId(),
+                "client_secret", properties.clientSecret(),
+                "token");
+    }
+
+    byte[] passwordRealm(String username, String password) {
+        byte[] body = new byte[passwordRealmPrefix.length + JsonStringEncoder.encodedLength(username)
+                + PASSWORD.length + JsonStringEncoder.encodedLength(password) + 1];
+        int pos = put(passwordRealmPrefix, body, 0);
+        pos = JsonStringEncoder.write(username, body, pos);
+        pos = put(PASSWORD, body, pos);
+        pos = JsonStringEncoder.write(password, body, pos);
+        body[pos] = '}';
+        return body;
+    }
+
+    byte[] refresh(String refreshToken) {
+        return single(refreshPrefix, refreshToken);
+    }
+
+    byte[] signup(SignUpRequest request) {
+        // Optional profile fields are only sent when present, as Auth0 rejects empty names
+        String name = presentOrNull(request.name());
+        String givenName = presentOrNull(request.givenName());
+        String familyName = presentOrNull(request.familyName());
+
+        byte[] body = new byte[signupPrefix.length + JsonStringEncoder.encodedLength(request.email())
+                + PASSWORD.length + JsonStringEncoder.encodedLength(request.password())
+                + optionalLength(NAME, name) + optionalLength(GIVEN_NAME, givenName)
+                + optionalLength(FAMILY_NAME, familyName) + 1];
+        int pos = put(signupPrefix, body, 0);
+        pos = JsonStringEncoder.write(request.email(), body, pos);
+        pos = put(PASSWORD, body, pos);
+        pos = JsonStringEncoder.write(request.password(), body, pos);
+        pos = putOptional(NAME, name, body, pos);
+        pos = putOptional(GIVEN_NAME, givenName, body, pos);
+        pos = putOptional(FAMILY_NAME, familyName, body, pos);
+        body[pos] = '}';
+        return body;
+    }
+
+    byte[] resendVerification(String email) {
+        return single(resendVerificationPrefix, email);
+    }
+
+    byte[] revoke(String refreshToken) {
+        return single(revokePrefix, refreshToken);
+    }
+
+    private static byte[] single(byte[] prefix, String value) {
+        byte[] body = new byte[prefix.length + JsonStringEncoder.encodedLength(value) + 1];
+        int pos = put(prefix, body, 0);
+        pos = JsonStringEncoder.write(value, body, pos);
+        body[pos] = '}';
+        return body;
+    }
+
+    private static String presentOrNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static int optionalLength(byte[] key, String value) {
+        return value == null ? 0 : key.length + JsonStringEncoder.encodedLength(value);
+    }
+
+    private static int putOptional(byte[] key, String value, byte[] body, int pos) {
+        if (value == null) {
+            return pos;
+        }
+        pos = put(key, body, pos);
+        return JsonStringEncoder.write(value, body, pos);
+    }
+
+    private static int put(byte[] bytes, byte[] body, int pos) {
+        System.arraycopy(bytes, 0, body, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    /**
+     * Encodes the opening of a JSON object from alternating constant keys and values,
+     * followed by the key (and colon) of the first per-request field.
+     */
+    private static byte[] prefix(String... keysAndValues) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            json.append(quoted(keysAndValues[i])).append(':').append(quoted(keysAndValues[i + 1])).append(',');
+        }
+        json.append(quoted(keysAndValues[keysAndValues.length - 1])).append(':');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] key(String name) {
+        return (',' + quoted(name) + ':').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String quoted(String value) {
+        return new String(JsonStringEncoder.encode(value), StandardCharsets.UTF_8);
+    }
+}
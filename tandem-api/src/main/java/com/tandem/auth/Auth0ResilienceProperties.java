@@ -0,0 +1,65 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Protection applied to every Auth0 call.
+ * <p>
+ * The concurrency settings are derived from {@code auth0.http.max-connections-per-route},
+ * the number of connections Auth0 calls can use: unset, they default to a share of it, and
+ * explicit values are capped at it, since a limit above the pool would never bind and calls
+ * past it would only queue for a connection.
+ *
+ * @param failureRateThreshold  percentage of failed calls in the window that opens the breaker
+ * @param slidingWindowSize     number of recent calls per operation the failure rate is computed over
+ * @param minimumNumberOfCalls  calls required before the failure rate is evaluated
+ * @param openDuration          how long the breaker rejects calls before probing Auth0 again
+ * @param halfOpenCalls         probe calls allowed while half-open
+ * @param bulkheadMaxConcurrent concurrent calls allowed per operation; half the connections by default
+ * @param initialLimit          starting value of the adaptive concurrency limit shared by all operations;
+ *                              {@code maxLimit} by default
+ * @param minLimit              lower bound of the adaptive limit
+ * @param maxLimit              upper bound of the adaptive limit; the connections by default
+ * @param latencyThreshold      call latency above which the adaptive limit backs off
+ * @param backoffRatio          multiplier applied to the adaptive limit on a slow or failed call
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.resilience")
+public record Auth0ResilienceProperties(
+        @DefaultValue("50") @DecimalMin("1") @DecimalMax("100") float failureRateThreshold,
+        @DefaultValue("20") @Positive int slidingWindowSize,
+        @DefaultValue("10") @Positive int minimumNumberOfCalls,
+        @DefaultValue("30s") Duration openDuration,
+        @DefaultValue("3") @Positive int halfOpenCalls,
+        @Positive Integer bulkheadMaxConcurrent,
+        @Positive Integer initialLimit,
+        @DefaultValue("4") @Positive int minLimit,
+        @Positive Integer maxLimit,
+        @DefaultValue("1s") Duration latencyThreshold,
+        @DefaultValue("0.9") @DecimalMin("0.1") @DecimalMax("0.99") double backoffRatio
+) {
+    public int maxLimitFor(int connections) {
+        return maxLimit == null ? connections : Math.min(maxLimit, connections);
+    }
+
+    public int minLimitFor(int connections) {
+        return Math.min(minLimit, maxLimitFor(connections));
+    }
+
+    public int initialLimitFor(int connections) {
+        int max = maxLimitFor(connections);
+        return initialLimit == null ? max : Math.max(minLimitFor(connections), Math.min(initialLimit, max));
+    }
+
+    public int bulkheadFor(int connections) {
+        int max = maxLimitFor(connections);
+        return bulkheadMaxConcurrent == null ? Math.max(1, max / 2) : Math.min(bulkheadMaxConcurrent, max);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+/**
+ * Auth0 is not being called because the circuit breaker is open or the concurrency limits
+ * for the operation are exhausted. Raised instead of waiting for a network timeout, so no
+ * stack trace is captured.
+ */
+public class Auth0UnavailableException extends Auth0ClientException {
+
+    private final Auth0Operation operation;
+    private final Duration retryAfter;
+
+    public Auth0UnavailableException(Auth0Operation operation, Duration retryAfter) {
+        super("Auth0 is temporarily unavailable, please retry later", false);
+        this.operation = operation;
+        this.retryAfter = retryAfter;
+    }
+
+    public Auth0Operation operation() {
+        return operation;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
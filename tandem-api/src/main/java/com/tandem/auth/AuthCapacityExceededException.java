@@ -0,0 +1,19 @@
+package com.tandem.auth;
+
+/**
+ * Thrown when an endpoint already has the maximum number of requests in flight.
+ * Raised on the overload path, so no stack trace is captured.
+ */
+public class AuthCapacityExceededException extends RuntimeException {
+
+    private final AuthEndpoint endpoint;
+
+    public AuthCapacityExceededException(AuthEndpoint endpoint) {
+        super("Too many concurrent requests, please retry shortly", null, false, false);
+        this.endpoint = endpoint;
+    }
+
+    public AuthEndpoint endpoint() {
+        return endpoint;
+    }
+}
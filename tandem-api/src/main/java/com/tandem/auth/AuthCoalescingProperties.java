@@ -0,0 +1,18 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Coalescing of duplicate signup and resend-verification requests for the same email.
+ *
+ * @param dedupeWindow how long a completed request's outcome is replayed to identical
+ *                     requests; zero shares only calls that are still in flight
+ */
+@ConfigurationProperties(prefix = "auth0.coalescing")
+public record AuthCoalescingProperties(
+        @DefaultValue("5s") Duration dedupeWindow
+) {
+}
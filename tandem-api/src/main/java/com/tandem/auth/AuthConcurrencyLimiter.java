@@ -0,0 +1,56 @@
+package com.tandem.auth;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the number of concurrent Auth0 round trips per endpoint.
+ * <p>
+ * Request threads are virtual, so blocking on Auth0 no longer exhausts the servlet pool;
+ * this cap keeps the number of outstanding calls bounded so the overload is not simply
+ * forwarded to Auth0. The caps are shares of the Auth0 connection pool, so that one
+ * saturated endpoint leaves connections for the others.
+ */
+@Component
+public class AuthConcurrencyLimiter {
+
+    private final Map<AuthEndpoint, Semaphore> permits = new EnumMap<>(AuthEndpoint.class);
+    private final long acquireTimeoutNanos;
+
+    public AuthConcurrencyLimiter(AuthConcurrencyProperties properties, Auth0HttpProperties httpProperties) {
+        for (AuthEndpoint endpoint : AuthEndpoint.values()) {
+            permits.put(endpoint, new Semaphore(
+                    properties.limitFor(endpoint, httpProperties.maxConnectionsPerRoute())));
+        }
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+    }
+
+    public <T> T call(AuthEndpoint endpoint, Supplier<T> action) {
+        Semaphore semaphore = permits.get(endpoint);
+        acquire(endpoint, semaphore);
+        try {
+            return action.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public int available(AuthEndpoint endpoint) {
+        return permits.get(endpoint).availablePermits();
+    }
+
+    private void acquire(AuthEndpoint endpoint, Semaphore semaphore) {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new AuthCapacityExceededException(endpoint);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthCapacityExceededException(endpoint);
+        }
+    }
+}
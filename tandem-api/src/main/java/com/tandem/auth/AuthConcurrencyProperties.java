@@ -0,0 +1,55 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Maximum number of requests per endpoint allowed to wait on Auth0 at the same time.
+ * Requests beyond the cap wait up to {@code acquireTimeout} for a slot before being
+ * rejected with 503.
+ * <p>
+ * The caps are derived from {@code auth0.http.max-connections-per-route}: unset, each
+ * endpoint gets a share of the connections and the shares add up to the pool, so a flood
+ * on one endpoint cannot take the connections the others need. Explicit values are capped
+ * at the pool.
+ *
+ * @param login              concurrent logins; 40% of the connections by default
+ * @param refresh            concurrent token refreshes; 30% of the connections by default
+ * @param signup             concurrent signups; 20% of the connections by default
+ * @param resendVerification concurrent verification email resends; 10% of the connections by default
+ * @param acquireTimeout     how long a request waits for a slot before it is rejected
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.concurrency")
+public record AuthConcurrencyProperties(
+        @Positive Integer login,
+        @Positive Integer refresh,
+        @Positive Integer signup,
+        @Positive Integer resendVerification,
+        @DefaultValue("250ms") Duration acquireTimeout
+) {
+    public int limitFor(AuthEndpoint endpoint, int connections) {
+        Integer configured = switch (endpoint) {
+            case LOGIN -> login;
+            case REFRESH -> refresh;
+            case SIGNUP -> signup;
+            case RESEND_VERIFICATION -> resendVerification;
+        };
+        return configured == null
+                ? Math.max(1, connections * defaultSharePercent(endpoint) / 100)
+                : Math.min(configured, connections);
+    }
+
+    private static int defaultSharePercent(AuthEndpoint endpoint) {
+        return switch (endpoint) {
+            case LOGIN -> 40;
+            case REFRESH -> 30;
+            case SIGNUP -> 20;
+            case RESEND_VERIFICATION -> 10;
+        };
+    }
+}
@@ -2,13 +2,29 @@ package com.tandem.auth;
 
 import com.tandem.auth.dto.LoginRequest;
 import com.tandem.auth.dto.LoginResponse;
+import com.tandem.auth.dto.LogoutRequest;
+import com.tandem.auth.dto.RefreshTokenRequest;
 import com.tandem.auth.dto.ResendVerificationRequest;
 import com.tandem.auth.dto.ResendVerificationResponse;
 import com.tandem.auth.dto.SignUpRequest;
 import com.tandem.auth.dto.SignUpResponse;
+import com.tandem.auth.dto.SignupAcceptedResponse;
+import com.tandem.auth.dto.SignupStatusResponse;
+import com.tandem.auth.dto.UserProfileResponse;
+import com.tandem.auth.ratelimit.AuthRateLimiter;
+import com.tandem.auth.revocation.LogoutService;
+import com.tandem.auth.signup.AsyncSignupService;
+import com.tandem.auth.signup.SignupStatus;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,27 +35,77 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final Auth0AuthenticationService authenticationService;
+    private final AuthRateLimiter rateLimiter;
+    private final AsyncSignupService asyncSignupService;
+    private final UserProfileService userProfileService;
+    private final LogoutService logoutService;
 
-    public AuthController(Auth0AuthenticationService authenticationService) {
+    public AuthController(Auth0AuthenticationService authenticationService, AuthRateLimiter rateLimiter,
+                          AsyncSignupService asyncSignupService, UserProfileService userProfileService,
+                          LogoutService logoutService) {
         this.authenticationService = authenticationService;
+        this.rateLimiter = rateLimiter;
+        this.asyncSignupService = asyncSignupService;
+        this.userProfileService = userProfileService;
+        this.logoutService = logoutService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
+        rateLimiter.check(AuthEndpoint.LOGIN, httpRequest.getRemoteAddr(), request.email());
         LoginResponse response = authenticationService.login(request);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request,
+                                                 HttpServletRequest httpRequest) {
+        rateLimiter.check(AuthEndpoint.REFRESH, httpRequest.getRemoteAddr(), null);
+        LoginResponse response = authenticationService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/signup")
-    public ResponseEntity<SignUpResponse> signup(@Valid @RequestBody SignUpRequest request) {
+    public ResponseEntity<?> signup(@Valid @RequestBody SignUpRequest request,
+                                    HttpServletRequest httpRequest) {
+        rateLimiter.check(AuthEndpoint.SIGNUP, httpRequest.getRemoteAddr(), request.email());
+        if (asyncSignupService.enabled()) {
+            UUID id = asyncSignupService.enqueue(request);
+            URI statusUri = URI.create("/api/auth/signup/" + id);
+            return ResponseEntity.accepted()
+                    .location(statusUri)
+                    .body(new SignupAcceptedResponse(id, SignupStatus.PENDING, statusUri.toString()));
+        }
         SignUpResponse response = authenticationService.signup(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @GetMapping("/signup/{id}")
+    public ResponseEntity<SignupStatusResponse> signupStatus(@PathVariable UUID id) {
+        return asyncSignupService.status(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/resend-verification")
     public ResponseEntity<ResendVerificationResponse> resendVerification(
-            @Valid @RequestBody ResendVerificationRequest request) {
+            @Valid @RequestBody ResendVerificationRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check(AuthEndpoint.RESEND_VERIFICATION, httpRequest.getRemoteAddr(), request.email());
         ResendVerificationResponse response = authenticationService.resendVerification(request);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/me")
+    public ResponseEntity<UserProfileResponse> me(@AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(userProfileService.profile(jwt));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal Jwt jwt,
+                                       @RequestBody(required = false) LogoutRequest request) {
+        logoutService.logout(jwt, request != null ? request.refreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,12 @@
+package com.tandem.auth;
+
+/**
+ * Public authentication endpoints served by {@link AuthController}. Used to key
+ * per-endpoint policies such as concurrency caps.
+ */
+public enum AuthEndpoint {
+    LOGIN,
+    REFRESH,
+    SIGNUP,
+    RESEND_VERIFICATION
+}
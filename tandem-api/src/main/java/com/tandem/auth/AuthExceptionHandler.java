@@ -1,34 +1,101 @@
 package com.tandem.auth;
 
 import com.tandem.auth.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * Maps auth failures to error responses. Every mapped response is counted as
+ * {@code auth.rejections}, tagged with the error code and HTTP status.
+ */
 @RestControllerAdvice
-public class AuthExceptionHandler {
+public class AuthExceptionHandler implements MeterBinder {
+
+    private static final String REJECTIONS = "auth.rejections";
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
 
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCredentials(InvalidCredentialsException ex) {
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(new ErrorResponse("invalid_credentials", ex.getMessage()));
+        return switch (ex.errorCode()) {
+            case EMAIL_NOT_VERIFIED -> rejection(HttpStatus.FORBIDDEN, "email_not_verified", ex);
+            case BLOCKED_USER -> rejection(HttpStatus.FORBIDDEN, "user_blocked", ex);
+            case TOO_MANY_ATTEMPTS -> rejection(HttpStatus.TOO_MANY_REQUESTS, "too_many_attempts", ex);
+            case USER_EXISTS -> rejection(HttpStatus.CONFLICT, "user_exists", ex);
+            case INVALID_SIGNUP, INVALID_PASSWORD -> rejection(HttpStatus.BAD_REQUEST, "signup_rejected", ex);
+            case UNAUTHORIZED, INVALID_GRANT, UNKNOWN -> rejection(HttpStatus.UNAUTHORIZED, "invalid_credentials", ex);
+        };
+    }
+
+    @ExceptionHandler(SignupInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleSignupInProgress(SignupInProgressException ex) {
+        return rejection(HttpStatus.CONFLICT, "signup_in_progress", ex);
     }
 
     @ExceptionHandler(Auth0ClientException.class)
     public ResponseEntity<ErrorResponse> handleAuth0Outage(Auth0ClientException ex) {
+        count(HttpStatus.BAD_GATEWAY, "auth0_unavailable");
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
                 .body(new ErrorResponse("auth0_unavailable", ex.getMessage()));
     }
 
+    @ExceptionHandler(Auth0UnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleAuth0Unavailable(Auth0UnavailableException ex) {
+        long retryAfterSeconds = Math.max(1, ex.retryAfter().toSeconds());
+        count(HttpStatus.SERVICE_UNAVAILABLE, "auth0_unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorResponse("auth0_unavailable", ex.getMessage()));
+    }
+
+    @ExceptionHandler(AuthCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleCapacityExceeded(AuthCapacityExceededException ex) {
+        count(HttpStatus.SERVICE_UNAVAILABLE, "auth_busy");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("auth_busy", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimited(RateLimitExceededException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.retryAfter().toMillis() + 999) / 1000);
+        count(HttpStatus.TOO_MANY_REQUESTS, "rate_limited");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorResponse("rate_limited", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         String firstError = ex.getBindingResult().getFieldErrors().stream()
                 .findFirst()
                 .map(error -> error.getDefaultMessage())
                 .orElse("Validation failed");
+        count(HttpStatus.BAD_REQUEST, "validation_failed");
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse("validation_failed", firstError));
     }
+
+    private ResponseEntity<ErrorResponse> rejection(HttpStatus status, String code, RuntimeException ex) {
+        count(status, code);
+        return ResponseEntity.status(status).body(new ErrorResponse(code, ex.getMessage()));
+    }
+
+    private void count(HttpStatus status, String code) {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter(REJECTIONS, "code", code, "status", Integer.toString(status.value())).increment();
+        }
+    }
 }
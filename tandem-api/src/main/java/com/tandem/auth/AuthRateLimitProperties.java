@@ -0,0 +1,42 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Per-endpoint request budgets, enforced per client IP and per normalized email before
+ * any call to Auth0. Each budget allows a burst of {@code capacity} requests and then
+ * {@code refillPerMinute} requests per minute.
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.rate-limit")
+public record AuthRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") @Positive long maxTrackedKeys,
+        @DefaultValue("10m") Duration idleEviction,
+        @DefaultValue Policy login,
+        @DefaultValue Policy refresh,
+        @DefaultValue Policy signup,
+        @DefaultValue Policy resendVerification
+) {
+    public Policy policyFor(AuthEndpoint endpoint) {
+        return switch (endpoint) {
+            case LOGIN -> login;
+            case REFRESH -> refresh;
+            case SIGNUP -> signup;
+            case RESEND_VERIFICATION -> resendVerification;
+        };
+    }
+
+    public record Policy(
+            @DefaultValue("30") @Positive int ipCapacity,
+            @DefaultValue("30") @Positive int ipRefillPerMinute,
+            @DefaultValue("10") @Positive int emailCapacity,
+            @DefaultValue("5") @Positive int emailRefillPerMinute
+    ) {
+    }
+}
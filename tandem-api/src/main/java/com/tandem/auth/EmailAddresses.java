@@ -0,0 +1,17 @@
+package com.tandem.auth;
+
+import java.util.Locale;
+
+public final class EmailAddresses {
+
+    private EmailAddresses() {
+    }
+
+    /**
+     * Canonical form used to key per-user state, so that {@code " User@Example.com"} and
+     * {@code "user@example.com"} are treated as the same address.
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
+}
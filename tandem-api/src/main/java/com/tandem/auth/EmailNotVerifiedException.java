@@ -1,12 +0,0 @@
-package com.tandem.auth;
-
-public class EmailNotVerifiedException extends RuntimeException {
-    public EmailNotVerifiedException(String message) {
-        super(message);
-    }
-
-    public EmailNotVerifiedException(String message, Throwable cause) {
-        super(message, cause);
-    }
-}
-
@@ -0,0 +1,34 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * {@code Idempotency-Key} handling for the signup and resend-verification POSTs.
+ *
+ * @param enabled      honour the header; when off it is ignored
+ * @param ttl          how long a stored response is replayed for its key
+ * @param maximumSize  completed responses kept in memory; older ones are read from the database
+ * @param lease        how long a node owns a key it is processing; a key whose lease expired
+ *                     (e.g. the node died) is processed again by the next retry
+ * @param waitTimeout  how long a request waits for a concurrent request with the same key
+ *                     before it is answered with 409
+ * @param pollInterval how often a request waiting on another node re-reads the key
+ * @param maxBodySize  largest request body, in bytes, accepted with the header
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") @Positive long maximumSize,
+        @DefaultValue("30s") Duration lease,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("100ms") Duration pollInterval,
+        @DefaultValue("65536") @Positive int maxBodySize
+) {
+}
@@ -1,11 +1,31 @@
 package com.tandem.auth;
 
+/**
+ * Auth0 rejected the request. These are expected on the login path (and dominate it
+ * during credential-stuffing), so no stack trace is captured.
+ */
 public class InvalidCredentialsException extends RuntimeException {
+
+    private final Auth0ErrorCode errorCode;
+
     public InvalidCredentialsException(String message) {
-        super(message);
+        this(Auth0ErrorCode.UNKNOWN, message, null);
     }
 
     public InvalidCredentialsException(String message, Throwable cause) {
-        super(message, cause);
+        this(Auth0ErrorCode.UNKNOWN, message, cause);
+    }
+
+    public InvalidCredentialsException(Auth0ErrorCode errorCode, Throwable cause) {
+        this(errorCode, errorCode.defaultMessage(), cause);
+    }
+
+    public InvalidCredentialsException(Auth0ErrorCode errorCode, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public Auth0ErrorCode errorCode() {
+        return errorCode;
     }
 }
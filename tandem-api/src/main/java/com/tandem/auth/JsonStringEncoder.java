@@ -0,0 +1,134 @@
+package com.tandem.auth;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes Java strings as quoted, UTF-8 encoded JSON string literals directly into a byte
+ * array, escaping the same characters Jackson does by default ({@code "}, {@code \} and
+ * control characters). Callers size the array with {@link #encodedLength(String)} first, so
+ * an encoded request body costs exactly one allocation.
+ */
+final class JsonStringEncoder {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    // A lone surrogate has no UTF-8 encoding; it is replaced rather than rejected
+    private static final int REPLACEMENT = 0xFFFD;
+
+    private JsonStringEncoder() {
+    }
+
+    static byte[] encode(String value) {
+        byte[] out = new byte[encodedLength(value)];
+        write(value, out, 0);
+        return out;
+    }
+
+    static int encodedLength(String value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        int length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += asciiLength(c);
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes {@code value} at {@code offset} and returns the offset after it.
+     */
+    static int write(String value, byte[] out, int offset) {
+        if (value == null) {
+            System.arraycopy(NULL, 0, out, offset, NULL.length);
+            return offset + NULL.length;
+        }
+        int pos = offset;
+        out[pos++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                pos = writeAscii(c, out, pos);
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = REPLACEMENT;
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    codePoint = Character.toCodePoint(c, value.charAt(++i));
+                }
+                pos = writeCodePoint(codePoint, out, pos);
+            } else {
+                pos = writeCodePoint(c, out, pos);
+            }
+        }
+        out[pos++] = '"';
+        return pos;
+    }
+
+    private static int asciiLength(char c) {
+        if (c == '"' || c == '\\' || c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r') {
+            return 2;
+        }
+        return c < 0x20 ? 6 : 1;
+    }
+
+    private static int writeAscii(char c, byte[] out, int pos) {
+        switch (c) {
+            case '"', '\\' -> {
+                out[pos++] = '\\';
+                out[pos++] = (byte) c;
+            }
+            case '\b' -> pos = writeShortEscape('b', out, pos);
+            case '\t' -> pos = writeShortEscape('t', out, pos);
+            case '\n' -> pos = writeShortEscape('n', out, pos);
+            case '\f' -> pos = writeShortEscape('f', out, pos);
+            case '\r' -> pos = writeShortEscape('r', out, pos);
+            default -> {
+                if (c < 0x20) {
+                    out[pos++] = '\\';
+                    out[pos++] = 'u';
+                    out[pos++] = '0';
+                    out[pos++] = '0';
+                    out[pos++] = HEX[c >> 4];
+                    out[pos++] = HEX[c & 0xF];
+                } else {
+                    out[pos++] = (byte) c;
+                }
+            }
+        }
+        return pos;
+    }
+
+    private static int writeShortEscape(char escape, byte[] out, int pos) {
+        out[pos++] = '\\';
+        out[pos++] = (byte) escape;
+        return pos;
+    }
+
+    private static int writeCodePoint(int codePoint, byte[] out, int pos) {
+        if (codePoint < 0x10000) {
+            out[pos++] = (byte) (0xE0 | (codePoint >> 12));
+            out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+            out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+        return pos;
+    }
+}
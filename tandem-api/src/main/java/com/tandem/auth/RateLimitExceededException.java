@@ -0,0 +1,27 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+/**
+ * The caller exhausted its request budget for an endpoint. Raised before any Auth0 call
+ * and frequently under abuse, so no stack trace is captured.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final AuthEndpoint endpoint;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(AuthEndpoint endpoint, Duration retryAfter) {
+        super("Too many requests, please retry later", null, false, false);
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+    }
+
+    public AuthEndpoint endpoint() {
+        return endpoint;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
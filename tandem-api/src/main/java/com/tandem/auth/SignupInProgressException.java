@@ -0,0 +1,13 @@
+package com.tandem.auth;
+
+/**
+ * Thrown when a signup is queued for an email that already has one pending or processing.
+ * The queued signup keeps its own password and profile; the second request is refused
+ * rather than joined to it.
+ */
+public class SignupInProgressException extends RuntimeException {
+
+    public SignupInProgressException() {
+        super("A signup for this email is already in progress", null, false, false);
+    }
+}
@@ -0,0 +1,38 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Asynchronous signup: requests are written to the {@code signup_outbox} table, answered
+ * with 202, and forwarded to Auth0 by a background worker.
+ *
+ * @param async          accept signups into the outbox instead of calling Auth0 inline
+ * @param batchSize      rows claimed per poll
+ * @param workers        concurrent Auth0 signup calls made by the worker
+ * @param pollInterval   delay between polls once the outbox is drained
+ * @param lease          how long a claimed row is hidden from other workers; rows whose
+ *                       lease expires (e.g. the node died) are claimed again
+ * @param maxAttempts    attempts before a row is marked failed
+ * @param initialBackoff delay before the first retry, doubled on every further attempt
+ * @param maxBackoff     upper bound for the retry delay
+ * @param retention      how long completed and failed rows stay queryable
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.signup")
+public record SignupOutboxProperties(
+        @DefaultValue("false") boolean async,
+        @DefaultValue("20") @Positive int batchSize,
+        @DefaultValue("4") @Positive int workers,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("2m") Duration lease,
+        @DefaultValue("8") @Positive int maxAttempts,
+        @DefaultValue("2s") Duration initialBackoff,
+        @DefaultValue("5m") Duration maxBackoff,
+        @DefaultValue("7d") Duration retention
+) {
+}
@@ -0,0 +1,74 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into a single execution.
+ * <p>
+ * The first caller for a key runs the call; callers arriving while it is in flight wait
+ * for and share its result or exception. The outcome stays available for
+ * {@code dedupeWindow} after completion, so quick retries are answered without running the
+ * call again.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Duration dedupeWindow;
+
+    public SingleFlight(Duration dedupeWindow) {
+        this.dedupeWindow = dedupeWindow;
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, created);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            created.complete(call.get());
+        } catch (RuntimeException ex) {
+            created.completeExceptionally(ex);
+        } catch (Throwable ex) {
+            // Errors release the joiners but are not shared for the window: the next caller runs again
+            created.completeExceptionally(ex);
+            calls.remove(key, created);
+            throw ex;
+        } finally {
+            forgetLater(key, created);
+        }
+        return join(created);
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    private void forgetLater(K key, CompletableFuture<V> completed) {
+        if (dedupeWindow.isZero() || dedupeWindow.isNegative()) {
+            calls.remove(key, completed);
+            return;
+        }
+        CompletableFuture.delayedExecutor(dedupeWindow.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> calls.remove(key, completed));
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
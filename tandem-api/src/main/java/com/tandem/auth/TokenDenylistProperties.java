@@ -0,0 +1,38 @@
+package com.tandem.auth;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Denylist of access tokens revoked by logout. Every authenticated request checks an
+ * in-memory Bloom filter of the revoked tokens and reads the {@code revoked_token} table only
+ * when the filter reports a possible match.
+ *
+ * @param enabled           check bearer tokens against the denylist
+ * @param expectedEntries   live revocations the filter is sized for; it grows on rebuild if
+ *                          more are present
+ * @param falsePositiveRate share of valid tokens that need a database read at that size
+ * @param syncInterval      how often revocations made on other nodes are read into the filter
+ * @param syncOverlap       how far each sync reads back, covering transactions that committed
+ *                          after the previous sync with an earlier {@code revoked_at}
+ * @param rebuildInterval   how often the filter is rebuilt from the live rows, dropping tokens
+ *                          that have expired
+ * @param confirmedSize     database answers kept for tokens the filter could not rule out
+ */
+@Validated
+@ConfigurationProperties(prefix = "auth0.denylist")
+public record TokenDenylistProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") @Positive int expectedEntries,
+        @DefaultValue("0.001") @Positive @DecimalMax("0.5") double falsePositiveRate,
+        @DefaultValue("2s") Duration syncInterval,
+        @DefaultValue("30s") Duration syncOverlap,
+        @DefaultValue("10m") Duration rebuildInterval,
+        @DefaultValue("10000") @Positive long confirmedSize
+) {
+}
@@ -0,0 +1,21 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Profile lookups for {@code GET /api/auth/me}. Access tokens that carry profile claims
+ * (standard names, or prefixed by {@code claimNamespace} when an Auth0 Action adds them)
+ * are answered directly; otherwise {@code /userinfo} is cached per subject for {@code ttl}
+ * and reloaded in the background once an entry is older than {@code refreshAfter}.
+ */
+@ConfigurationProperties(prefix = "auth0.profile")
+public record UserProfileProperties(
+        @DefaultValue("") String claimNamespace,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("10m") Duration refreshAfter
+) {
+}
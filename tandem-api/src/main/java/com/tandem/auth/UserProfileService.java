@@ -0,0 +1,147 @@
+package com.tandem.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tandem.auth.dto.UserProfileResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the signed-in user's profile.
+ * <p>
+ * When the access token carries profile claims the profile is built from them and Auth0 is
+ * never called. Otherwise the profile comes from {@code /userinfo}, cached per {@code sub}:
+ * concurrent misses for one subject share a single call, and an entry older than
+ * {@code refreshAfter} is still served while one background reload (using the caller's
+ * token) replaces it. A failed reload keeps the stale entry until its {@code ttl}. Cache
+ * statistics are published as {@code cache.*} metrics named {@code auth.profile}.
+ */
+@Service
+public class UserProfileService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileService.class);
+
+    private final Auth0AuthenticationClient auth0Client;
+    private final String claimNamespace;
+    private final Duration refreshAfter;
+    private final Clock clock;
+    private final ExecutorService refresher;
+    private final Cache<String, CachedProfile> cache;
+
+    public UserProfileService(Auth0AuthenticationClient auth0Client, UserProfileProperties properties) {
+        this(auth0Client, properties, Clock.systemUTC(), Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    UserProfileService(Auth0AuthenticationClient auth0Client, UserProfileProperties properties,
+                       Clock clock, ExecutorService refresher) {
+        this.auth0Client = auth0Client;
+        this.claimNamespace = properties.claimNamespace();
+        this.refreshAfter = properties.refreshAfter();
+        this.clock = clock;
+        this.refresher = refresher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+    }
+
+    public UserProfileResponse profile(Jwt jwt) {
+        UserProfileResponse fromClaims = fromClaims(jwt);
+        if (fromClaims != null) {
+            return fromClaims;
+        }
+        String subject = jwt.getSubject();
+        String accessToken = jwt.getTokenValue();
+        CachedProfile cached = cache.getIfPresent(subject);
+        if (cached == null) {
+            return cache.get(subject, key -> load(accessToken)).profile();
+        }
+        if (cached.dueForRefresh(clock.instant(), refreshAfter) && cached.refreshing().compareAndSet(false, true)) {
+            refresher.execute(() -> refresh(subject, accessToken, cached));
+        }
+        return cached.profile();
+    }
+
+    public void invalidate(String subject) {
+        cache.invalidate(subject);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.profile");
+    }
+
+    @PreDestroy
+    void close() {
+        refresher.shutdown();
+    }
+
+    private void refresh(String subject, String accessToken, CachedProfile stale) {
+        try {
+            cache.asMap().replace(subject, stale, load(accessToken));
+        } catch (RuntimeException ex) {
+            stale.refreshing().set(false);
+            log.debug("Background profile refresh for {} failed; serving the cached profile", subject, ex);
+        }
+    }
+
+    private CachedProfile load(String accessToken) {
+        return new CachedProfile(auth0Client.userInfo(accessToken), clock.instant(), new AtomicBoolean());
+    }
+
+    private UserProfileResponse fromClaims(Jwt jwt) {
+        String email = claim(jwt, "email");
+        String name = claim(jwt, "name");
+        if (email == null && name == null) {
+            return null;
+        }
+        Object verified = jwt.getClaims().get(claimNamespace + "email_verified");
+        if (verified == null) {
+            verified = jwt.getClaims().get("email_verified");
+        }
+        return new UserProfileResponse(
+                jwt.getSubject(),
+                email,
+                verified == null ? null : Boolean.valueOf(verified.toString()),
+                name,
+                claim(jwt, "given_name"),
+                claim(jwt, "family_name"),
+                claim(jwt, "nickname"),
+                claim(jwt, "picture"));
+    }
+
+    private String claim(Jwt jwt, String name) {
+        if (!claimNamespace.isEmpty()) {
+            String namespaced = jwt.getClaimAsString(claimNamespace + name);
+            if (namespaced != null) {
+                return namespaced;
+            }
+        }
+        return jwt.getClaimAsString(name);
+    }
+
+    /**
+     * A cached {@code /userinfo} result; {@code refreshing} admits one background reload at a time.
+     */
+    private record CachedProfile(UserProfileResponse profile, Instant loadedAt, AtomicBoolean refreshing) {
+
+        boolean dueForRefresh(Instant now, Duration refreshAfter) {
+            return !now.isBefore(loadedAt.plus(refreshAfter));
+        }
+    }
+}
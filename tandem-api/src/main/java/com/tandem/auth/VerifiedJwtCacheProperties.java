@@ -0,0 +1,18 @@
+package com.tandem.auth;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cache of bearer tokens that already passed verification. Entries never outlive the
+ * token's {@code exp}; {@code maxTtl} caps how long a long-lived token is remembered.
+ */
+@ConfigurationProperties(prefix = "auth0.jwt-cache")
+public record VerifiedJwtCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("15m") Duration maxTtl
+) {
+}
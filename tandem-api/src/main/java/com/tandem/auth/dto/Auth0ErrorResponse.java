@@ -0,0 +1,24 @@
+package com.tandem.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Error body returned by Auth0. The token endpoint uses {@code error}/{@code error_description};
+ * the database connection endpoints use {@code code}/{@code name}/{@code description}, where
+ * {@code description} is an object for password strength failures.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Auth0ErrorResponse(
+        String error,
+
+        @JsonProperty("error_description")
+        String errorDescription,
+
+        String code,
+
+        String name,
+
+        Object description
+) {
+}
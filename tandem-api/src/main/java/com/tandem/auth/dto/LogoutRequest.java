@@ -0,0 +1,10 @@
+package com.tandem.auth.dto;
+
+/**
+ * Body of {@code POST /api/auth/logout}. The refresh token is optional; when present it is
+ * revoked at Auth0 so that no new access tokens can be obtained with it.
+ */
+public record LogoutRequest(
+        String refreshToken
+) {
+}
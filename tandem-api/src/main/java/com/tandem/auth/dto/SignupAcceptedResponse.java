@@ -0,0 +1,11 @@
+package com.tandem.auth.dto;
+
+import com.tandem.auth.signup.SignupStatus;
+import java.util.UUID;
+
+public record SignupAcceptedResponse(
+        UUID id,
+        SignupStatus status,
+        String statusUrl
+) {
+}
@@ -0,0 +1,14 @@
+package com.tandem.auth.dto;
+
+import com.tandem.auth.signup.SignupStatus;
+import java.util.UUID;
+
+/**
+ * Progress of a queued signup. The status endpoint is anonymous, so the Auth0 user id and
+ * failure reason stay in the outbox row.
+ */
+public record SignupStatusResponse(
+        UUID id,
+        SignupStatus status
+) {
+}
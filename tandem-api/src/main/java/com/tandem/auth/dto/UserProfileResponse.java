@@ -0,0 +1,30 @@
+package com.tandem.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Profile of the signed-in user. Field names follow the OIDC standard claims, so the same
+ * shape is read from access-token claims and from Auth0 {@code /userinfo}.
+ */
+public record UserProfileResponse(
+        @JsonProperty("sub")
+        String id,
+
+        String email,
+
+        @JsonProperty("email_verified")
+        Boolean emailVerified,
+
+        String name,
+
+        @JsonProperty("given_name")
+        String givenName,
+
+        @JsonProperty("family_name")
+        String familyName,
+
+        String nickname,
+
+        String picture
+) {
+}
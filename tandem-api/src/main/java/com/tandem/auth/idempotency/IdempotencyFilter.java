@@ -0,0 +1,379 @@
+package com.tandem.auth.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tandem.auth.IdempotencyProperties;
+import com.tandem.auth.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the POSTs it is registered for.
+ * <p>
+ * The first request for a key runs normally and its status, content headers and body bytes
+ * are recorded; a retry with the same key and request gets that response replayed byte for
+ * byte, marked {@code Idempotent-Replayed: true}, without reaching the controller or Auth0.
+ * Recorded responses are kept in a bounded in-memory LRU and in the {@code idempotency_key}
+ * table, so a retry that lands on another node is replayed as well.
+ * <p>
+ * A request that arrives while its key is still being processed waits for that outcome: for
+ * a request running on this node it waits on it directly, for one running on another node it
+ * polls the table, and after {@code waitTimeout} it is answered with 409. Responses a retry
+ * could change (5xx, 429, and 401/403, which the client can change by signing in or being
+ * granted access) are not recorded; the key is released and the next retry runs again. Reusing a key for a different request is answered with 422.
+ * <p>
+ * Requests are told apart by an HMAC-SHA256 of method, path and body under a server-side
+ * key. The bodies carry passwords, and a plain hash of a short JSON document is easy to
+ * brute-force from the stored value; without the key it is not.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> RECORDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.LOCATION);
+
+    private final IdempotencyRepository repository;
+    private final IdempotencyProperties properties;
+    private final JsonMapper jsonMapper;
+    private final SecretKey requestHashKey;
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyRepository repository, IdempotencyProperties properties,
+                             JsonMapper jsonMapper, SecretKey requestHashKey) {
+        this.repository = repository;
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.requestHashKey = requestHashKey;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, completed, "auth.idempotency");
+    }
+
+    @Scheduled(fixedDelayString = "1h", initialDelayString = "5m")
+    public void purge() {
+        int purged = repository.purgeExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "invalid_idempotency_key",
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.maxBodySize() + 1);
+        if (body.length > properties.maxBodySize()) {
+            reject(response, HttpStatus.CONTENT_TOO_LARGE, "payload_too_large",
+                    "Request body is too large to be sent with " + HEADER);
+            return;
+        }
+        String scope = request.getRequestURI();
+        String localKey = localKey(scope, key);
+        byte[] requestHash = digest(request.getMethod(), scope, body);
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+
+        while (true) {
+            StoredResponse stored = completed.getIfPresent(localKey);
+            if (stored != null) {
+                replay(stored, requestHash, response);
+                return;
+            }
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(localKey, mine);
+            if (running != null) {
+                // Same key running on this node; once it finishes its response is in the cache
+                // or, if it was not recorded, the key is free to be claimed again
+                if (!await(running, deadline)) {
+                    busy(response);
+                    return;
+                }
+                continue;
+            }
+            StoredResponse outcome = null;
+            try {
+                if (repository.claim(scope, key, requestHash, properties.lease(), properties.ttl())) {
+                    outcome = execute(new CachedBodyRequest(request, body), response, chain,
+                            scope, key, requestHash);
+                    return;
+                }
+                outcome = repository.findCompleted(scope, key).orElse(null);
+                if (outcome != null) {
+                    completed.put(localKey, outcome);
+                    replay(outcome, requestHash, response);
+                    return;
+                }
+            } finally {
+                inFlight.remove(localKey, mine);
+                mine.complete(outcome);
+            }
+            // Another node is processing the key
+            if (!pause(deadline)) {
+                busy(response);
+                return;
+            }
+        }
+    }
+
+    private StoredResponse execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                   String scope, String key, byte[] requestHash)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            chain.doFilter(request, capturing);
+            int status = capturing.getStatus();
+            if (!isFinal(status)) {
+                return null;
+            }
+            StoredResponse outcome = new StoredResponse(requestHash, status, recordedHeaders(capturing),
+                    capturing.getContentAsByteArray());
+            recorded = record(scope, key, outcome);
+            return recorded ? outcome : null;
+        } finally {
+            if (!recorded) {
+                release(scope, key, requestHash);
+            }
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isFinal(int status) {
+        return status < 500
+                && status != HttpStatus.TOO_MANY_REQUESTS.value()
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value();
+    }
+
+    private boolean record(String scope, String key, StoredResponse outcome) {
+        try {
+            repository.complete(scope, key, outcome);
+            completed.put(localKey(scope, key), outcome);
+            return true;
+        } catch (RuntimeException ex) {
+            // The request itself succeeded; the key is released and a retry runs it again
+            log.warn("Could not record the response for idempotency key {} on {}", key, scope, ex);
+            return false;
+        }
+    }
+
+    private void release(String scope, String key, byte[] requestHash) {
+        try {
+            repository.release(scope, key, requestHash);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release idempotency key {} on {}", key, scope, ex);
+        }
+    }
+
+    private void replay(StoredResponse stored, byte[] requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!stored.matches(requestHash)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency_key_reused",
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        response.setStatus(stored.status());
+        for (Map.Entry<String, String> header : stored.headers()) {
+            response.addHeader(header.getKey(), header.getValue());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void busy(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        reject(response, HttpStatus.CONFLICT, "idempotency_in_progress",
+                "A request with this " + HEADER + " is still being processed");
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        byte[] body = jsonMapper.writeValueAsBytes(new ErrorResponse(code, message));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static List<Map.Entry<String, String>> recordedHeaders(HttpServletResponse response) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : RECORDED_HEADERS) {
+            for (String value : response.getHeaders(name)) {
+                headers.add(Map.entry(name, value));
+            }
+        }
+        if (response.getContentType() != null && response.getHeaders(HttpHeaders.CONTENT_TYPE).isEmpty()) {
+            headers.add(Map.entry(HttpHeaders.CONTENT_TYPE, response.getContentType()));
+        }
+        return headers;
+    }
+
+    private static String localKey(String scope, String key) {
+        return scope + '\n' + key;
+    }
+
+    private static boolean await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            running.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean pause(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, properties.pollInterval().toNanos()));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private byte[] digest(String method, String path, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(requestHashKey.getAlgorithm());
+            mac.init(requestHashKey);
+            mac.update((method + ' ' + path + '\n').getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(requestHashKey.getAlgorithm() + " is not available", ex);
+        }
+    }
+
+    /**
+     * Serves a body that was already read by the filter to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so all of it is available as soon as a listener is set
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
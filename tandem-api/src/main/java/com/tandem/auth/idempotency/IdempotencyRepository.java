@@ -0,0 +1,137 @@
+package com.tandem.auth.idempotency;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Access to the {@code idempotency_key} table. A key is owned by whichever node claimed it
+ * last; leases and expiry use the database clock so that all nodes agree on them.
+ */
+@Repository
+public class IdempotencyRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public IdempotencyRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Claims the key for processing. Succeeds when the key is new, its stored response has
+     * expired, or the node processing it let its lease run out.
+     */
+    public boolean claim(String scope, String key, byte[] requestHash, Duration lease, Duration ttl) {
+        return jdbcClient.sql("""
+                        INSERT INTO idempotency_key (scope, idempotency_key, request_hash,
+                                                     locked_until, created_at, expires_at)
+                        VALUES (:scope, :key, :hash,
+                                now() + make_interval(secs => :leaseSeconds), now(),
+                                now() + make_interval(secs => :ttlSeconds))
+                        ON CONFLICT (scope, idempotency_key) DO UPDATE
+                        SET request_hash = EXCLUDED.request_hash, status_code = NULL, headers = NULL, body = NULL,
+                            locked_until = EXCLUDED.locked_until, created_at = EXCLUDED.created_at,
+                            expires_at = EXCLUDED.expires_at
+                        WHERE idempotency_key.expires_at < now()
+                           OR (idempotency_key.status_code IS NULL AND idempotency_key.locked_until < now())
+                        """)
+                .param("scope", scope)
+                .param("key", key)
+                .param("hash", requestHash)
+                .param("leaseSeconds", seconds(lease))
+                .param("ttlSeconds", seconds(ttl))
+                .update() == 1;
+    }
+
+    /**
+     * The stored response for the key, if one was recorded and has not expired.
+     */
+    public Optional<StoredResponse> findCompleted(String scope, String key) {
+        return jdbcClient.sql("""
+                        SELECT request_hash, status_code, headers, body
+                        FROM idempotency_key
+                        WHERE scope = :scope AND idempotency_key = :key
+                          AND status_code IS NOT NULL AND expires_at > now()
+                        """)
+                .param("scope", scope)
+                .param("key", key)
+                .query(IdempotencyRepository::mapResponse)
+                .optional();
+    }
+
+    public void complete(String scope, String key, StoredResponse response) {
+        jdbcClient.sql("""
+                        UPDATE idempotency_key
+                        SET status_code = :status, headers = :headers, body = :body, locked_until = NULL
+                        WHERE scope = :scope AND idempotency_key = :key
+                          AND status_code IS NULL AND request_hash = :hash
+                        """)
+                .param("scope", scope)
+                .param("key", key)
+                .param("hash", response.requestHash())
+                .param("status", response.status())
+                .param("headers", encodeHeaders(response.headers()))
+                .param("body", response.body())
+                .update();
+    }
+
+    /**
+     * Gives up a claim without recording a response, so that the next retry runs again.
+     */
+    public void release(String scope, String key, byte[] requestHash) {
+        jdbcClient.sql("""
+                        DELETE FROM idempotency_key
+                        WHERE scope = :scope AND idempotency_key = :key
+                          AND status_code IS NULL AND request_hash = :hash
+                        """)
+                .param("scope", scope)
+                .param("key", key)
+                .param("hash", requestHash)
+                .update();
+    }
+
+    public int purgeExpired() {
+        return jdbcClient.sql("DELETE FROM idempotency_key WHERE expires_at < now()")
+                .update();
+    }
+
+    private static StoredResponse mapResponse(ResultSet rs, int rowNum) throws SQLException {
+        return new StoredResponse(
+                rs.getBytes("request_hash"),
+                rs.getInt("status_code"),
+                decodeHeaders(rs.getString("headers")),
+                rs.getBytes("body"));
+    }
+
+    static String encodeHeaders(List<Map.Entry<String, String>> headers) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> header : headers) {
+            encoded.append(header.getKey()).append(": ").append(header.getValue()).append('\n');
+        }
+        return encoded.toString();
+    }
+
+    static List<Map.Entry<String, String>> decodeHeaders(String encoded) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.add(Map.entry(line.substring(0, separator), line.substring(separator + 2)));
+            }
+        }
+        return headers;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tandem.auth.idempotency;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response recorded for an idempotency key, together with the digest of the request that
+ * produced it so that reusing the key for a different request can be detected.
+ *
+ * @param requestHash keyed HMAC-SHA256 of the method, path and body of the original request
+ * @param status      HTTP status
+ * @param headers     recorded response headers, in order, as name/value pairs
+ * @param body        response body exactly as it was written
+ */
+public record StoredResponse(byte[] requestHash, int status, List<Map.Entry<String, String>> headers, byte[] body) {
+
+    public boolean matches(byte[] otherRequestHash) {
+        return Arrays.equals(requestHash, otherRequestHash);
+    }
+}
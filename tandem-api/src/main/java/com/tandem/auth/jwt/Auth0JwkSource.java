@@ -0,0 +1,165 @@
+package com.tandem.auth.jwt;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.tandem.auth.Auth0JwksProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Auth0 signing keys held in memory and refreshed in the background.
+ * <p>
+ * Keys are served from the cached set; a background task refetches the set before it
+ * goes stale. A token carrying an unknown {@code kid} triggers at most one refetch per
+ * {@code minRefetchInterval}, shared by all concurrent callers, so a flood of forged key
+ * ids cannot turn into a flood of requests to Auth0. Deciding to fetch and publishing the
+ * fetch happen under one lock, so a caller either joins the fetch in flight or, when the
+ * interval has not elapsed, re-reads the keys the last fetch stored. If a refresh fails the
+ * previous keys keep being served.
+ */
+public class Auth0JwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Auth0JwkSource.class);
+
+    private final RestClient restClient;
+    private final String jwksUri;
+    private final Auth0JwksProperties properties;
+    private final AtomicReference<JWKSet> keys = new AtomicReference<>(new JWKSet());
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    // Guarded by fetchLock
+    private CompletableFuture<JWKSet> inFlight;
+    private long lastFetchNanos;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("auth0-jwks-refresh").daemon().factory());
+
+    public Auth0JwkSource(RestClient restClient, String jwksUri, Auth0JwksProperties properties) {
+        this.restClient = restClient;
+        this.jwksUri = jwksUri;
+        this.properties = properties;
+        this.lastFetchNanos = System.nanoTime() - properties.minRefetchInterval().toNanos();
+        if (properties.coldStartFile() != null) {
+            keys.set(loadColdStartKeys());
+        }
+    }
+
+    /**
+     * Starts the background refresh. The first fetch runs immediately, off the caller's thread.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+                0, properties.refreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> matches = jwkSelector.select(keys.get());
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+        return jwkSelector.select(refetchForUnknownKey());
+    }
+
+    public JWKSet currentKeys() {
+        return keys.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private JWKSet refetchForUnknownKey() {
+        JWKSet refreshed = await(join(false));
+        // Not allowed to fetch yet, or the fetch failed: the keys stored last, possibly moments ago
+        return refreshed != null ? refreshed : keys.get();
+    }
+
+    private void refreshQuietly() {
+        await(join(true));
+    }
+
+    /**
+     * Joins the fetch in flight or starts one. Unless {@code force}d, a fetch starts at most
+     * once per {@code minRefetchInterval}; {@code null} means none may start yet. The keys are
+     * stored before the fetch is unpublished, so a caller that finds no fetch in flight sees
+     * the result of the last one.
+     */
+    private CompletableFuture<JWKSet> join(boolean force) {
+        CompletableFuture<JWKSet> future;
+        fetchLock.lock();
+        try {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            long now = System.nanoTime();
+            if (!force && now - lastFetchNanos < properties.minRefetchInterval().toNanos()) {
+                return null;
+            }
+            lastFetchNanos = now;
+            future = new CompletableFuture<>();
+            inFlight = future;
+        } finally {
+            fetchLock.unlock();
+        }
+        try {
+            JWKSet fetched = JWKSet.parse(restClient.get()
+                    .uri(jwksUri)
+                    .retrieve()
+                    .body(String.class)).toPublicJWKSet();
+            keys.set(fetched);
+            future.complete(fetched);
+        } catch (RuntimeException | ParseException ex) {
+            log.warn("Failed to refresh Auth0 signing keys from {}: {}", jwksUri, ex.getMessage());
+            future.completeExceptionally(ex);
+        } finally {
+            fetchLock.lock();
+            try {
+                inFlight = null;
+            } finally {
+                fetchLock.unlock();
+            }
+        }
+        return future;
+    }
+
+    private JWKSet await(CompletableFuture<JWKSet> pending) {
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    private JWKSet loadColdStartKeys() {
+        try (InputStream in = properties.coldStartFile().getInputStream()) {
+            JWKSet loaded = JWKSet.load(in).toPublicJWKSet();
+            log.info("Loaded {} Auth0 signing keys from {}", loaded.getKeys().size(), properties.coldStartFile());
+            return loaded;
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Unable to read JWKS cold-start file " + properties.coldStartFile(), ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tandem.auth.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Records {@code jwt.decode} for the wrapped decoder, tagged with a {@code stage} and
+ * whether the token was accepted. Wrapping both the verifying decoder and the cache in
+ * front of it separates the cost of RSA verification from the latency callers observe.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+
+    private static final String DECODE_TIMER = "jwt.decode";
+
+    private final JwtDecoder delegate;
+    private final Timer valid;
+    private final Timer invalid;
+
+    public TimedJwtDecoder(JwtDecoder delegate, MeterRegistry registry, String stage) {
+        this.delegate = delegate;
+        this.valid = timer(registry, stage, "valid");
+        this.invalid = timer(registry, stage, "invalid");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            valid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (JwtException ex) {
+            invalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String stage, String outcome) {
+        return Timer.builder(DECODE_TIMER)
+                .description("Bearer token decode and validation time")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
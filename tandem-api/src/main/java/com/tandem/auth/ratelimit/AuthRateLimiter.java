@@ -0,0 +1,96 @@
+package com.tandem.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tandem.auth.AuthEndpoint;
+import com.tandem.auth.AuthRateLimitProperties;
+import com.tandem.auth.EmailAddresses;
+import com.tandem.auth.RateLimitExceededException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process rate limiting for the public auth endpoints, keyed by client IP and by
+ * normalized email. Buckets live in a size-bounded cache and are dropped after being idle
+ * for {@code idleEviction}, so memory stays bounded however many distinct keys show up.
+ * A request turned away by one budget does not spend the other.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final AuthRateLimitProperties properties;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Ticker ticker;
+
+    public AuthRateLimiter(AuthRateLimitProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    AuthRateLimiter(AuthRateLimitProperties properties, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedKeys())
+                .expireAfterAccess(properties.idleEviction())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Consumes one request from the caller's budgets.
+     *
+     * @param email may be {@code null} for endpoints that are not tied to an address
+     * @throws RateLimitExceededException if either budget is exhausted
+     */
+    public void check(AuthEndpoint endpoint, String clientIp, String email) {
+        if (!properties.enabled()) {
+            return;
+        }
+        AuthRateLimitProperties.Policy policy = properties.policyFor(endpoint);
+        long now = ticker.read();
+        TokenBucket ipBucket = clientIp == null
+                ? null
+                : bucket(new BucketKey(endpoint, KeyType.IP, clientIp),
+                        policy.ipCapacity(), policy.ipRefillPerMinute(), now);
+        TokenBucket emailBucket = email == null
+                ? null
+                : bucket(new BucketKey(endpoint, KeyType.EMAIL, EmailAddresses.normalize(email)),
+                        policy.emailCapacity(), policy.emailRefillPerMinute(), now);
+        if (ipBucket != null) {
+            reject(endpoint, ipBucket.tryAcquire(now));
+        }
+        if (emailBucket != null) {
+            long waitNanos = emailBucket.tryAcquire(now);
+            if (waitNanos > 0 && ipBucket != null) {
+                ipBucket.refund(now);
+            }
+            reject(endpoint, waitNanos);
+        }
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+
+    private TokenBucket bucket(BucketKey key, int capacity, int refillPerMinute, long now) {
+        return buckets.get(key, k -> new TokenBucket(capacity, NANOS_PER_MINUTE / refillPerMinute, now));
+    }
+
+    private static void reject(AuthEndpoint endpoint, long waitNanos) {
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(endpoint, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private enum KeyType {
+        IP,
+        EMAIL
+    }
+
+    private record BucketKey(AuthEndpoint endpoint, KeyType type, String value) {
+    }
+}
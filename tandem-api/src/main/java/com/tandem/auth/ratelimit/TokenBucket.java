@@ -0,0 +1,60 @@
+package com.tandem.auth.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket is stored as a single "theoretical arrival time" (the GCRA formulation of a
+ * token bucket): each accepted request pushes it forward by one emission interval, and a
+ * request is rejected when that would put it more than {@code capacity} intervals ahead of
+ * now. Refill is therefore implicit, and an acquire is one CAS on one {@code long}.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long emissionIntervalNanos, long nowNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was then turned
+     * away elsewhere. A bucket that has refilled completely in the meantime stays full.
+     */
+    public void refund(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            if (current <= nowNanos) {
+                return;
+            }
+            long next = Math.max(nowNanos, current - emissionIntervalNanos);
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
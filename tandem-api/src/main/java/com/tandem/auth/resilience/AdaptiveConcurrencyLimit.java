@@ -0,0 +1,98 @@
+package com.tandem.auth.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit driven by observed latency.
+ * <p>
+ * Every call that completes under the latency threshold grows the limit by {@code 1/limit}
+ * (roughly +1 per limit's worth of calls); a slow or failed call multiplies it by the backoff
+ * ratio. When Auth0 slows down the number of outstanding calls shrinks quickly, and it grows
+ * back gradually once latency recovers.
+ * <p>
+ * The limit is cut at most once per window of calls: callers read {@link #generation()} when
+ * they are admitted, and a slow or failed call only backs off if no cut happened since. A
+ * burst of calls that were all in flight during one slowdown therefore reports it once,
+ * instead of each of them multiplying the limit down again.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong limitBits;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(clamp(initialLimit)));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Window the next admitted call belongs to; pass it back to {@link #onSuccess} or
+     * {@link #onFailure} when the call completes.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void onSuccess(long generation, long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            backOff(generation);
+        } else {
+            update(limit -> limit + 1.0 / limit);
+        }
+    }
+
+    public void onFailure(long generation) {
+        backOff(generation);
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    // Only the first call of a window to report trouble moves the limit and opens the next window
+    private void backOff(long callGeneration) {
+        if (generation.compareAndSet(callGeneration, callGeneration + 1)) {
+            update(limit -> limit * backoffRatio);
+        }
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.getAndUpdate(bits -> Double.doubleToLongBits(
+                clamp(change.applyAsDouble(Double.longBitsToDouble(bits)))));
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,250 @@
+package com.tandem.auth.resilience;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.tandem.auth.Auth0ClientException;
+import com.tandem.auth.Auth0HttpProperties;
+import com.tandem.auth.Auth0Operation;
+import com.tandem.auth.Auth0ResilienceProperties;
+import com.tandem.auth.Auth0UnavailableException;
+import com.tandem.auth.InvalidCredentialsException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Runs Auth0 calls behind a per-operation circuit breaker and bulkhead plus an adaptive
+ * concurrency limit shared by all operations. Both are sized from the per-route connection
+ * pool (see {@link Auth0ResilienceProperties}), so neither admits more calls than can get a
+ * connection.
+ * <p>
+ * Only outages ({@link Auth0ClientException}) count as failures; a rejected login is a
+ * healthy answer from Auth0. A call that timed out waiting for a pooled connection never
+ * reached Auth0 and counts as neither. While the breaker is open, or when no capacity is
+ * left, the call fails immediately with {@link Auth0UnavailableException} instead of waiting
+ * for a network timeout. An open breaker asks for a retry once it will let a probe through.
+ * <p>
+ * Every call is observed as {@code auth0.client.calls}, tagged with the operation, the
+ * outcome ({@code success}, {@code rejected}, {@code unavailable} or {@code error}) and
+ * the typed Auth0 error code, so latency and rejection rates can be broken down per call.
+ */
+@Component
+public class Auth0CallExecutor implements MeterBinder {
+
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final String CALL_OBSERVATION = "auth0.client.calls";
+    private static final String NONE = "none";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Map<Auth0Operation, CircuitBreaker> breakerByOperation = new EnumMap<>(Auth0Operation.class);
+    private final Map<Auth0Operation, Bulkhead> bulkheadByOperation = new EnumMap<>(Auth0Operation.class);
+    private final Map<Auth0Operation, AtomicLong> openedAtByOperation = new EnumMap<>(Auth0Operation.class);
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Duration openDuration;
+    private final ObservationRegistry observationRegistry;
+    private final Ticker ticker;
+
+    public Auth0CallExecutor(Auth0ResilienceProperties properties, Auth0HttpProperties httpProperties,
+                             ObservationRegistry observationRegistry) {
+        this(properties, httpProperties, observationRegistry, Ticker.systemTicker());
+    }
+
+    Auth0CallExecutor(Auth0ResilienceProperties properties, Auth0HttpProperties httpProperties,
+                      ObservationRegistry observationRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        int connections = httpProperties.maxConnectionsPerRoute();
+        this.openDuration = properties.openDuration();
+        this.observationRegistry = observationRegistry;
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.slidingWindowSize())
+                .minimumNumberOfCalls(properties.minimumNumberOfCalls())
+                .failureRateThreshold(properties.failureRateThreshold())
+                .waitDurationInOpenState(properties.openDuration())
+                .permittedNumberOfCallsInHalfOpenState(properties.halfOpenCalls())
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.bulkheadFor(connections))
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        for (Auth0Operation operation : Auth0Operation.values()) {
+            CircuitBreaker breaker = circuitBreakers.circuitBreaker("auth0-" + operation.tag());
+            AtomicLong openedAt = new AtomicLong(ticker.read());
+            breaker.getEventPublisher().onStateTransition(event -> {
+                if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+                    openedAt.set(ticker.read());
+                }
+            });
+            breakerByOperation.put(operation, breaker);
+            openedAtByOperation.put(operation, openedAt);
+            bulkheadByOperation.put(operation, bulkheads.bulkhead("auth0-" + operation.tag()));
+        }
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(
+                properties.initialLimitFor(connections),
+                properties.minLimitFor(connections),
+                properties.maxLimitFor(connections),
+                properties.latencyThreshold().toNanos(),
+                properties.backoffRatio());
+    }
+
+    public <T> T execute(Auth0Operation operation, Supplier<T> call) {
+        Observation observation = Observation.createNotStarted(CALL_OBSERVATION, observationRegistry)
+                .contextualName("auth0 " + operation.tag())
+                .lowCardinalityKeyValue("operation", operation.tag())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = guarded(operation, call);
+            observation.lowCardinalityKeyValue("outcome", "success")
+                    .lowCardinalityKeyValue("error.code", NONE);
+            return result;
+        } catch (RuntimeException ex) {
+            String outcome = outcome(ex);
+            observation.lowCardinalityKeyValue("outcome", outcome)
+                    .lowCardinalityKeyValue("error.code", errorCode(ex));
+            // Rejections are answers, not faults; keep them out of error rates and failed spans
+            if (!"rejected".equals(outcome)) {
+                observation.error(ex);
+            }
+            throw ex;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private <T> T guarded(Auth0Operation operation, Supplier<T> call) {
+        CircuitBreaker breaker = breakerByOperation.get(operation);
+        if (!breaker.tryAcquirePermission()) {
+            Duration retryAfter = breaker.getState() == CircuitBreaker.State.OPEN
+                    ? untilHalfOpen(operation)
+                    : BUSY_RETRY_AFTER;
+            throw new Auth0UnavailableException(operation, retryAfter);
+        }
+        Bulkhead bulkhead = bulkheadByOperation.get(operation);
+        if (!bulkhead.tryAcquirePermission()) {
+            breaker.releasePermission();
+            throw new Auth0UnavailableException(operation, BUSY_RETRY_AFTER);
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            bulkhead.releasePermission();
+            breaker.releasePermission();
+            throw new Auth0UnavailableException(operation, BUSY_RETRY_AFTER);
+        }
+
+        long generation = concurrencyLimit.generation();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            recordSuccess(breaker, generation, System.nanoTime() - start);
+            return result;
+        } catch (Auth0ClientException ex) {
+            long elapsed = System.nanoTime() - start;
+            if (isPoolAcquireTimeout(ex)) {
+                // Local saturation: Auth0 was not asked, so its health and the limit learn nothing
+                breaker.releasePermission();
+                throw new Auth0UnavailableException(operation, BUSY_RETRY_AFTER);
+            }
+            if (isClientError(ex)) {
+                recordSuccess(breaker, generation, elapsed);
+            } else {
+                breaker.onError(elapsed, TimeUnit.NANOSECONDS, ex);
+                concurrencyLimit.onFailure(generation);
+            }
+            throw ex;
+        } catch (RuntimeException ex) {
+            recordSuccess(breaker, generation, System.nanoTime() - start);
+            throw ex;
+        } finally {
+            concurrencyLimit.release();
+            bulkhead.onComplete();
+        }
+    }
+
+    // What is left of the open state, so clients come back when a probe can get through
+    private Duration untilHalfOpen(Auth0Operation operation) {
+        long openFor = ticker.read() - openedAtByOperation.get(operation).get();
+        return Duration.ofNanos(Math.max(openDuration.toNanos() - openFor, BUSY_RETRY_AFTER.toNanos()));
+    }
+
+    public CircuitBreaker.State state(Auth0Operation operation) {
+        return breakerByOperation.get(operation).getState();
+    }
+
+    public AdaptiveConcurrencyLimit concurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+        Gauge.builder("auth0.client.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent Auth0 calls")
+                .register(registry);
+        Gauge.builder("auth0.client.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Auth0 calls currently in flight")
+                .register(registry);
+    }
+
+    // A 4xx wrapped as Auth0ClientException (e.g. resend-verification) is still an answer from Auth0
+    private static boolean isClientError(Auth0ClientException ex) {
+        return ex.getCause() instanceof RestClientResponseException response
+                && response.getStatusCode().is4xxClientError();
+    }
+
+    private static boolean isPoolAcquireTimeout(Auth0ClientException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectionRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String outcome(RuntimeException ex) {
+        if (ex instanceof InvalidCredentialsException) {
+            return "rejected";
+        }
+        if (ex instanceof Auth0UnavailableException) {
+            return "unavailable";
+        }
+        if (ex instanceof Auth0ClientException clientException && isClientError(clientException)) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private static String errorCode(RuntimeException ex) {
+        if (ex instanceof InvalidCredentialsException rejection) {
+            return rejection.errorCode().name().toLowerCase(Locale.ROOT);
+        }
+        if (ex instanceof Auth0ClientException && ex.getCause() instanceof RestClientResponseException response) {
+            return Integer.toString(response.getStatusCode().value());
+        }
+        return NONE;
+    }
+
+    private void recordSuccess(CircuitBreaker breaker, long generation, long elapsedNanos) {
+        breaker.onSuccess(elapsedNanos, TimeUnit.NANOSECONDS);
+        concurrencyLimit.onSuccess(generation, elapsedNanos);
+    }
+}
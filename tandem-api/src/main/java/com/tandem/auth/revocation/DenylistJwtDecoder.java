@@ -0,0 +1,39 @@
+package com.tandem.auth.revocation;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Rejects tokens revoked by logout. Wraps the caching decoder so that the check also runs
+ * for tokens whose signature was verified before they were revoked. A revoked token fails
+ * as an invalid bearer token (401); if the denylist cannot be read the request fails as an
+ * authentication service error rather than being let through.
+ */
+public class DenylistJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final TokenDenylist denylist;
+
+    public DenylistJwtDecoder(JwtDecoder delegate, TokenDenylist denylist) {
+        this.delegate = delegate;
+        this.denylist = denylist;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+        boolean revoked;
+        try {
+            revoked = denylist.isRevoked(TokenIds.of(jwt));
+        } catch (DataAccessException ex) {
+            throw new JwtException("Token revocation status is unavailable", ex);
+        }
+        if (revoked) {
+            throw new BadJwtException("Token has been revoked");
+        }
+        return jwt;
+    }
+}
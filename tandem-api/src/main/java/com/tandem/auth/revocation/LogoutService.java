@@ -0,0 +1,58 @@
+package com.tandem.auth.revocation;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0ErrorCode;
+import com.tandem.auth.InvalidCredentialsException;
+import com.tandem.auth.UserProfileService;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LogoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(LogoutService.class);
+
+    // Tokens without exp stay valid forever, so their denylist entry must too
+    private static final Instant NEVER = Instant.parse("9999-12-31T00:00:00Z");
+
+    private final Auth0AuthenticationClient auth0Client;
+    private final TokenDenylist denylist;
+    private final UserProfileService userProfileService;
+
+    public LogoutService(Auth0AuthenticationClient auth0Client, TokenDenylist denylist,
+                         UserProfileService userProfileService) {
+        this.auth0Client = auth0Client;
+        this.denylist = denylist;
+        this.userProfileService = userProfileService;
+    }
+
+    /**
+     * Revokes the refresh token at Auth0, then denylists the access token. The access token
+     * goes last so that, if Auth0 cannot be reached or rate-limits the call, the client can
+     * retry the logout with it. Only a refresh token Auth0 does not recognise is skipped.
+     */
+    public void logout(Jwt accessToken, String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                auth0Client.revokeRefreshToken(refreshToken);
+            } catch (InvalidCredentialsException ex) {
+                if (!isUnknownToken(ex.errorCode())) {
+                    throw ex;
+                }
+                // Already revoked, expired or not ours: nothing left to revoke
+                log.debug("Auth0 rejected refresh token revocation for {}: {}",
+                        accessToken.getSubject(), ex.errorCode());
+            }
+        }
+        Instant expiresAt = accessToken.getExpiresAt() != null ? accessToken.getExpiresAt() : NEVER;
+        denylist.revoke(TokenIds.of(accessToken), expiresAt);
+        userProfileService.invalidate(accessToken.getSubject());
+    }
+
+    private static boolean isUnknownToken(Auth0ErrorCode errorCode) {
+        return errorCode == Auth0ErrorCode.INVALID_GRANT || errorCode == Auth0ErrorCode.UNAUTHORIZED;
+    }
+}
@@ -0,0 +1,79 @@
+package com.tandem.auth.revocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Access to the {@code revoked_token} table. Sync cursors are database timestamps so that
+ * nodes with skewed clocks still read each other's revocations.
+ */
+@Repository
+public class RevokedTokenRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public RevokedTokenRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        jdbcClient.sql("""
+                        INSERT INTO revoked_token (token_id, expires_at, revoked_at)
+                        VALUES (:tokenId, :expiresAt, now())
+                        ON CONFLICT (token_id) DO NOTHING
+                        """)
+                .param("tokenId", tokenId)
+                .param("expiresAt", OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC))
+                .update();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return jdbcClient.sql("""
+                        SELECT EXISTS (SELECT 1 FROM revoked_token
+                                       WHERE token_id = :tokenId AND expires_at > now())
+                        """)
+                .param("tokenId", tokenId)
+                .query(Boolean.class)
+                .single();
+    }
+
+    public Instant now() {
+        return jdbcClient.sql("SELECT now()")
+                .query(OffsetDateTime.class)
+                .single()
+                .toInstant();
+    }
+
+    /**
+     * Tokens revoked after {@code since} that have not expired yet.
+     */
+    public List<String> revokedSince(Instant since) {
+        return jdbcClient.sql("""
+                        SELECT token_id FROM revoked_token
+                        WHERE revoked_at > :since AND expires_at > now()
+                        """)
+                .param("since", OffsetDateTime.ofInstant(since, ZoneOffset.UTC))
+                .query(String.class)
+                .list();
+    }
+
+    public List<String> live() {
+        return jdbcClient.sql("SELECT token_id FROM revoked_token WHERE expires_at > now()")
+                .query(String.class)
+                .list();
+    }
+
+    public int purgeExpired(Duration grace) {
+        return jdbcClient.sql("""
+                        DELETE FROM revoked_token
+                        WHERE expires_at < now() - make_interval(secs => :graceSeconds)
+                        """)
+                .param("graceSeconds", grace.toMillis() / 1000.0)
+                .update();
+    }
+}
@@ -0,0 +1,139 @@
+package com.tandem.auth.revocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tandem.auth.TokenDenylistProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked access tokens, checked on every authenticated request.
+ * <p>
+ * Lookups consult a Bloom filter of the live revocations first; a token the filter rules
+ * out is accepted without any I/O. Only a possible match reads {@code revoked_token}, and
+ * that answer is cached so a false positive does not cost a query per request. Revocations
+ * made on this node enter the filter immediately; those made elsewhere are read every
+ * {@code syncInterval}. Bloom filters cannot forget, so every {@code rebuildInterval} the
+ * filter is rebuilt from the rows whose token has not expired yet. Until the first build
+ * succeeds every lookup goes to the database. With the denylist disabled nothing is loaded
+ * and revocations are only recorded.
+ */
+@Component
+public class TokenDenylist implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private final RevokedTokenRepository repository;
+    private final TokenDenylistProperties properties;
+    private final Cache<String, Boolean> confirmed;
+
+    private volatile BloomFilter filter;
+    private volatile Instant syncedAt;
+    private volatile Counter filteredLookups;
+    private volatile Counter databaseLookups;
+
+    public TokenDenylist(RevokedTokenRepository repository, TokenDenylistProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(properties.confirmedSize())
+                .expireAfterWrite(properties.rebuildInterval())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.filteredLookups = Counter.builder("auth.denylist.lookups").tag("source", "filter").register(registry);
+        this.databaseLookups = Counter.builder("auth.denylist.lookups").tag("source", "database").register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            rebuild();
+        } catch (DataAccessException ex) {
+            log.warn("Could not load the token denylist; checking tokens against the database until it loads", ex);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            count(filteredLookups);
+            return false;
+        }
+        count(databaseLookups);
+        return confirmed.get(tokenId, repository::isRevoked);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        repository.revoke(tokenId, expiresAt);
+        confirmed.put(tokenId, true);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth0.denylist.sync-interval:2s}",
+            initialDelayString = "${auth0.denylist.sync-interval:2s}")
+    public void sync() {
+        if (!properties.enabled()) {
+            return;
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        Instant readAt = repository.now();
+        List<String> revoked = repository.revokedSince(syncedAt.minus(properties.syncOverlap()));
+        for (String tokenId : revoked) {
+            current.add(tokenId);
+            confirmed.put(tokenId, true);
+        }
+        syncedAt = readAt;
+    }
+
+    @Scheduled(fixedDelayString = "${auth0.denylist.rebuild-interval:10m}",
+            initialDelayString = "${auth0.denylist.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Instant readAt = repository.now();
+        List<String> live = repository.live();
+        BloomFilter rebuilt = BloomFilter.create(
+                Math.max(properties.expectedEntries(), live.size() * 2), properties.falsePositiveRate());
+        live.forEach(rebuilt::add);
+        syncedAt = readAt;
+        filter = rebuilt;
+        // A revocation that went into the old filter after the read above would be lost with it,
+        // so catch up from the database now rather than leave it to the next sync
+        for (String tokenId : repository.revokedSince(readAt.minus(properties.syncOverlap()))) {
+            rebuilt.add(tokenId);
+            confirmed.put(tokenId, true);
+        }
+        // Negative answers cached before this build may predate revocations it now contains;
+        // positive ones stay true until the token expires
+        confirmed.asMap().values().removeIf(revoked -> !revoked);
+        int purged = repository.purgeExpired(properties.rebuildInterval());
+        log.debug("Rebuilt token denylist with {} live entries ({} bits, {} hashes); purged {}",
+                live.size(), rebuilt.bitCount(), rebuilt.hashCount(), purged);
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tandem.auth.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Identifies an access token in the denylist: its {@code jti} claim when Auth0 issued one,
+ * otherwise the hex SHA-256 of the raw token, which is just as unique but longer.
+ */
+public final class TokenIds {
+
+    private TokenIds() {
+    }
+
+    public static String of(Jwt jwt) {
+        String jti = jwt.getId();
+        if (jti != null && !jti.isBlank()) {
+            return "jti:" + jti;
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(jwt.getTokenValue().getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
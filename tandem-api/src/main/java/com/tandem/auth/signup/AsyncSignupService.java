@@ -0,0 +1,55 @@
+package com.tandem.auth.signup;
+
+import com.tandem.auth.EmailAddresses;
+import com.tandem.auth.SignupInProgressException;
+import com.tandem.auth.SignupOutboxProperties;
+import com.tandem.auth.dto.SignUpRequest;
+import com.tandem.auth.dto.SignupStatusResponse;
+import java.util.Optional;
+import java.util.UUID;
+import org.jasypt.encryption.StringEncryptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Accepts signups into the outbox. The password is encrypted with the application's
+ * jasypt encryptor before it is written and never leaves the row in clear text.
+ */
+@Service
+public class AsyncSignupService {
+
+    private final SignupOutboxRepository repository;
+    private final StringEncryptor encryptor;
+    private final SignupOutboxProperties properties;
+
+    public AsyncSignupService(SignupOutboxRepository repository,
+                              @Qualifier("jasyptStringEncryptor") StringEncryptor encryptor,
+                              SignupOutboxProperties properties) {
+        this.repository = repository;
+        this.encryptor = encryptor;
+        this.properties = properties;
+    }
+
+    public boolean enabled() {
+        return properties.async();
+    }
+
+    /**
+     * Queues the signup and returns its id.
+     *
+     * @throws SignupInProgressException if a signup for the email is already queued
+     */
+    public UUID enqueue(SignUpRequest request) {
+        return repository.enqueue(
+                        EmailAddresses.normalize(request.email()),
+                        encryptor.encrypt(request.password()),
+                        request.name(),
+                        request.givenName(),
+                        request.familyName())
+                .orElseThrow(SignupInProgressException::new);
+    }
+
+    public Optional<SignupStatusResponse> status(UUID id) {
+        return repository.findStatus(id);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tandem.auth.signup;
+
+import java.util.UUID;
+
+/**
+ * A claimed outbox row, as handed to the worker.
+ *
+ * @param attempts attempts made so far, including the one this claim starts
+ */
+public record SignupOutboxEntry(
+        UUID id,
+        String email,
+        String encryptedPassword,
+        String name,
+        String givenName,
+        String familyName,
+        int attempts
+) {
+}
@@ -0,0 +1,153 @@
+package com.tandem.auth.signup;
+
+import com.tandem.auth.dto.SignupStatusResponse;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Access to the {@code signup_outbox} table. All timestamps use the database clock so
+ * that several application nodes agree on when a row is due or its lease has expired.
+ */
+@Repository
+public class SignupOutboxRepository {
+
+    private static final String OPEN_STATUSES = "('PENDING', 'PROCESSING')";
+
+    private final JdbcClient jdbcClient;
+
+    public SignupOutboxRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Queues a signup. Returns empty, without touching the open row, when a signup for the
+     * email is already pending or processing.
+     */
+    public Optional<UUID> enqueue(String email, String encryptedPassword, String name, String givenName,
+                                  String familyName) {
+        UUID id = UUID.randomUUID();
+        int inserted = jdbcClient.sql("""
+                        INSERT INTO signup_outbox (id, email, encrypted_password, name, given_name, family_name,
+                                                   status, attempts, next_attempt_at, created_at, updated_at)
+                        VALUES (:id, :email, :password, :name, :givenName, :familyName,
+                                'PENDING', 0, now(), now(), now())
+                        ON CONFLICT (email) WHERE status IN %s DO NOTHING
+                        """.formatted(OPEN_STATUSES))
+                .param("id", id)
+                .param("email", email)
+                .param("password", encryptedPassword)
+                .param("name", name)
+                .param("givenName", givenName)
+                .param("familyName", familyName)
+                .update();
+        return inserted == 1 ? Optional.of(id) : Optional.empty();
+    }
+
+    public Optional<SignupStatusResponse> findStatus(UUID id) {
+        return jdbcClient.sql("""
+                        SELECT id, status
+                        FROM signup_outbox
+                        WHERE id = :id
+                        """)
+                .param("id", id)
+                .query((rs, rowNum) -> new SignupStatusResponse(
+                        rs.getObject("id", UUID.class),
+                        SignupStatus.valueOf(rs.getString("status"))))
+                .optional();
+    }
+
+    /**
+     * Claims up to {@code batchSize} due rows for this worker. {@code SKIP LOCKED} lets
+     * concurrent workers on other nodes claim disjoint batches without blocking.
+     */
+    public List<SignupOutboxEntry> claim(int batchSize, Duration lease) {
+        return jdbcClient.sql("""
+                        UPDATE signup_outbox
+                        SET status = 'PROCESSING',
+                            attempts = attempts + 1,
+                            locked_until = now() + make_interval(secs => :leaseSeconds),
+                            updated_at = now()
+                        WHERE id IN (
+                            SELECT id FROM signup_outbox
+                            WHERE (status = 'PENDING' AND next_attempt_at <= now())
+                               OR (status = 'PROCESSING' AND locked_until < now())
+                            ORDER BY next_attempt_at
+                            LIMIT :batchSize
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING id, email, encrypted_password, name, given_name, family_name, attempts
+                        """)
+                .param("leaseSeconds", seconds(lease))
+                .param("batchSize", batchSize)
+                .query(SignupOutboxRepository::mapEntry)
+                .list();
+    }
+
+    public void markCompleted(UUID id, String auth0UserId) {
+        jdbcClient.sql("""
+                        UPDATE signup_outbox
+                        SET status = 'COMPLETED', auth0_user_id = :userId, error_code = NULL,
+                            encrypted_password = NULL, locked_until = NULL, updated_at = now()
+                        WHERE id = :id AND status = 'PROCESSING'
+                        """)
+                .param("id", id)
+                .param("userId", auth0UserId)
+                .update();
+    }
+
+    public void markFailed(UUID id, String errorCode) {
+        jdbcClient.sql("""
+                        UPDATE signup_outbox
+                        SET status = 'FAILED', error_code = :errorCode,
+                            encrypted_password = NULL, locked_until = NULL, updated_at = now()
+                        WHERE id = :id AND status = 'PROCESSING'
+                        """)
+                .param("id", id)
+                .param("errorCode", errorCode)
+                .update();
+    }
+
+    public void scheduleRetry(UUID id, Duration delay, String errorCode) {
+        jdbcClient.sql("""
+                        UPDATE signup_outbox
+                        SET status = 'PENDING', error_code = :errorCode, locked_until = NULL,
+                            next_attempt_at = now() + make_interval(secs => :delaySeconds),
+                            updated_at = now()
+                        WHERE id = :id AND status = 'PROCESSING'
+                        """)
+                .param("id", id)
+                .param("errorCode", errorCode)
+                .param("delaySeconds", seconds(delay))
+                .update();
+    }
+
+    public int purgeFinishedBefore(Duration retention) {
+        return jdbcClient.sql("""
+                        DELETE FROM signup_outbox
+                        WHERE status IN ('COMPLETED', 'FAILED')
+                          AND updated_at < now() - make_interval(secs => :retentionSeconds)
+                        """)
+                .param("retentionSeconds", seconds(retention))
+                .update();
+    }
+
+    private static SignupOutboxEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new SignupOutboxEntry(
+                rs.getObject("id", UUID.class),
+                rs.getString("email"),
+                rs.getString("encrypted_password"),
+                rs.getString("name"),
+                rs.getString("given_name"),
+                rs.getString("family_name"),
+                rs.getInt("attempts"));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
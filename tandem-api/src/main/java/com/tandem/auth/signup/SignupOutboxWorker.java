@@ -0,0 +1,148 @@
+package com.tandem.auth.signup;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0ClientException;
+import com.tandem.auth.Auth0ErrorCode;
+import com.tandem.auth.Auth0UnavailableException;
+import com.tandem.auth.InvalidCredentialsException;
+import com.tandem.auth.SignupOutboxProperties;
+import com.tandem.auth.dto.SignUpRequest;
+import com.tandem.auth.dto.SignUpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import org.jasypt.encryption.StringEncryptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Drains the signup outbox into Auth0. Each poll claims a batch, forwards it with at most
+ * {@code workers} concurrent calls, and keeps claiming while batches come back full, so a
+ * burst is worked off at a steady rate instead of being passed on to Auth0 all at once.
+ * Rejections are final; outages and throttling are retried with exponential backoff.
+ */
+@Component
+@ConditionalOnProperty(prefix = "auth0.signup", name = "async", havingValue = "true")
+public class SignupOutboxWorker implements DisposableBean {
+
+    static final String UNAVAILABLE = "auth0_unavailable";
+    static final String THROTTLED = "auth0_throttled";
+
+    private static final Logger log = LoggerFactory.getLogger(SignupOutboxWorker.class);
+
+    private final SignupOutboxRepository repository;
+    private final Auth0AuthenticationClient client;
+    private final StringEncryptor encryptor;
+    private final SignupOutboxProperties properties;
+    private final ExecutorService executor;
+
+    public SignupOutboxWorker(SignupOutboxRepository repository,
+                              Auth0AuthenticationClient client,
+                              @Qualifier("jasyptStringEncryptor") StringEncryptor encryptor,
+                              SignupOutboxProperties properties) {
+        this.repository = repository;
+        this.client = client;
+        this.encryptor = encryptor;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.workers(),
+                Thread.ofVirtual().name("signup-outbox-", 0).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${auth0.signup.poll-interval:1s}")
+    public void drain() throws InterruptedException {
+        List<SignupOutboxEntry> batch;
+        do {
+            batch = repository.claim(properties.batchSize(), properties.lease());
+            List<Callable<Void>> tasks = new ArrayList<>(batch.size());
+            for (SignupOutboxEntry entry : batch) {
+                tasks.add(() -> {
+                    process(entry);
+                    return null;
+                });
+            }
+            executor.invokeAll(tasks);
+        } while (batch.size() == properties.batchSize());
+    }
+
+    @Scheduled(fixedDelayString = "1h", initialDelayString = "1m")
+    public void purge() {
+        int purged = repository.purgeFinishedBefore(properties.retention());
+        if (purged > 0) {
+            log.debug("Purged {} finished signup outbox rows", purged);
+        }
+    }
+
+    void process(SignupOutboxEntry entry) {
+        try {
+            SignUpResponse response = client.signUp(new SignUpRequest(
+                    entry.email(),
+                    encryptor.decrypt(entry.encryptedPassword()),
+                    entry.name(),
+                    entry.givenName(),
+                    entry.familyName()));
+            repository.markCompleted(entry.id(), response.id());
+        } catch (InvalidCredentialsException ex) {
+            if (isThrottled(ex)) {
+                retryOrFail(entry, backoff(entry.attempts()), THROTTLED);
+            } else {
+                repository.markFailed(entry.id(), ex.errorCode().name().toLowerCase(Locale.ROOT));
+            }
+        } catch (Auth0UnavailableException ex) {
+            Duration delay = backoff(entry.attempts());
+            retryOrFail(entry, ex.retryAfter().compareTo(delay) > 0 ? ex.retryAfter() : delay, UNAVAILABLE);
+        } catch (Auth0ClientException ex) {
+            retryOrFail(entry, backoff(entry.attempts()), UNAVAILABLE);
+        } catch (RuntimeException ex) {
+            log.warn("Signup outbox entry {} failed unexpectedly", entry.id(), ex);
+            retryOrFail(entry, backoff(entry.attempts()), UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Exponential backoff from {@code initialBackoff}, capped at {@code maxBackoff}, with
+     * the upper half jittered so rows that failed together do not retry together.
+     */
+    Duration backoff(int attempts) {
+        long initial = properties.initialBackoff().toMillis();
+        long cap = properties.maxBackoff().toMillis();
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = Math.min(cap, initial << doublings);
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void retryOrFail(SignupOutboxEntry entry, Duration delay, String errorCode) {
+        if (entry.attempts() >= properties.maxAttempts()) {
+            log.warn("Giving up on signup outbox entry {} after {} attempts", entry.id(), entry.attempts());
+            repository.markFailed(entry.id(), errorCode);
+        } else {
+            repository.scheduleRetry(entry.id(), delay, errorCode);
+        }
+    }
+
+    // Auth0 answers rate-limited signups with a 429 whose body is not a signup error code
+    private static boolean isThrottled(InvalidCredentialsException ex) {
+        if (ex.errorCode() == Auth0ErrorCode.TOO_MANY_ATTEMPTS) {
+            return true;
+        }
+        return ex.getCause() instanceof RestClientResponseException response
+                && response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
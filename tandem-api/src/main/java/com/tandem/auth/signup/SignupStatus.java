@@ -0,0 +1,15 @@
+package com.tandem.auth.signup;
+
+/**
+ * Lifecycle of a row in the signup outbox.
+ */
+public enum SignupStatus {
+    /** Waiting for its first attempt or for a retry. */
+    PENDING,
+    /** Claimed by a worker; reclaimed if its lease runs out. */
+    PROCESSING,
+    /** Auth0 created the user. */
+    COMPLETED,
+    /** Auth0 rejected the signup, or every attempt failed. */
+    FAILED
+}
@@ -0,0 +1,124 @@
+package com.tandem.catalog;
+
+import com.tandem.catalog.dto.CardTemplateResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * One immutable version of the card-template catalog: the templates indexed by id and
+ * category, and the full list already serialized as JSON, plain and gzipped. Instances are
+ * built off the request path and shared by all requests until the next version replaces them.
+ */
+public final class CardCatalog {
+
+    private final long version;
+    private final List<CardTemplateResponse> templates;
+    private final Map<String, CardTemplateResponse> byId;
+    private final Map<String, List<CardTemplateResponse>> byCategory;
+    private final byte[] json;
+    private final byte[] gzippedJson;
+    private final String etag;
+    private final String gzipEtag;
+
+    private CardCatalog(long version, List<CardTemplateResponse> templates, byte[] json) {
+        this.version = version;
+        this.templates = List.copyOf(templates);
+        this.byId = this.templates.stream()
+                .collect(Collectors.toUnmodifiableMap(CardTemplateResponse::id, Function.identity()));
+        this.byCategory = Map.copyOf(this.templates.stream()
+                .collect(Collectors.groupingBy(CardTemplateResponse::category, LinkedHashMap::new,
+                        Collectors.toUnmodifiableList())));
+        this.json = json;
+        this.gzippedJson = gzip(json);
+        this.etag = etag(json);
+        this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    static CardCatalog of(long version, List<CardTemplateResponse> templates, JsonMapper jsonMapper) {
+        return new CardCatalog(version, templates, jsonMapper.writeValueAsBytes(templates));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<CardTemplateResponse> templates() {
+        return templates;
+    }
+
+    public Optional<CardTemplateResponse> template(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<CardTemplateResponse> category(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * The serialized template list. Shared, so callers must not modify it.
+     */
+    byte[] json() {
+        return json;
+    }
+
+    /**
+     * The gzipped template list. Shared, so callers must not modify it.
+     */
+    byte[] gzippedJson() {
+        return gzippedJson;
+    }
+
+    /**
+     * Strong entity tag of the template list, derived from its content so that every node
+     * serving the same catalog hands out the same tag.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Strong entity tag of the gzipped template list. The compressed bytes are a different
+     * representation, so they carry a tag of their own.
+     */
+    public String gzipEtag() {
+        return gzipEtag;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        // Compressed once per catalog version, so spend the CPU on the smallest output
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 18)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
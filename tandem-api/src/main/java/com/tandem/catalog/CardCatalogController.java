@@ -0,0 +1,108 @@
+package com.tandem.catalog;
+
+import com.tandem.catalog.dto.CardTemplateResponse;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/catalog/cards")
+public class CardCatalogController {
+
+    // Clients may keep the catalog but must revalidate it, which costs them a 304
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final CardCatalogService catalogService;
+
+    public CardCatalogController(CardCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * The whole catalog, written from bytes serialized and gzipped when the catalog was loaded.
+     * The gzipped and plain bodies carry distinct strong ETags, as byte-range requests and
+     * shared caches require. Both describe the same catalog version, so an
+     * {@code If-None-Match} naming either is answered with 304 and no body.
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> templates(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                            String acceptEncoding,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch) {
+        CardCatalog catalog = catalogService.catalog();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? catalog.gzipEtag() : catalog.etag();
+        if (matches(ifNoneMatch, catalog)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CACHE_CONTROL)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzippedJson());
+        }
+        return response.body(catalog.json());
+    }
+
+    @GetMapping(params = "category")
+    public ResponseEntity<List<CardTemplateResponse>> category(@RequestParam String category) {
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(catalogService.catalog().category(category));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CardTemplateResponse> template(@PathVariable String id) {
+        return catalogService.catalog().template(id)
+                .map(template -> ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(template))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix on a listed tag is ignored
+    static boolean matches(String ifNoneMatch, CardCatalog catalog) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.strip();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(catalog.etag()) || candidate.equals(catalog.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].strip().matches("[qQ]\\s*=\\s*0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
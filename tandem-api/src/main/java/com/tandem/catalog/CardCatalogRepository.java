@@ -0,0 +1,57 @@
+package com.tandem.catalog;
+
+import com.tandem.catalog.dto.CardTemplateResponse;
+import java.util.List;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class CardCatalogRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public CardCatalogRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public record Snapshot(long version, List<CardTemplateResponse> templates) {
+    }
+
+    /**
+     * The catalog version, bumped by a trigger on every change to {@code card_template}.
+     */
+    public long version() {
+        return jdbcClient.sql("SELECT version FROM card_catalog WHERE id = 1")
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Reads the version and the templates from one snapshot, so the templates are exactly
+     * those of the version returned with them.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Snapshot load() {
+        long version = version();
+        List<CardTemplateResponse> templates = jdbcClient.sql("""
+                        SELECT id, name, category, description, conception_description, planning_description,
+                               execution_description, frequency, icon_name
+                        FROM card_template
+                        ORDER BY category, name, id
+                        """)
+                .query((rs, rowNum) -> new CardTemplateResponse(
+                        rs.getString("id"),
+                        rs.getString("name"),
+                        rs.getString("category"),
+                        rs.getString("description"),
+                        rs.getString("conception_description"),
+                        rs.getString("planning_description"),
+                        rs.getString("execution_description"),
+                        rs.getString("frequency"),
+                        rs.getString("icon_name")))
+                .list();
+        return new Snapshot(version, templates);
+    }
+}
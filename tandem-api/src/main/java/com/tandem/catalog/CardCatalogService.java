@@ -0,0 +1,63 @@
+package com.tandem.catalog;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Holds the current {@link CardCatalog}. Requests only read an {@link AtomicReference};
+ * a background poll of the catalog version builds the next catalog when it changes and
+ * swaps it in whole, so a request sees either the old or the new catalog, never a mix.
+ */
+@Service
+public class CardCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardCatalogService.class);
+
+    private final CardCatalogRepository repository;
+    private final JsonMapper jsonMapper;
+    private final AtomicReference<CardCatalog> current = new AtomicReference<>();
+
+    public CardCatalogService(CardCatalogRepository repository, JsonMapper jsonMapper) {
+        this.repository = repository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public CardCatalog catalog() {
+        CardCatalog catalog = current.get();
+        return catalog != null ? catalog : loadIfAbsent();
+    }
+
+    @Scheduled(fixedDelayString = "${tandem.catalog.refresh-interval:30s}")
+    public void refresh() {
+        CardCatalog catalog = current.get();
+        if (catalog == null || repository.version() != catalog.version()) {
+            swap(load());
+        }
+    }
+
+    // First request before the first poll: load once, other callers wait for it
+    private synchronized CardCatalog loadIfAbsent() {
+        if (current.get() == null) {
+            swap(load());
+        }
+        return current.get();
+    }
+
+    private CardCatalog load() {
+        CardCatalogRepository.Snapshot snapshot = repository.load();
+        return CardCatalog.of(snapshot.version(), snapshot.templates(), jsonMapper);
+    }
+
+    private void swap(CardCatalog next) {
+        CardCatalog previous = current.getAndAccumulate(next,
+                (existing, candidate) -> existing != null && existing.version() >= candidate.version()
+                        ? existing : candidate);
+        if (previous == null || previous.version() < next.version()) {
+            log.info("Loaded card catalog version {} ({} templates)", next.version(), next.templates().size());
+        }
+    }
+}
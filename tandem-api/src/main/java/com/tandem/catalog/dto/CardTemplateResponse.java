@@ -0,0 +1,14 @@
+package com.tandem.catalog.dto;
+
+public record CardTemplateResponse(
+        String id,
+        String name,
+        String category,
+        String description,
+        String conceptionDescription,
+        String planningDescription,
+        String executionDescription,
+        String frequency,
+        String iconName
+) {
+}
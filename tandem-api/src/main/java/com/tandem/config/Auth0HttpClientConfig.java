@@ -0,0 +1,149 @@
+package com.tandem.config;
+
+import com.tandem.auth.Auth0HttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class Auth0HttpClientConfig {
+
+    private static final String POOL_NAME = "auth0";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "auth0.http", name = "http2", havingValue = "false", matchIfMissing = true)
+    PoolingHttpClientConnectionManager auth0ConnectionManager(Auth0HttpProperties properties) {
+        return connectionManager(properties);
+    }
+
+    /**
+     * Closes pooled connections that expired or sat idle for {@code idleEviction}, before Auth0
+     * or a load balancer drops them under us. The client cannot start one itself: it does not
+     * own the shared manager and only sees it through {@link TimedConnectionManager}.
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "auth0.http", name = "http2", havingValue = "false", matchIfMissing = true)
+    IdleConnectionEvictor auth0IdleConnectionEvictor(PoolingHttpClientConnectionManager auth0ConnectionManager,
+                                                     Auth0HttpProperties properties) {
+        return idleConnectionEvictor(auth0ConnectionManager, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth0.http", name = "http2", havingValue = "false", matchIfMissing = true)
+    MeterBinder auth0ConnectionPoolMetrics(PoolingHttpClientConnectionManager auth0ConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(auth0ConnectionManager, POOL_NAME);
+    }
+
+    @Bean
+    ClientHttpRequestFactory auth0RequestFactory(Auth0HttpProperties properties,
+                                                 ObjectProvider<PoolingHttpClientConnectionManager> connectionManager,
+                                                 MeterRegistry meterRegistry) {
+        if (properties.http2()) {
+            return http2RequestFactory(properties);
+        }
+        return pooledRequestFactory(
+                new TimedConnectionManager(connectionManager.getObject(), meterRegistry, POOL_NAME), properties);
+    }
+
+    /**
+     * Outbound calls are observed as {@code http.client.requests}; with a tracer on the
+     * classpath the observation also starts a client span and propagates its context to Auth0.
+     */
+    @Bean
+    RestClient.Builder restClientBuilder(ClientHttpRequestFactory auth0RequestFactory,
+                                         ObjectProvider<ObservationRegistry> observationRegistry) {
+        return RestClient.builder()
+                .requestFactory(auth0RequestFactory)
+                .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(Auth0HttpProperties properties) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                .setTimeToLive(TimeValue.of(properties.connectionTimeToLive()))
+                .setValidateAfterInactivity(TimeValue.of(properties.validateAfterInactivity()))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setMaxConnTotal(properties.maxConnectionsTotal())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    static IdleConnectionEvictor idleConnectionEvictor(PoolingHttpClientConnectionManager connectionManager,
+                                                       Auth0HttpProperties properties) {
+        TimeValue idleEviction = TimeValue.of(properties.idleEviction());
+        return new IdleConnectionEvictor(connectionManager,
+                Thread.ofPlatform().name("auth0-connection-evictor").daemon().factory(), idleEviction, idleEviction);
+    }
+
+    static ClientHttpRequestFactory pooledRequestFactory(HttpClientConnectionManager connectionManager,
+                                                         Auth0HttpProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.poolAcquireTimeout()))
+                .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // The connection manager is a bean of its own and is closed by the context
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(cappedKeepAlive(properties.keepAlive()))
+                // Eviction is left to the IdleConnectionEvictor bean; with a shared manager the builder starts none
+                .disableCookieManagement()
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    static ClientHttpRequestFactory http2RequestFactory(Auth0HttpProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.readTimeout());
+        return requestFactory;
+    }
+
+    /**
+     * Honours a shorter Keep-Alive advertised by Auth0, but never keeps an idle
+     * connection longer than the configured maximum.
+     */
+    private static ConnectionKeepAliveStrategy cappedKeepAlive(Duration maximum) {
+        TimeValue cap = TimeValue.of(maximum);
+        return (response, context) -> {
+            TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(advertised) && advertised.compareTo(cap) < 0 ? advertised : cap;
+        };
+    }
+}
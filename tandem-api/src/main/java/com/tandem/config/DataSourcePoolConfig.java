@@ -0,0 +1,41 @@
+package com.tandem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    /**
+     * Applies {@link DataSourcePoolProperties} before the pool starts. The pool is kept at a
+     * fixed size (minimum idle equals maximum) so that a burst does not pay for opening
+     * connections. Static, and resolving the properties lazily, so that registering the
+     * post-processor does not initialise other beans early.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "tandem.datasource.pool", name = "size-from-cores", havingValue = "true")
+    static BeanPostProcessor hikariPoolSizer(ObjectProvider<DataSourcePoolProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int size = properties.getObject().poolSize(cores);
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    log.info("Sized connection pool {} to {} connections for {} cores",
+                            dataSource.getPoolName(), size, cores);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.tandem.config;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Sizes the Hikari pool from the number of available cores instead of a fixed
+ * {@code spring.datasource.hikari.maximum-pool-size}. Request handling runs on virtual
+ * threads, so the pool, not the thread count, bounds database concurrency; a pool much
+ * larger than the database can work on in parallel only adds contention.
+ *
+ * @param sizeFromCores      replace the configured pool size with the derived one
+ * @param connectionsPerCore connections per available core
+ * @param spareConnections   added on top, for connections waiting on disk or network I/O
+ * @param maxSize            upper bound, whatever the core count
+ */
+@Validated
+@ConfigurationProperties(prefix = "tandem.datasource.pool")
+public record DataSourcePoolProperties(
+        @DefaultValue("false") boolean sizeFromCores,
+        @DefaultValue("2") @Positive int connectionsPerCore,
+        @DefaultValue("1") @PositiveOrZero int spareConnections,
+        @DefaultValue("40") @Positive int maxSize
+) {
+
+    public int poolSize(int cores) {
+        return Math.min(maxSize, cores * connectionsPerCore + spareConnections);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tandem.config;
+
+import com.tandem.auth.IdempotencyProperties;
+import com.tandem.auth.idempotency.IdempotencyFilter;
+import com.tandem.auth.idempotency.IdempotencyRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class IdempotencyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyConfig.class);
+    private static final String HMAC = "HmacSHA256";
+    private static final String KEY_LABEL = "tandem idempotency request hash v1";
+
+    /**
+     * Endpoints whose retries are made safe by {@code Idempotency-Key}. Login and refresh are
+     * left out: their responses carry tokens, which must not be written to the database.
+     */
+    static final String[] IDEMPOTENT_PATHS = {"/api/auth/signup", "/api/auth/resend-verification"};
+
+    @Bean
+    IdempotencyFilter idempotencyFilter(IdempotencyRepository repository, IdempotencyProperties properties,
+                                        JsonMapper jsonMapper, Environment environment) {
+        return new IdempotencyFilter(repository, properties, jsonMapper,
+                requestHashKey(environment.getProperty("jasypt.encryptor.password")));
+    }
+
+    /**
+     * Key for the request hashes stored with idempotency keys, derived from the jasypt password
+     * so that every node computes the same hash while the database never sees the key. Without
+     * a password a random key is used: hashes then only match on the node that stored them.
+     */
+    static SecretKey requestHashKey(String password) {
+        if (password == null || password.isEmpty()) {
+            log.warn("jasypt.encryptor.password is not set; idempotent retries are only recognised on the node "
+                    + "and process that first saw them");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return new SecretKeySpec(random, HMAC);
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), HMAC));
+            // A key of its own rather than the password itself, so the password is used for nothing but jasypt
+            return new SecretKeySpec(mac.doFinal(KEY_LABEL.getBytes(StandardCharsets.UTF_8)), HMAC);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(HMAC + " is not available", ex);
+        }
+    }
+
+    /**
+     * Runs after the security filter chain, for the idempotent paths only.
+     */
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(IDEMPOTENT_PATHS);
+        return registration;
+    }
+}
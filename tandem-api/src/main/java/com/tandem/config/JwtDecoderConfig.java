@@ -0,0 +1,90 @@
+package com.tandem.config;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.tandem.auth.Auth0JwksProperties;
+import com.tandem.auth.Auth0Properties;
+import com.tandem.auth.TokenDenylistProperties;
+import com.tandem.auth.VerifiedJwtCacheProperties;
+import com.tandem.auth.jwt.Auth0JwkSource;
+import com.tandem.auth.jwt.CachingJwtDecoder;
+import com.tandem.auth.jwt.TimedJwtDecoder;
+import com.tandem.auth.revocation.DenylistJwtDecoder;
+import com.tandem.auth.revocation.TokenDenylist;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestClient;
+
+/**
+ * JWT decoder for the resource server. Replaces the issuer-uri auto-configuration so that
+ * startup does not perform OIDC discovery and key lookups never fetch inline on a request
+ * thread except for a rate-limited refetch on an unknown {@code kid}.
+ */
+@Configuration
+public class JwtDecoderConfig {
+
+    private static final JOSEObjectType ACCESS_TOKEN_TYPE = new JOSEObjectType("at+jwt");
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    Auth0JwkSource auth0JwkSource(RestClient.Builder restClientBuilder,
+                                  Auth0Properties properties,
+                                  Auth0JwksProperties jwksProperties) {
+        return new Auth0JwkSource(restClientBuilder.clone().build(), properties.jwksUri(), jwksProperties);
+    }
+
+    /**
+     * Decode time is recorded twice: {@code stage=verify} for signature and claim checks on
+     * a cache miss, {@code stage=total} for what every authenticated request pays. The
+     * denylist check sits outside the cache so that cached tokens are checked as well.
+     */
+    @Bean
+    JwtDecoder jwtDecoder(Auth0JwkSource auth0JwkSource,
+                          Auth0Properties properties,
+                          VerifiedJwtCacheProperties cacheProperties,
+                          TokenDenylistProperties denylistProperties,
+                          TokenDenylist denylist,
+                          MeterRegistry meterRegistry) {
+        JwtDecoder decoder = new TimedJwtDecoder(verifyingDecoder(auth0JwkSource, properties), meterRegistry, "verify");
+        if (cacheProperties.enabled()) {
+            CachingJwtDecoder caching = new CachingJwtDecoder(
+                    decoder, cacheProperties.maximumSize(), cacheProperties.maxTtl());
+            CaffeineCacheMetrics.monitor(meterRegistry, caching.cache(), "jwt.verified");
+            decoder = caching;
+        }
+        if (denylistProperties.enabled()) {
+            decoder = new DenylistJwtDecoder(decoder, denylist);
+        }
+        return new TimedJwtDecoder(decoder, meterRegistry, "total");
+    }
+
+    private static JwtDecoder verifyingDecoder(Auth0JwkSource auth0JwkSource, Auth0Properties properties) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, auth0JwkSource));
+        processor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(JOSEObjectType.JWT, ACCESS_TOKEN_TYPE, null));
+        // Claims are validated by Spring Security below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        OAuth2TokenValidator<Jwt> audience = new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                aud -> aud != null && aud.contains(properties.audience()));
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(properties.issuer()), audience));
+        return decoder;
+    }
+}
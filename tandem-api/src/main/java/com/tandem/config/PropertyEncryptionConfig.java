@@ -0,0 +1,87 @@
+package com.tandem.config;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.detector.DefaultPropertyDetector;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jasypt.encryption.StringEncryptor;
+import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
+import org.jasypt.iv.RandomIvGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * The jasypt encryptor and the resolver for {@code ENC(...)} property values.
+ *
+ * <p>Every value is encrypted with its own random salt, so the PBKDF2 key has to be derived
+ * once per value and cannot be shared between properties. What can be shared is done once:
+ * one encryptor is built for the process, used by property resolution and the signup
+ * outbox, and each distinct ciphertext in the configuration is decrypted only once, however
+ * often the environment is asked for it. Both beans are static because jasypt looks them up
+ * while it wraps the property sources, before regular beans exist.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PropertyEncryptionConfig {
+
+    static final String DEFAULT_ALGORITHM = "PBEWithHMACSHA512AndAES_256";
+
+    /**
+     * Pooled so that concurrent signup workers do not queue on a single cipher; the pool
+     * defaults to one instance per core ({@code jasypt.encryptor.pool-size}).
+     */
+    @Bean("jasyptStringEncryptor")
+    static StringEncryptor jasyptStringEncryptor(Environment environment) {
+        PooledPBEStringEncryptor encryptor = new PooledPBEStringEncryptor();
+        String password = environment.getProperty("jasypt.encryptor.password");
+        // Left unset when missing, so only decrypting fails, as with jasypt's own default encryptor
+        if (password != null && !password.isEmpty()) {
+            encryptor.setPassword(password);
+        }
+        encryptor.setAlgorithm(environment.getProperty("jasypt.encryptor.algorithm", DEFAULT_ALGORITHM));
+        encryptor.setIvGenerator(new RandomIvGenerator());
+        encryptor.setPoolSize(environment.getProperty("jasypt.encryptor.pool-size", Integer.class,
+                Runtime.getRuntime().availableProcessors()));
+        return encryptor;
+    }
+
+    @Bean("encryptablePropertyResolver")
+    static EncryptablePropertyResolver encryptablePropertyResolver(
+            @Qualifier("jasyptStringEncryptor") ObjectProvider<StringEncryptor> encryptor, Environment environment) {
+        return new MemoizingPropertyResolver(encryptor, environment);
+    }
+
+    /**
+     * Resolves placeholders, then decrypts the result if it is {@code ENC(...)}, as jasypt's
+     * default resolver does, but remembers each decrypted ciphertext.
+     */
+    static final class MemoizingPropertyResolver implements EncryptablePropertyResolver {
+
+        private final EncryptablePropertyDetector detector = new DefaultPropertyDetector();
+        private final Map<String, String> decrypted = new ConcurrentHashMap<>();
+        private final ObjectProvider<StringEncryptor> encryptor;
+        private final Environment environment;
+
+        MemoizingPropertyResolver(ObjectProvider<StringEncryptor> encryptor, Environment environment) {
+            this.encryptor = encryptor;
+            this.environment = environment;
+        }
+
+        @Override
+        public String resolvePropertyValue(String value) {
+            if (value == null) {
+                return null;
+            }
+            String resolved = environment.resolvePlaceholders(value);
+            if (!detector.isEncrypted(resolved)) {
+                return value;
+            }
+            String ciphertext = detector.unwrapEncryptedValue(resolved.trim());
+            String plaintext = decrypted.computeIfAbsent(ciphertext, key -> encryptor.getObject().decrypt(key));
+            return environment.resolvePlaceholders(plaintext);
+        }
+    }
+}
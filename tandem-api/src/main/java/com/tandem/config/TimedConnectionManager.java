@@ -0,0 +1,93 @@
+package com.tandem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Times the two connection phases of an Auth0 call that request timers cannot see: waiting
+ * for a pooled connection ({@code auth0.http.connection.lease}) and opening a new one,
+ * including the TLS handshake ({@code auth0.http.connection.connect}). The pool itself
+ * stays owned, and closed, by the Spring context.
+ */
+final class TimedConnectionManager implements HttpClientConnectionManager {
+
+    private final HttpClientConnectionManager delegate;
+    private final Timer leaseTimer;
+    private final Timer connectTimer;
+
+    TimedConnectionManager(HttpClientConnectionManager delegate, MeterRegistry registry, String pool) {
+        this.delegate = delegate;
+        this.leaseTimer = Timer.builder("auth0.http.connection.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("pool", pool)
+                .register(registry);
+        this.connectTimer = Timer.builder("auth0.http.connection.connect")
+                .description("Time spent opening a new connection, including the TLS handshake")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest lease = delegate.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return lease.get(timeout);
+                } finally {
+                    leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        delegate.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue timeout, HttpContext context) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.connect(endpoint, timeout, context);
+        } finally {
+            connectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        delegate.upgrade(endpoint, context);
+    }
+
+    @Override
+    public void close() {
+        // The delegate is a context-managed bean
+    }
+
+    @Override
+    public void close(CloseMode closeMode) {
+        // The delegate is a context-managed bean
+    }
+}
@@ -0,0 +1,42 @@
+package com.tandem.household;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly {@code card_assignment} partitions created ahead of time, so appends never
+ * land in the default partition. Creation is idempotent, so every node may run it.
+ */
+@Component
+public class CardAssignmentPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(CardAssignmentPartitions.class);
+
+    private static final int MONTHS_AHEAD = 2;
+
+    private final DSLContext dsl;
+
+    public CardAssignmentPartitions(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Scheduled(fixedDelayString = "12h", initialDelayString = "10s")
+    public void createAhead() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            try {
+                dsl.execute("SELECT create_card_assignment_partition({0})", DSL.val(month.plusMonths(i)));
+            } catch (DataAccessException ex) {
+                // Usually another node creating the same partition at the same moment
+                log.warn("Could not create card_assignment partition for {}", month.plusMonths(i), ex);
+            }
+        }
+    }
+}
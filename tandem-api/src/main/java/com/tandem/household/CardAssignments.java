@@ -0,0 +1,155 @@
+package com.tandem.household;
+
+import static com.tandem.household.HouseholdTables.ASSIGNMENT;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_ASSIGNED_AT;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_ASSIGNED_BY;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_ASSIGNED_TO;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_CARD_ID;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_HOUSEHOLD_ID;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_ID;
+import static com.tandem.household.HouseholdTables.ASSIGNMENT_NOTE;
+import static org.jooq.impl.DSL.noCondition;
+import static org.jooq.impl.DSL.row;
+
+import com.tandem.household.dto.CardAssignmentResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.Record5;
+import org.jooq.Result;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The append-only {@code card_assignment} history. Appending is a single insert into the
+ * current month's partition, whatever the length of the card's history, and reads stream
+ * the history in short keyset pages instead of materialising it.
+ */
+@Repository
+public class CardAssignments {
+
+    static final int MAX_PAGE_SIZE = 10_000;
+
+    // Rows read per query while streaming
+    private static final int STREAM_PAGE_SIZE = 250;
+
+    private final DSLContext dsl;
+    private final int streamPageSize;
+
+    public CardAssignments(DSLContext dsl) {
+        this(dsl, STREAM_PAGE_SIZE);
+    }
+
+    CardAssignments(DSLContext dsl, int streamPageSize) {
+        this.dsl = dsl;
+        this.streamPageSize = streamPageSize;
+    }
+
+    public void append(UUID householdId, UUID cardId, String assignedTo, String assignedBy, String note,
+                       Instant assignedAt) {
+        dsl.insertInto(ASSIGNMENT, ASSIGNMENT_CARD_ID, ASSIGNMENT_HOUSEHOLD_ID, ASSIGNMENT_ASSIGNED_TO,
+                        ASSIGNMENT_ASSIGNED_BY, ASSIGNMENT_NOTE, ASSIGNMENT_ASSIGNED_AT)
+                .values(cardId, householdId, assignedTo, assignedBy, note, assignedAt)
+                .execute();
+    }
+
+    /**
+     * Appends one entry per card, all assigned by {@code assignedBy} at {@code assignedAt},
+     * as a single JDBC batch.
+     */
+    public void appendAll(UUID householdId, String assignedBy, Instant assignedAt, List<NewEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        BatchBindStep batch = dsl.batch(dsl.insertInto(ASSIGNMENT, ASSIGNMENT_CARD_ID, ASSIGNMENT_HOUSEHOLD_ID,
+                        ASSIGNMENT_ASSIGNED_TO, ASSIGNMENT_ASSIGNED_BY, ASSIGNMENT_NOTE, ASSIGNMENT_ASSIGNED_AT)
+                .values((UUID) null, null, null, null, null, null));
+        for (NewEntry entry : entries) {
+            batch.bind(entry.cardId(), householdId, entry.assignedTo(), assignedBy, entry.note(), assignedAt);
+        }
+        batch.execute();
+    }
+
+    /**
+     * Passes up to {@code limit} entries of the card's history, newest first and starting
+     * after {@code after}, to {@code sink}. Entries are read {@link #STREAM_PAGE_SIZE} at a
+     * time, each page a query of its own that seeks past the last entry of the one before,
+     * so a connection is only held while a page is read and never while the sink writes to
+     * a slow client. Must not be called inside a transaction, which would pin the connection
+     * for the whole stream again.
+     *
+     * @return the number of entries passed to the sink
+     */
+    public int stream(UUID cardId, Position after, int limit, Sink sink) throws IOException {
+        int remaining = pageSize(limit);
+        int count = 0;
+        Position position = after;
+        while (remaining > 0) {
+            int requested = Math.min(remaining, streamPageSize);
+            Result<Record5<Long, String, String, String, Instant>> page = dsl
+                    .select(ASSIGNMENT_ID, ASSIGNMENT_ASSIGNED_TO, ASSIGNMENT_ASSIGNED_BY, ASSIGNMENT_NOTE,
+                            ASSIGNMENT_ASSIGNED_AT)
+                    .from(ASSIGNMENT)
+                    .where(ASSIGNMENT_CARD_ID.eq(cardId))
+                    .and(position == null
+                            ? noCondition()
+                            : row(ASSIGNMENT_ASSIGNED_AT, ASSIGNMENT_ID).lt(position.assignedAt(), position.id()))
+                    .orderBy(ASSIGNMENT_ASSIGNED_AT.desc(), ASSIGNMENT_ID.desc())
+                    .limit(requested)
+                    .fetch();
+            for (Record5<Long, String, String, String, Instant> entry : page) {
+                position = new Position(entry.value5(), entry.value1());
+                sink.accept(new CardAssignmentResponse(entry.value1(), entry.value2(), entry.value3(),
+                        entry.value5(), entry.value4(), position.encode()));
+            }
+            count += page.size();
+            remaining -= page.size();
+            if (page.size() < requested) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    static int pageSize(int requested) {
+        return Math.clamp(requested, 1, MAX_PAGE_SIZE);
+    }
+
+    public record NewEntry(UUID cardId, String assignedTo, String note) {
+    }
+
+    public interface Sink {
+
+        void accept(CardAssignmentResponse entry) throws IOException;
+    }
+
+    /**
+     * Position in a card's history: the {@code (assigned_at, id)} of the last entry read.
+     */
+    record Position(Instant assignedAt, long id) {
+
+        String encode() {
+            return KeysetCursor.encode(assignedAt + "/" + id);
+        }
+
+        /**
+         * Returns the position carried by {@code cursor}, or {@code null} for the newest entry.
+         */
+        static Position decode(String cursor) {
+            String key = KeysetCursor.decode(cursor);
+            if (key == null) {
+                return null;
+            }
+            int separator = key.lastIndexOf('/');
+            try {
+                return new Position(Instant.parse(key.substring(0, separator)),
+                        Long.parseLong(key.substring(separator + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException ex) {
+                throw new InvalidCursorException();
+            }
+        }
+    }
+}
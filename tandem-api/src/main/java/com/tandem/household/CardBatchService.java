@@ -0,0 +1,222 @@
+package com.tandem.household;
+
+import static com.tandem.household.HouseholdTables.CARD;
+import static com.tandem.household.HouseholdTables.CARD_ACTIVE;
+import static com.tandem.household.HouseholdTables.CARD_ASSIGNED_AT;
+import static com.tandem.household.HouseholdTables.CARD_CURRENT_OWNER;
+import static com.tandem.household.HouseholdTables.CARD_HOUSEHOLD_ID;
+import static com.tandem.household.HouseholdTables.CARD_ID;
+import static com.tandem.household.HouseholdTables.CARD_TEMPLATE_ID;
+import static com.tandem.household.HouseholdTables.CARD_UPDATED_AT;
+import static com.tandem.household.HouseholdTables.CARD_VERSION;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.param;
+
+import com.tandem.household.dto.CardBatchRequest;
+import com.tandem.household.dto.CardBatchResponse;
+import com.tandem.household.dto.CardOperation;
+import com.tandem.household.dto.CardOperationResult;
+import com.tandem.household.events.HouseholdChange;
+import com.tandem.household.events.HouseholdEvents;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies many card changes of one household in a single transaction. The cards and the
+ * owners' memberships are read with one query each, the card updates go out as one JDBC
+ * batch, and the history, workload counters and change feed are written with one
+ * statement each, however many operations the batch holds.
+ *
+ * <p>Each operation succeeds or is skipped on its own: an operation whose card is missing,
+ * whose version is stale (up front, or by the time its update runs) or whose new owner is
+ * not a member is reported and changes nothing, while the others still commit.
+ */
+@Service
+public class CardBatchService {
+
+    static final String APPLIED = "applied";
+
+    private final DSLContext dsl;
+    private final HouseholdQueries queries;
+    private final CardAssignments assignments;
+    private final WorkloadAggregates workload;
+    private final HouseholdEvents events;
+    private final Clock clock;
+
+    public CardBatchService(DSLContext dsl, HouseholdQueries queries, CardAssignments assignments,
+                            WorkloadAggregates workload, HouseholdEvents events) {
+        this(dsl, queries, assignments, workload, events, Clock.systemUTC());
+    }
+
+    CardBatchService(DSLContext dsl, HouseholdQueries queries, CardAssignments assignments,
+                     WorkloadAggregates workload, HouseholdEvents events, Clock clock) {
+        this.dsl = dsl;
+        this.queries = queries;
+        this.assignments = assignments;
+        this.workload = workload;
+        this.events = events;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public CardBatchResponse apply(String userId, UUID householdId, CardBatchRequest request) {
+        if (!queries.isMember(householdId, userId)) {
+            throw new HouseholdNotFoundException();
+        }
+        List<CardOperation> operations = request.operations();
+        Map<UUID, CardState> cards = load(householdId, operations);
+        Set<String> members = queries.memberIds(householdId, operations.stream()
+                .filter(operation -> operation.type() == CardOperationType.ASSIGN && operation.ownerId() != null)
+                .map(CardOperation::ownerId)
+                .toList());
+        Instant now = clock.instant();
+
+        CardOperationResult[] results = new CardOperationResult[operations.size()];
+        List<Change> changes = new ArrayList<>();
+        Set<UUID> accepted = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            CardOperation operation = operations.get(i);
+            CardState card = cards.get(operation.cardId());
+            String rejection = rejection(operation, card, members, accepted);
+            if (rejection != null) {
+                results[i] = new CardOperationResult(i, operation.cardId(), rejection,
+                        card == null ? null : card.version());
+            } else {
+                accepted.add(card.id());
+                changes.add(Change.of(i, operation, card, now));
+            }
+        }
+
+        int[] updated = update(householdId, changes, now);
+        List<CardAssignments.NewEntry> history = new ArrayList<>();
+        List<WorkloadAggregates.Move> moves = new ArrayList<>();
+        List<HouseholdChange> published = new ArrayList<>();
+        int applied = 0;
+        for (int j = 0; j < changes.size(); j++) {
+            Change change = changes.get(j);
+            CardState card = change.card();
+            if (updated[j] == 0) {
+                // Changed by someone else after it was read; its current version is unknown here
+                results[change.index()] = new CardOperationResult(change.index(), card.id(), "stale_version", null);
+                continue;
+            }
+            long version = card.version() + 1;
+            results[change.index()] = new CardOperationResult(change.index(), card.id(), APPLIED, version);
+            applied++;
+            if (change.reassigns()) {
+                history.add(new CardAssignments.NewEntry(card.id(), change.owner(), change.operation().note()));
+                published.add(new HouseholdChange.CardAssigned(card.id(), change.owner(), card.owner(), userId,
+                        version));
+                if (card.active()) {
+                    moves.add(new WorkloadAggregates.Move(card.templateId(), card.owner(), change.owner()));
+                }
+            } else if (change.active() != card.active()) {
+                published.add(new HouseholdChange.CardActiveChanged(card.id(), change.active(), version));
+                moves.add(new WorkloadAggregates.Move(card.templateId(),
+                        card.active() ? card.owner() : null, change.active() ? card.owner() : null));
+            }
+        }
+        assignments.appendAll(householdId, userId, now, history);
+        workload.moveAll(householdId, moves);
+        events.publishAll(householdId, published);
+        return new CardBatchResponse(applied, results.length - applied, Arrays.asList(results));
+    }
+
+    private Map<UUID, CardState> load(UUID householdId, List<CardOperation> operations) {
+        Set<UUID> ids = new HashSet<>();
+        operations.forEach(operation -> ids.add(operation.cardId()));
+        return dsl.select(CARD_ID, CARD_TEMPLATE_ID, CARD_CURRENT_OWNER, CARD_ACTIVE, CARD_VERSION)
+                .from(CARD)
+                .where(CARD_HOUSEHOLD_ID.eq(householdId))
+                .and(CARD_ID.in(ids))
+                .fetchMap(CARD_ID, r -> new CardState(r.value1(), r.value2(), r.value3(), r.value4(), r.value5()));
+    }
+
+    /**
+     * Returns why the operation cannot be applied, or {@code null}. {@code accepted} holds the
+     * cards already changed by earlier operations of the batch; one change per card is allowed.
+     */
+    private static String rejection(CardOperation operation, CardState card, Set<String> members,
+                                    Set<UUID> accepted) {
+        if (card == null) {
+            return "card_not_found";
+        }
+        if (accepted.contains(card.id())) {
+            return "duplicate_card";
+        }
+        if (card.version() != operation.version()) {
+            return "stale_version";
+        }
+        if (operation.type() == CardOperationType.ASSIGN) {
+            if (operation.ownerId() == null) {
+                return "owner_required";
+            }
+            if (!members.contains(operation.ownerId())) {
+                return "owner_not_member";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs every update as one JDBC batch. Each statement is guarded by the version the
+     * operation was checked against, so its update count tells whether it still applied.
+     */
+    private int[] update(UUID householdId, List<Change> changes, Instant now) {
+        if (changes.isEmpty()) {
+            return new int[0];
+        }
+        // Bound by position: the four SET values, then the three WHERE values
+        BatchBindStep batch = dsl.batch(dsl.update(CARD)
+                .set(CARD_CURRENT_OWNER, param("owner", SQLDataType.VARCHAR))
+                .set(CARD_ASSIGNED_AT, coalesce(param("assignedAt", SQLDataType.INSTANT), CARD_ASSIGNED_AT))
+                .set(CARD_ACTIVE, param("active", SQLDataType.BOOLEAN))
+                .set(CARD_UPDATED_AT, param("updatedAt", SQLDataType.INSTANT))
+                .set(CARD_VERSION, CARD_VERSION.plus(inline(1L)))
+                .where(CARD_ID.eq(param("id", SQLDataType.UUID)))
+                .and(CARD_HOUSEHOLD_ID.eq(param("householdId", SQLDataType.UUID)))
+                .and(CARD_VERSION.eq(param("version", SQLDataType.BIGINT))));
+        for (Change change : changes) {
+            batch.bind(change.owner(), change.assignedAt(), change.active(), now,
+                    change.card().id(), householdId, change.card().version());
+        }
+        return batch.execute();
+    }
+
+    private record CardState(UUID id, String templateId, String owner, boolean active, long version) {
+    }
+
+    /**
+     * The state an accepted operation moves its card to. {@code assignedAt} is {@code null}
+     * when the owner does not change, which keeps the stored value.
+     */
+    private record Change(int index, CardOperation operation, CardState card, String owner, Instant assignedAt,
+                          boolean active) {
+
+        static Change of(int index, CardOperation operation, CardState card, Instant now) {
+            return switch (operation.type()) {
+                case ASSIGN -> new Change(index, operation, card, operation.ownerId(), now, card.active());
+                case UNASSIGN -> new Change(index, operation, card, null, now, card.active());
+                case ACTIVATE -> new Change(index, operation, card, card.owner(), null, true);
+                case DEACTIVATE -> new Change(index, operation, card, card.owner(), null, false);
+            };
+        }
+
+        boolean reassigns() {
+            return assignedAt != null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tandem.household;
+
+public enum CardOperationType {
+    ASSIGN,
+    UNASSIGN,
+    ACTIVATE,
+    DEACTIVATE
+}
@@ -0,0 +1,71 @@
+package com.tandem.household;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Write model for a household. Reads go through {@link HouseholdQueries}.
+ */
+@Entity
+@Table(name = "household")
+public class Household {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, length = 120)
+    private String name;
+
+    @Column(name = "created_by", nullable = false, updatable = false, length = 128)
+    private String createdBy;
+
+    // Null until persisted, which is also how Spring Data tells a new household from a detached one
+    @Version
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected Household() {
+    }
+
+    public Household(String name, String createdBy, Instant now) {
+        this.id = UUID.randomUUID();
+        this.name = name;
+        this.createdBy = createdBy;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tandem.household;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Write model for a card held by a household. Ownership and activation changes are
+ * guarded by {@link #getVersion() version} so two members reassigning the same card
+ * cannot silently overwrite each other. {@code currentOwner} and {@code assignedAt} are
+ * the projection of the latest {@link CardAssignments assignment}; the history itself is
+ * never loaded here.
+ */
+@Entity
+@Table(name = "household_card")
+public class HouseholdCard {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "household_id", nullable = false, updatable = false)
+    private UUID householdId;
+
+    @Column(name = "card_id", nullable = false, updatable = false, length = 64)
+    private String cardId;
+
+    @Column(name = "current_owner", length = 128)
+    private String currentOwner;
+
+    @Column(name = "assigned_at")
+    private Instant assignedAt;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(columnDefinition = "text")
+    private String notes;
+
+    @Version
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected HouseholdCard() {
+    }
+
+    public HouseholdCard(UUID householdId, String cardId, String currentOwner, String notes, Instant now) {
+        this.id = UUID.randomUUID();
+        this.householdId = householdId;
+        this.cardId = cardId;
+        this.currentOwner = currentOwner;
+        this.assignedAt = currentOwner == null ? null : now;
+        this.active = true;
+        this.notes = notes;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public void assignTo(String owner, Instant now) {
+        this.currentOwner = owner;
+        this.assignedAt = now;
+        this.updatedAt = now;
+    }
+
+    public void setActive(boolean active, Instant now) {
+        this.active = active;
+        this.updatedAt = now;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getHouseholdId() {
+        return householdId;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public String getCurrentOwner() {
+        return currentOwner;
+    }
+
+    public Instant getAssignedAt() {
+        return assignedAt;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tandem.household;
+
+public class HouseholdCardNotFoundException extends RuntimeException {
+
+    public HouseholdCardNotFoundException() {
+        super("Card not found in this household", null, false, false);
+    }
+}
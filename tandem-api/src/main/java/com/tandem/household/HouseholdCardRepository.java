@@ -0,0 +1,10 @@
+package com.tandem.household;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface HouseholdCardRepository extends JpaRepository<HouseholdCard, UUID> {
+
+    Optional<HouseholdCard> findByIdAndHouseholdId(UUID id, UUID householdId);
+}
@@ -0,0 +1,19 @@
+package com.tandem.household;
+
+/**
+ * The change conflicts with the current state of the household: a stale card version,
+ * a card the household already holds, or an owner who is not a member.
+ */
+public class HouseholdConflictException extends RuntimeException {
+
+    private final String code;
+
+    public HouseholdConflictException(String code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+}
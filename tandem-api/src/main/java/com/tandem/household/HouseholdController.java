@@ -0,0 +1,175 @@
+package com.tandem.household;
+
+import com.tandem.household.dto.AddCardRequest;
+import com.tandem.household.dto.AddMemberRequest;
+import com.tandem.household.dto.AssignCardRequest;
+import com.tandem.household.dto.CardBatchRequest;
+import com.tandem.household.dto.CardBatchResponse;
+import com.tandem.household.dto.CreateHouseholdRequest;
+import com.tandem.household.dto.HouseholdCardResponse;
+import com.tandem.household.dto.HouseholdResponse;
+import com.tandem.household.dto.HouseholdSummaryResponse;
+import com.tandem.household.dto.MemberResponse;
+import com.tandem.household.dto.PageResponse;
+import com.tandem.household.dto.SetCardActiveRequest;
+import com.tandem.household.dto.WorkloadResponse;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+@RestController
+@RequestMapping("/api/households")
+public class HouseholdController {
+
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final HouseholdService householdService;
+    private final CardBatchService cardBatchService;
+    private final CardAssignments assignments;
+    private final JsonMapper jsonMapper;
+
+    public HouseholdController(HouseholdService householdService, CardBatchService cardBatchService,
+                               CardAssignments assignments, JsonMapper jsonMapper) {
+        this.householdService = householdService;
+        this.cardBatchService = cardBatchService;
+        this.assignments = assignments;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @PostMapping
+    public ResponseEntity<HouseholdResponse> create(@AuthenticationPrincipal Jwt jwt,
+                                                    @Valid @RequestBody CreateHouseholdRequest request) {
+        HouseholdResponse response = householdService.create(jwt.getSubject(), request);
+        return ResponseEntity.created(URI.create("/api/households/" + response.id())).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<PageResponse<HouseholdSummaryResponse>> households(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(householdService.households(jwt.getSubject(), cursor, limit));
+    }
+
+    @GetMapping("/{householdId}")
+    public ResponseEntity<HouseholdResponse> household(@AuthenticationPrincipal Jwt jwt,
+                                                       @PathVariable UUID householdId) {
+        return ResponseEntity.ok(householdService.household(jwt.getSubject(), householdId));
+    }
+
+    @GetMapping("/{householdId}/members")
+    public ResponseEntity<PageResponse<MemberResponse>> members(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID householdId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(householdService.members(jwt.getSubject(), householdId, cursor, limit));
+    }
+
+    @PostMapping("/{householdId}/members")
+    public ResponseEntity<MemberResponse> addMember(@AuthenticationPrincipal Jwt jwt,
+                                                    @PathVariable UUID householdId,
+                                                    @Valid @RequestBody AddMemberRequest request) {
+        MemberResponse response = householdService.addMember(jwt.getSubject(), householdId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{householdId}/cards")
+    public ResponseEntity<PageResponse<HouseholdCardResponse>> cards(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID householdId,
+            @RequestParam(required = false) String owner,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(householdService.cards(jwt.getSubject(), householdId, owner, active, cursor, limit));
+    }
+
+    @PostMapping("/{householdId}/cards")
+    public ResponseEntity<HouseholdCardResponse> addCard(@AuthenticationPrincipal Jwt jwt,
+                                                         @PathVariable UUID householdId,
+                                                         @Valid @RequestBody AddCardRequest request) {
+        HouseholdCardResponse response = householdService.addCard(jwt.getSubject(), householdId, request);
+        return ResponseEntity.created(URI.create("/api/households/" + householdId + "/cards/" + response.id()))
+                .body(response);
+    }
+
+    /**
+     * Applies many assign, unassign, activate and deactivate operations in one transaction.
+     * Each operation is reported on its own; skipped ones do not roll back the rest.
+     */
+    @PostMapping("/{householdId}/cards/batch")
+    public ResponseEntity<CardBatchResponse> batch(@AuthenticationPrincipal Jwt jwt,
+                                                   @PathVariable UUID householdId,
+                                                   @Valid @RequestBody CardBatchRequest request) {
+        return ResponseEntity.ok(cardBatchService.apply(jwt.getSubject(), householdId, request));
+    }
+
+    @GetMapping("/{householdId}/cards/{cardId}")
+    public ResponseEntity<HouseholdCardResponse> card(@AuthenticationPrincipal Jwt jwt,
+                                                      @PathVariable UUID householdId,
+                                                      @PathVariable UUID cardId) {
+        return ResponseEntity.ok(householdService.card(jwt.getSubject(), householdId, cardId));
+    }
+
+    @PutMapping("/{householdId}/cards/{cardId}/owner")
+    public ResponseEntity<HouseholdCardResponse> assignCard(@AuthenticationPrincipal Jwt jwt,
+                                                            @PathVariable UUID householdId,
+                                                            @PathVariable UUID cardId,
+                                                            @Valid @RequestBody AssignCardRequest request) {
+        return ResponseEntity.ok(householdService.assignCard(jwt.getSubject(), householdId, cardId, request));
+    }
+
+    @GetMapping("/{householdId}/workload")
+    public ResponseEntity<WorkloadResponse> workload(@AuthenticationPrincipal Jwt jwt,
+                                                     @PathVariable UUID householdId) {
+        return ResponseEntity.ok(householdService.workload(jwt.getSubject(), householdId));
+    }
+
+    /**
+     * Streams the card's assignment history as newline-delimited JSON, newest first. Each
+     * line carries the cursor to resume after it.
+     */
+    @GetMapping("/{householdId}/cards/{cardId}/history")
+    public ResponseEntity<StreamingResponseBody> history(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID householdId,
+            @PathVariable UUID cardId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "1000") int limit) {
+        householdService.requireCard(jwt.getSubject(), householdId, cardId);
+        // Decoded up front so a bad cursor is a 400 rather than a broken stream
+        CardAssignments.Position after = CardAssignments.Position.decode(cursor);
+        StreamingResponseBody body = out -> assignments.stream(cardId, after, limit, entry -> {
+            out.write(jsonMapper.writeValueAsBytes(entry));
+            out.write(NEWLINE);
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @PutMapping("/{householdId}/cards/{cardId}/active")
+    public ResponseEntity<HouseholdCardResponse> setCardActive(@AuthenticationPrincipal Jwt jwt,
+                                                               @PathVariable UUID householdId,
+                                                               @PathVariable UUID cardId,
+                                                               @Valid @RequestBody SetCardActiveRequest request) {
+        return ResponseEntity.ok(householdService.setCardActive(jwt.getSubject(), householdId, cardId, request));
+    }
+}
@@ -0,0 +1,58 @@
+package com.tandem.household;
+
+import com.tandem.auth.dto.ErrorResponse;
+import com.tandem.household.events.HouseholdEventCapacityException;
+import com.tandem.household.events.HouseholdEventController;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice(assignableTypes = {HouseholdController.class, HouseholdEventController.class})
+public class HouseholdExceptionHandler {
+
+    @ExceptionHandler(HouseholdNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHouseholdNotFound(HouseholdNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, "household_not_found", ex.getMessage());
+    }
+
+    @ExceptionHandler(HouseholdCardNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCardNotFound(HouseholdCardNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, "card_not_found", ex.getMessage());
+    }
+
+    @ExceptionHandler(HouseholdForbiddenException.class)
+    public ResponseEntity<ErrorResponse> handleForbidden(HouseholdForbiddenException ex) {
+        return error(HttpStatus.FORBIDDEN, "household_forbidden", ex.getMessage());
+    }
+
+    @ExceptionHandler(HouseholdConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(HouseholdConflictException ex) {
+        return error(HttpStatus.CONFLICT, ex.code(), ex.getMessage());
+    }
+
+    // The card changed between the version check and the flush
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        HouseholdConflictException conflict = HouseholdService.staleCard();
+        return error(HttpStatus.CONFLICT, conflict.code(), conflict.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        return error(HttpStatus.BAD_REQUEST, "invalid_cursor", ex.getMessage());
+    }
+
+    @ExceptionHandler(HouseholdEventCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleEventCapacity(HouseholdEventCapacityException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse("events_busy", ex.getMessage()));
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String code, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(code, message));
+    }
+}
@@ -0,0 +1,11 @@
+package com.tandem.household;
+
+/**
+ * The caller is a member of the household but its role does not allow the change.
+ */
+public class HouseholdForbiddenException extends RuntimeException {
+
+    public HouseholdForbiddenException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tandem.household;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A user's membership of a household. The key is assigned by the caller, so the entity
+ * reports whether it is new itself; otherwise {@code save} would select before inserting.
+ */
+@Entity
+@Table(name = "household_member")
+public class HouseholdMember implements Persistable<HouseholdMemberId> {
+
+    @EmbeddedId
+    private HouseholdMemberId id;
+
+    @Column(name = "display_name", length = 120)
+    private String displayName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private HouseholdRole role;
+
+    @Column(name = "joined_at", nullable = false, updatable = false)
+    private Instant joinedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected HouseholdMember() {
+    }
+
+    public HouseholdMember(UUID householdId, String userId, String displayName, HouseholdRole role, Instant now) {
+        this.id = new HouseholdMemberId(householdId, userId);
+        this.displayName = displayName;
+        this.role = role;
+        this.joinedAt = now;
+    }
+
+    @Override
+    public HouseholdMemberId getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public HouseholdRole getRole() {
+        return role;
+    }
+
+    public Instant getJoinedAt() {
+        return joinedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tandem.household;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+public class HouseholdMemberId implements Serializable {
+
+    @Column(name = "household_id")
+    private UUID householdId;
+
+    @Column(name = "user_id", length = 128)
+    private String userId;
+
+    protected HouseholdMemberId() {
+    }
+
+    public HouseholdMemberId(UUID householdId, String userId) {
+        this.householdId = householdId;
+        this.userId = userId;
+    }
+
+    public UUID getHouseholdId() {
+        return householdId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HouseholdMemberId other
+                && Objects.equals(householdId, other.householdId)
+                && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(householdId, userId);
+    }
+}
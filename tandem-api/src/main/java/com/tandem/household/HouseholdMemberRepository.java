@@ -0,0 +1,6 @@
+package com.tandem.household;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface HouseholdMemberRepository extends JpaRepository<HouseholdMember, HouseholdMemberId> {
+}
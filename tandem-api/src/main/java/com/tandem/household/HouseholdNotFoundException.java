@@ -0,0 +1,12 @@
+package com.tandem.household;
+
+/**
+ * The household does not exist or the caller is not a member of it. Both cases are
+ * reported the same way so that household ids cannot be probed.
+ */
+public class HouseholdNotFoundException extends RuntimeException {
+
+    public HouseholdNotFoundException() {
+        super("Household not found", null, false, false);
+    }
+}
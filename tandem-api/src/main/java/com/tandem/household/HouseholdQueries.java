@@ -0,0 +1,248 @@
+package com.tandem.household;
+
+import static com.tandem.household.HouseholdTables.CARD;
+import static com.tandem.household.HouseholdTables.CARD_ACTIVE;
+import static com.tandem.household.HouseholdTables.CARD_ASSIGNED_AT;
+import static com.tandem.household.HouseholdTables.CARD_CURRENT_OWNER;
+import static com.tandem.household.HouseholdTables.CARD_HOUSEHOLD_ID;
+import static com.tandem.household.HouseholdTables.CARD_ID;
+import static com.tandem.household.HouseholdTables.CARD_NOTES;
+import static com.tandem.household.HouseholdTables.CARD_TEMPLATE_ID;
+import static com.tandem.household.HouseholdTables.CARD_UPDATED_AT;
+import static com.tandem.household.HouseholdTables.CARD_VERSION;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD_CREATED_AT;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD_CREATED_BY;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD_ID;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD_NAME;
+import static com.tandem.household.HouseholdTables.HOUSEHOLD_UPDATED_AT;
+import static com.tandem.household.HouseholdTables.MEMBER;
+import static com.tandem.household.HouseholdTables.MEMBER_DISPLAY_NAME;
+import static com.tandem.household.HouseholdTables.MEMBER_HOUSEHOLD_ID;
+import static com.tandem.household.HouseholdTables.MEMBER_JOINED_AT;
+import static com.tandem.household.HouseholdTables.MEMBER_ROLE;
+import static com.tandem.household.HouseholdTables.MEMBER_USER_ID;
+import static com.tandem.household.HouseholdTables.TEMPLATE;
+import static com.tandem.household.HouseholdTables.TEMPLATE_CATEGORY;
+import static com.tandem.household.HouseholdTables.TEMPLATE_FREQUENCY;
+import static com.tandem.household.HouseholdTables.TEMPLATE_ICON_NAME;
+import static com.tandem.household.HouseholdTables.TEMPLATE_ID;
+import static com.tandem.household.HouseholdTables.TEMPLATE_NAME;
+import static org.jooq.impl.DSL.noCondition;
+import static org.jooq.impl.DSL.selectCount;
+import static org.jooq.impl.DSL.selectOne;
+
+import com.tandem.household.dto.HouseholdCardResponse;
+import com.tandem.household.dto.HouseholdResponse;
+import com.tandem.household.dto.HouseholdSummaryResponse;
+import com.tandem.household.dto.MemberResponse;
+import com.tandem.household.dto.PageResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SelectFieldOrAsterisk;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read side of the household API. Every list is a keyset page ordered by a unique key and
+ * served by one statement: card pages join their templates instead of loading them per
+ * card, and the household_card side of a page is read from the covering indexes.
+ */
+@Repository
+public class HouseholdQueries {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Field<Integer> MEMBER_COUNT = selectCount()
+            .from(MEMBER)
+            .where(MEMBER_HOUSEHOLD_ID.eq(HOUSEHOLD_ID))
+            .asField("member_count");
+    private static final Field<Integer> ACTIVE_CARD_COUNT = selectCount()
+            .from(CARD)
+            .where(CARD_HOUSEHOLD_ID.eq(HOUSEHOLD_ID).and(CARD_ACTIVE.isTrue()))
+            .asField("active_card_count");
+
+    private final DSLContext dsl;
+
+    public HouseholdQueries(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public Optional<HouseholdRole> role(UUID householdId, String userId) {
+        return dsl.select(MEMBER_ROLE)
+                .from(MEMBER)
+                .where(MEMBER_HOUSEHOLD_ID.eq(householdId).and(MEMBER_USER_ID.eq(userId)))
+                .fetchOptional(MEMBER_ROLE)
+                .map(HouseholdRole::valueOf);
+    }
+
+    public boolean isMember(UUID householdId, String userId) {
+        return dsl.fetchExists(selectOne()
+                .from(MEMBER)
+                .where(MEMBER_HOUSEHOLD_ID.eq(householdId).and(MEMBER_USER_ID.eq(userId))));
+    }
+
+    /**
+     * Returns those of {@code userIds} that are members of the household.
+     */
+    public Set<String> memberIds(UUID householdId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return dsl.select(MEMBER_USER_ID)
+                .from(MEMBER)
+                .where(MEMBER_HOUSEHOLD_ID.eq(householdId).and(MEMBER_USER_ID.in(userIds)))
+                .fetchSet(MEMBER_USER_ID);
+    }
+
+    public boolean templateExists(String cardId) {
+        return dsl.fetchExists(selectOne().from(TEMPLATE).where(TEMPLATE_ID.eq(cardId)));
+    }
+
+    public PageResponse<HouseholdSummaryResponse> households(String userId, String cursor, int limit) {
+        String after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        List<HouseholdSummaryResponse> rows = dsl
+                .select(HOUSEHOLD_ID, HOUSEHOLD_NAME, MEMBER_ROLE, HOUSEHOLD_UPDATED_AT)
+                .from(MEMBER)
+                .join(HOUSEHOLD).on(HOUSEHOLD_ID.eq(MEMBER_HOUSEHOLD_ID))
+                .where(MEMBER_USER_ID.eq(userId))
+                .and(after == null ? noCondition() : MEMBER_HOUSEHOLD_ID.gt(parseUuid(after)))
+                .orderBy(MEMBER_HOUSEHOLD_ID)
+                .limit(pageSize + 1)
+                .fetch(row -> new HouseholdSummaryResponse(
+                        row.get(HOUSEHOLD_ID),
+                        row.get(HOUSEHOLD_NAME),
+                        HouseholdRole.valueOf(row.get(MEMBER_ROLE)),
+                        row.get(HOUSEHOLD_UPDATED_AT)));
+        return page(rows, pageSize, household -> household.id().toString());
+    }
+
+    public Optional<HouseholdResponse> household(UUID householdId) {
+        return dsl.select(HOUSEHOLD_ID, HOUSEHOLD_NAME, HOUSEHOLD_CREATED_BY, MEMBER_COUNT, ACTIVE_CARD_COUNT,
+                        HOUSEHOLD_CREATED_AT, HOUSEHOLD_UPDATED_AT)
+                .from(HOUSEHOLD)
+                .where(HOUSEHOLD_ID.eq(householdId))
+                .fetchOptional(row -> new HouseholdResponse(
+                        row.get(HOUSEHOLD_ID),
+                        row.get(HOUSEHOLD_NAME),
+                        row.get(HOUSEHOLD_CREATED_BY),
+                        row.get(MEMBER_COUNT),
+                        row.get(ACTIVE_CARD_COUNT),
+                        row.get(HOUSEHOLD_CREATED_AT),
+                        row.get(HOUSEHOLD_UPDATED_AT)));
+    }
+
+    public PageResponse<MemberResponse> members(UUID householdId, String cursor, int limit) {
+        String after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        List<MemberResponse> rows = dsl
+                .select(MEMBER_USER_ID, MEMBER_DISPLAY_NAME, MEMBER_ROLE, MEMBER_JOINED_AT)
+                .from(MEMBER)
+                .where(MEMBER_HOUSEHOLD_ID.eq(householdId))
+                .and(after == null ? noCondition() : MEMBER_USER_ID.gt(after))
+                .orderBy(MEMBER_USER_ID)
+                .limit(pageSize + 1)
+                .fetch(row -> new MemberResponse(
+                        row.get(MEMBER_USER_ID),
+                        row.get(MEMBER_DISPLAY_NAME),
+                        HouseholdRole.valueOf(row.get(MEMBER_ROLE)),
+                        row.get(MEMBER_JOINED_AT)));
+        return page(rows, pageSize, MemberResponse::userId);
+    }
+
+    /**
+     * Pages through a household's cards in id order, optionally only those held by
+     * {@code owner} and/or with the given active flag. With an owner the seek runs on
+     * {@code (household_id, current_owner, id)}, otherwise on {@code (household_id, id)}.
+     */
+    public PageResponse<HouseholdCardResponse> cards(UUID householdId, String owner, Boolean active,
+                                                     String cursor, int limit) {
+        String after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        Condition condition = CARD_HOUSEHOLD_ID.eq(householdId)
+                .and(owner == null ? noCondition() : CARD_CURRENT_OWNER.eq(owner))
+                .and(active == null ? noCondition() : CARD_ACTIVE.eq(active))
+                .and(after == null ? noCondition() : CARD_ID.gt(parseUuid(after)));
+        List<HouseholdCardResponse> rows = dsl
+                .select(cardFields(false))
+                .from(CARD)
+                .join(TEMPLATE).on(TEMPLATE_ID.eq(CARD_TEMPLATE_ID))
+                .where(condition)
+                .orderBy(CARD_ID)
+                .limit(pageSize + 1)
+                .fetch(row -> toCard(row, false));
+        return page(rows, pageSize, card -> card.id().toString());
+    }
+
+    public boolean cardExists(UUID householdId, UUID cardId) {
+        return dsl.fetchExists(selectOne()
+                .from(CARD)
+                .where(CARD_HOUSEHOLD_ID.eq(householdId).and(CARD_ID.eq(cardId))));
+    }
+
+    public Optional<HouseholdCardResponse> card(UUID householdId, UUID cardId) {
+        return dsl.select(cardFields(true))
+                .from(CARD)
+                .join(TEMPLATE).on(TEMPLATE_ID.eq(CARD_TEMPLATE_ID))
+                .where(CARD_HOUSEHOLD_ID.eq(householdId).and(CARD_ID.eq(cardId)))
+                .fetchOptional(row -> toCard(row, true));
+    }
+
+    private static List<SelectFieldOrAsterisk> cardFields(boolean withNotes) {
+        List<SelectFieldOrAsterisk> fields = new ArrayList<>(List.of(
+                CARD_ID, CARD_TEMPLATE_ID, TEMPLATE_NAME, TEMPLATE_CATEGORY, TEMPLATE_FREQUENCY, TEMPLATE_ICON_NAME,
+                CARD_CURRENT_OWNER, CARD_ASSIGNED_AT, CARD_ACTIVE, CARD_VERSION, CARD_UPDATED_AT));
+        if (withNotes) {
+            fields.add(CARD_NOTES);
+        }
+        return fields;
+    }
+
+    private static HouseholdCardResponse toCard(Record row, boolean withNotes) {
+        return new HouseholdCardResponse(
+                row.get(CARD_ID),
+                row.get(CARD_TEMPLATE_ID),
+                row.get(TEMPLATE_NAME),
+                row.get(TEMPLATE_CATEGORY),
+                row.get(TEMPLATE_FREQUENCY),
+                row.get(TEMPLATE_ICON_NAME),
+                row.get(CARD_CURRENT_OWNER),
+                row.get(CARD_ASSIGNED_AT),
+                row.get(CARD_ACTIVE),
+                withNotes ? row.get(CARD_NOTES) : null,
+                row.get(CARD_VERSION),
+                row.get(CARD_UPDATED_AT));
+    }
+
+    /**
+     * Trims the look-ahead row fetched to detect a following page and derives its cursor.
+     */
+    private static <T> PageResponse<T> page(List<T> rows, int pageSize, Function<T, String> key) {
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageResponse<>(List.copyOf(items), KeysetCursor.encode(key.apply(items.get(pageSize - 1))));
+    }
+
+    static int pageSize(int requested) {
+        return Math.clamp(requested, 1, MAX_PAGE_SIZE);
+    }
+
+    private static UUID parseUuid(String key) {
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.tandem.household;
+
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface HouseholdRepository extends JpaRepository<Household, UUID> {
+}
@@ -0,0 +1,6 @@
+package com.tandem.household;
+
+public enum HouseholdRole {
+    OWNER,
+    MEMBER
+}
@@ -0,0 +1,260 @@
+package com.tandem.household;
+
+import com.tandem.household.dto.AddCardRequest;
+import com.tandem.household.dto.AddMemberRequest;
+import com.tandem.household.dto.AssignCardRequest;
+import com.tandem.household.dto.CreateHouseholdRequest;
+import com.tandem.household.dto.HouseholdCardResponse;
+import com.tandem.household.dto.HouseholdResponse;
+import com.tandem.household.dto.HouseholdSummaryResponse;
+import com.tandem.household.dto.MemberResponse;
+import com.tandem.household.dto.PageResponse;
+import com.tandem.household.dto.SetCardActiveRequest;
+import com.tandem.household.dto.WorkloadResponse;
+import com.tandem.household.events.HouseholdChange;
+import com.tandem.household.events.HouseholdEvents;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Household use cases for an authenticated user, identified by their Auth0 subject.
+ * Writes go through JPA; reads and membership checks go through {@link HouseholdQueries}.
+ * Card changes append to the {@link CardAssignments assignment history} and adjust the
+ * {@link WorkloadAggregates workload counters} in the same transaction. Every change is also
+ * published to the household's {@link HouseholdEvents change feed}, which subscribers only
+ * see once the transaction commits.
+ */
+@Service
+public class HouseholdService {
+
+    private final HouseholdRepository households;
+    private final HouseholdMemberRepository members;
+    private final HouseholdCardRepository cards;
+    private final HouseholdQueries queries;
+    private final CardAssignments assignments;
+    private final WorkloadAggregates workload;
+    private final HouseholdEvents events;
+    private final Clock clock;
+
+    public HouseholdService(HouseholdRepository households, HouseholdMemberRepository members,
+                            HouseholdCardRepository cards, HouseholdQueries queries, CardAssignments assignments,
+                            WorkloadAggregates workload, HouseholdEvents events) {
+        this(households, members, cards, queries, assignments, workload, events, Clock.systemUTC());
+    }
+
+    HouseholdService(HouseholdRepository households, HouseholdMemberRepository members,
+                     HouseholdCardRepository cards, HouseholdQueries queries, CardAssignments assignments,
+                     WorkloadAggregates workload, HouseholdEvents events, Clock clock) {
+        this.households = households;
+        this.members = members;
+        this.cards = cards;
+        this.queries = queries;
+        this.assignments = assignments;
+        this.workload = workload;
+        this.events = events;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public HouseholdResponse create(String userId, CreateHouseholdRequest request) {
+        Instant now = clock.instant();
+        Household household = households.save(new Household(request.name().strip(), userId, now));
+        members.save(new HouseholdMember(household.getId(), userId, request.displayName(), HouseholdRole.OWNER, now));
+        return new HouseholdResponse(household.getId(), household.getName(), userId, 1, 0, now, now);
+    }
+
+    public PageResponse<HouseholdSummaryResponse> households(String userId, String cursor, int limit) {
+        return queries.households(userId, cursor, limit);
+    }
+
+    public HouseholdResponse household(String userId, UUID householdId) {
+        requireMember(householdId, userId);
+        return queries.household(householdId).orElseThrow(HouseholdNotFoundException::new);
+    }
+
+    public PageResponse<MemberResponse> members(String userId, UUID householdId, String cursor, int limit) {
+        requireMember(householdId, userId);
+        return queries.members(householdId, cursor, limit);
+    }
+
+    @Transactional
+    public MemberResponse addMember(String userId, UUID householdId, AddMemberRequest request) {
+        HouseholdRole callerRole = queries.role(householdId, userId).orElseThrow(HouseholdNotFoundException::new);
+        if (callerRole != HouseholdRole.OWNER) {
+            throw new HouseholdForbiddenException("Only household owners can add members");
+        }
+        HouseholdRole role = request.role() == null ? HouseholdRole.MEMBER : request.role();
+        HouseholdMember member = new HouseholdMember(householdId, request.userId(), request.displayName(), role,
+                clock.instant());
+        try {
+            members.saveAndFlush(member);
+        } catch (DataIntegrityViolationException ex) {
+            throw new HouseholdConflictException("already_member", "User is already a member of this household");
+        }
+        events.publish(householdId, new HouseholdChange.MemberAdded(request.userId(), role));
+        return new MemberResponse(request.userId(), member.getDisplayName(), role, member.getJoinedAt());
+    }
+
+    public PageResponse<HouseholdCardResponse> cards(String userId, UUID householdId, String owner, Boolean active,
+                                                     String cursor, int limit) {
+        requireMember(householdId, userId);
+        return queries.cards(householdId, owner, active, cursor, limit);
+    }
+
+    public HouseholdCardResponse card(String userId, UUID householdId, UUID cardId) {
+        requireMember(householdId, userId);
+        return queries.card(householdId, cardId).orElseThrow(HouseholdCardNotFoundException::new);
+    }
+
+    @Transactional
+    public HouseholdCardResponse addCard(String userId, UUID householdId, AddCardRequest request) {
+        requireMember(householdId, userId);
+        if (!queries.templateExists(request.cardId())) {
+            throw new HouseholdConflictException("unknown_card", "Unknown card " + request.cardId());
+        }
+        requireOwnerIsMember(householdId, request.currentOwner());
+        Instant now = clock.instant();
+        HouseholdCard card = new HouseholdCard(householdId, request.cardId(), request.currentOwner(), request.notes(),
+                now);
+        try {
+            cards.saveAndFlush(card);
+        } catch (DataIntegrityViolationException ex) {
+            throw new HouseholdConflictException("card_exists", "The household already holds this card");
+        }
+        if (request.currentOwner() != null) {
+            assignments.append(householdId, card.getId(), request.currentOwner(), userId, null, now);
+            workload.move(householdId, card.getCardId(), null, request.currentOwner());
+        }
+        events.publish(householdId, new HouseholdChange.CardAdded(card.getId(), card.getCardId(),
+                request.currentOwner(), card.getVersion()));
+        return queries.card(householdId, card.getId()).orElseThrow(HouseholdCardNotFoundException::new);
+    }
+
+    @Transactional
+    public HouseholdCardResponse assignCard(String userId, UUID householdId, UUID cardId, AssignCardRequest request) {
+        requireMember(householdId, userId);
+        requireOwnerIsMember(householdId, request.ownerId());
+        HouseholdCard card = loadCurrent(householdId, cardId, request.version());
+        String previousOwner = card.getCurrentOwner();
+        Instant now = clock.instant();
+        card.assignTo(request.ownerId(), now);
+        cards.flush();
+        // Flushed first: a stale version fails before anything is appended or counted
+        assignments.append(householdId, cardId, request.ownerId(), userId, request.note(), now);
+        if (card.isActive()) {
+            workload.move(householdId, card.getCardId(), previousOwner, request.ownerId());
+        }
+        events.publish(householdId, new HouseholdChange.CardAssigned(cardId, request.ownerId(), previousOwner, userId,
+                card.getVersion()));
+        return queries.card(householdId, cardId).orElseThrow(HouseholdCardNotFoundException::new);
+    }
+
+    /**
+     * Summarises the household's maintained workload counters. The cost depends on the
+     * number of members, categories and frequencies, not on the number of cards.
+     */
+    public WorkloadResponse workload(String userId, UUID householdId) {
+        requireMember(householdId, userId);
+        Map<String, MemberWorkloadBuilder> byMember = new LinkedHashMap<>();
+        for (WorkloadAggregates.Row row : workload.summary(householdId)) {
+            byMember.computeIfAbsent(row.memberId(), MemberWorkloadBuilder::new).add(row);
+        }
+        return new WorkloadResponse(householdId, byMember.values().stream()
+                .map(MemberWorkloadBuilder::build)
+                .toList());
+    }
+
+    /**
+     * Checks that the caller may follow the household's change feed.
+     */
+    public void requireHousehold(String userId, UUID householdId) {
+        requireMember(householdId, userId);
+    }
+
+    /**
+     * Checks that the caller may read the card's history; the history itself is streamed by
+     * {@link CardAssignments#stream}.
+     */
+    public void requireCard(String userId, UUID householdId, UUID cardId) {
+        requireMember(householdId, userId);
+        if (!queries.cardExists(householdId, cardId)) {
+            throw new HouseholdCardNotFoundException();
+        }
+    }
+
+    @Transactional
+    public HouseholdCardResponse setCardActive(String userId, UUID householdId, UUID cardId,
+                                               SetCardActiveRequest request) {
+        requireMember(householdId, userId);
+        HouseholdCard card = loadCurrent(householdId, cardId, request.version());
+        boolean wasActive = card.isActive();
+        card.setActive(request.active(), clock.instant());
+        cards.flush();
+        if (wasActive != card.isActive()) {
+            String owner = card.getCurrentOwner();
+            workload.move(householdId, card.getCardId(), wasActive ? owner : null, wasActive ? null : owner);
+            events.publish(householdId, new HouseholdChange.CardActiveChanged(cardId, card.isActive(),
+                    card.getVersion()));
+        }
+        return queries.card(householdId, cardId).orElseThrow(HouseholdCardNotFoundException::new);
+    }
+
+    /**
+     * Loads a card for update, rejecting the change up front when the caller's version is
+     * already stale. A concurrent update that lands after this check still fails the
+     * {@code @Version} guard at flush time.
+     */
+    private HouseholdCard loadCurrent(UUID householdId, UUID cardId, long expectedVersion) {
+        HouseholdCard card = cards.findByIdAndHouseholdId(cardId, householdId)
+                .orElseThrow(HouseholdCardNotFoundException::new);
+        if (card.getVersion() != expectedVersion) {
+            throw staleCard();
+        }
+        return card;
+    }
+
+    private void requireMember(UUID householdId, String userId) {
+        if (!queries.isMember(householdId, userId)) {
+            throw new HouseholdNotFoundException();
+        }
+    }
+
+    private void requireOwnerIsMember(UUID householdId, String owner) {
+        if (owner != null && !queries.isMember(householdId, owner)) {
+            throw new HouseholdConflictException("owner_not_member", "Card owner must be a household member");
+        }
+    }
+
+    private static final class MemberWorkloadBuilder {
+
+        private final String memberId;
+        private final Map<String, Integer> byCategory = new TreeMap<>();
+        private final Map<String, Integer> byFrequency = new TreeMap<>();
+        private int total;
+
+        MemberWorkloadBuilder(String memberId) {
+            this.memberId = memberId;
+        }
+
+        void add(WorkloadAggregates.Row row) {
+            byCategory.merge(row.category(), row.cardCount(), Integer::sum);
+            byFrequency.merge(row.frequency(), row.cardCount(), Integer::sum);
+            total += row.cardCount();
+        }
+
+        WorkloadResponse.MemberWorkload build() {
+            return new WorkloadResponse.MemberWorkload(memberId, total, byCategory, byFrequency);
+        }
+    }
+
+    static HouseholdConflictException staleCard() {
+        return new HouseholdConflictException("stale_version", "The card was changed by someone else");
+    }
+}
@@ -0,0 +1,68 @@
+package com.tandem.household;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.table;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.SQLDataType;
+
+/**
+ * Hand-written jOOQ references to the household schema (see {@code db/migration}).
+ * The schema is small and owned by Flyway, so there is no code generation step.
+ */
+final class HouseholdTables {
+
+    static final Table<?> HOUSEHOLD = table(name("household"));
+    static final Field<UUID> HOUSEHOLD_ID = field(name("household", "id"), SQLDataType.UUID);
+    static final Field<String> HOUSEHOLD_NAME = field(name("household", "name"), SQLDataType.VARCHAR);
+    static final Field<String> HOUSEHOLD_CREATED_BY = field(name("household", "created_by"), SQLDataType.VARCHAR);
+    static final Field<Long> HOUSEHOLD_VERSION = field(name("household", "version"), SQLDataType.BIGINT);
+    static final Field<Instant> HOUSEHOLD_CREATED_AT = field(name("household", "created_at"), SQLDataType.INSTANT);
+    static final Field<Instant> HOUSEHOLD_UPDATED_AT = field(name("household", "updated_at"), SQLDataType.INSTANT);
+
+    static final Table<?> MEMBER = table(name("household_member"));
+    static final Field<UUID> MEMBER_HOUSEHOLD_ID = field(name("household_member", "household_id"), SQLDataType.UUID);
+    static final Field<String> MEMBER_USER_ID = field(name("household_member", "user_id"), SQLDataType.VARCHAR);
+    static final Field<String> MEMBER_DISPLAY_NAME = field(name("household_member", "display_name"), SQLDataType.VARCHAR);
+    static final Field<String> MEMBER_ROLE = field(name("household_member", "role"), SQLDataType.VARCHAR);
+    static final Field<Instant> MEMBER_JOINED_AT = field(name("household_member", "joined_at"), SQLDataType.INSTANT);
+
+    static final Table<?> CARD = table(name("household_card"));
+    static final Field<UUID> CARD_ID = field(name("household_card", "id"), SQLDataType.UUID);
+    static final Field<UUID> CARD_HOUSEHOLD_ID = field(name("household_card", "household_id"), SQLDataType.UUID);
+    static final Field<String> CARD_TEMPLATE_ID = field(name("household_card", "card_id"), SQLDataType.VARCHAR);
+    static final Field<String> CARD_CURRENT_OWNER = field(name("household_card", "current_owner"), SQLDataType.VARCHAR);
+    static final Field<Instant> CARD_ASSIGNED_AT = field(name("household_card", "assigned_at"), SQLDataType.INSTANT);
+    static final Field<Boolean> CARD_ACTIVE = field(name("household_card", "active"), SQLDataType.BOOLEAN);
+    static final Field<String> CARD_NOTES = field(name("household_card", "notes"), SQLDataType.CLOB);
+    static final Field<Long> CARD_VERSION = field(name("household_card", "version"), SQLDataType.BIGINT);
+    static final Field<Instant> CARD_UPDATED_AT = field(name("household_card", "updated_at"), SQLDataType.INSTANT);
+
+    static final Table<?> ASSIGNMENT = table(name("card_assignment"));
+    static final Field<Long> ASSIGNMENT_ID = field(name("card_assignment", "id"), SQLDataType.BIGINT);
+    static final Field<UUID> ASSIGNMENT_CARD_ID =
+            field(name("card_assignment", "household_card_id"), SQLDataType.UUID);
+    static final Field<UUID> ASSIGNMENT_HOUSEHOLD_ID =
+            field(name("card_assignment", "household_id"), SQLDataType.UUID);
+    static final Field<String> ASSIGNMENT_ASSIGNED_TO =
+            field(name("card_assignment", "assigned_to"), SQLDataType.VARCHAR);
+    static final Field<String> ASSIGNMENT_ASSIGNED_BY =
+            field(name("card_assignment", "assigned_by"), SQLDataType.VARCHAR);
+    static final Field<String> ASSIGNMENT_NOTE = field(name("card_assignment", "note"), SQLDataType.CLOB);
+    static final Field<Instant> ASSIGNMENT_ASSIGNED_AT =
+            field(name("card_assignment", "assigned_at"), SQLDataType.INSTANT);
+
+    static final Table<?> TEMPLATE = table(name("card_template"));
+    static final Field<String> TEMPLATE_ID = field(name("card_template", "id"), SQLDataType.VARCHAR);
+    static final Field<String> TEMPLATE_NAME = field(name("card_template", "name"), SQLDataType.VARCHAR);
+    static final Field<String> TEMPLATE_CATEGORY = field(name("card_template", "category"), SQLDataType.VARCHAR);
+    static final Field<String> TEMPLATE_FREQUENCY = field(name("card_template", "frequency"), SQLDataType.VARCHAR);
+    static final Field<String> TEMPLATE_ICON_NAME = field(name("card_template", "icon_name"), SQLDataType.VARCHAR);
+
+    private HouseholdTables() {
+    }
+}
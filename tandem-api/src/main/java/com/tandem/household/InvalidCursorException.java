@@ -0,0 +1,12 @@
+package com.tandem.household;
+
+/**
+ * A page cursor could not be decoded. Cursors are opaque to clients, so this is always
+ * a client error and no stack trace is captured.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid page cursor", null, false, false);
+    }
+}
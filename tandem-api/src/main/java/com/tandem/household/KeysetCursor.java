@@ -0,0 +1,36 @@
+package com.tandem.household;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors for keyset pagination. A cursor carries the sort key of the last
+ * row of a page; the next page seeks past it instead of using an {@code OFFSET}, so a
+ * page costs the same however deep into the list it is.
+ */
+final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    static String encode(String lastKey) {
+        return ENCODER.encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort key carried by {@code cursor}, or {@code null} for the first page.
+     */
+    static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.tandem.household;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-member counters of active cards by category and frequency ({@code household_workload}).
+ * Callers apply a {@link #move move} in the same transaction as the card change, so the
+ * counters commit or roll back with it; {@link #rebuild} recomputes them from the cards.
+ */
+@Repository
+public class WorkloadAggregates {
+
+    private static final String ACTUAL = """
+            SELECT hc.household_id, hc.current_owner AS member_id, ct.category, ct.frequency,
+                   count(*)::int AS card_count
+            FROM household_card hc
+            JOIN card_template ct ON ct.id = hc.card_id
+            WHERE hc.household_id IN (:householdIds) AND hc.active AND hc.current_owner IS NOT NULL
+            GROUP BY hc.household_id, hc.current_owner, ct.category, ct.frequency
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    public WorkloadAggregates(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public record Row(String memberId, String category, String frequency, int cardCount) {
+    }
+
+    /**
+     * A card of template {@code cardTemplateId} moving from member {@code from} to {@code to};
+     * see {@link #move}.
+     */
+    public record Move(String cardTemplateId, String from, String to) {
+    }
+
+    /**
+     * Moves one card's weight from member {@code from} to member {@code to}, where {@code null}
+     * means the card is not counted (unassigned or inactive). Touches at most two counter rows.
+     */
+    public void move(UUID householdId, String cardTemplateId, String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>(2);
+        if (from != null) {
+            deltas.add(new Delta(from, -1));
+        }
+        if (to != null) {
+            deltas.add(new Delta(to, 1));
+        }
+        // Same lock order in every transaction, so opposite moves between two members cannot deadlock
+        deltas.sort(Comparator.comparing(Delta::memberId));
+        for (Delta delta : deltas) {
+            jdbcClient.sql("""
+                            INSERT INTO household_workload (household_id, member_id, category, frequency, card_count)
+                            SELECT :householdId, :memberId, category, frequency, :delta
+                            FROM card_template
+                            WHERE id = :cardTemplateId
+                            ON CONFLICT (household_id, member_id, category, frequency)
+                            DO UPDATE SET card_count = household_workload.card_count + EXCLUDED.card_count
+                            """)
+                    .param("householdId", householdId)
+                    .param("memberId", delta.memberId())
+                    .param("delta", delta.amount())
+                    .param("cardTemplateId", cardTemplateId)
+                    .update();
+        }
+    }
+
+    /**
+     * Applies several {@link #move moves} in one statement. Deltas landing on the same
+     * counter are summed first, and counters are locked in one fixed order.
+     */
+    public void moveAll(UUID householdId, List<Move> moves) {
+        List<String> memberIds = new ArrayList<>();
+        List<String> cardTemplateIds = new ArrayList<>();
+        List<Integer> deltas = new ArrayList<>();
+        for (Move move : moves) {
+            if (Objects.equals(move.from(), move.to())) {
+                continue;
+            }
+            if (move.from() != null) {
+                memberIds.add(move.from());
+                cardTemplateIds.add(move.cardTemplateId());
+                deltas.add(-1);
+            }
+            if (move.to() != null) {
+                memberIds.add(move.to());
+                cardTemplateIds.add(move.cardTemplateId());
+                deltas.add(1);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcClient.sql("""
+                        INSERT INTO household_workload (household_id, member_id, category, frequency, card_count)
+                        SELECT :householdId, d.member_id, ct.category, ct.frequency, sum(d.delta)::int
+                        FROM unnest(:memberIds::text[], :cardTemplateIds::text[], :deltas::int[])
+                             AS d(member_id, card_id, delta)
+                        JOIN card_template ct ON ct.id = d.card_id
+                        GROUP BY d.member_id, ct.category, ct.frequency
+                        ORDER BY d.member_id, ct.category, ct.frequency
+                        ON CONFLICT (household_id, member_id, category, frequency)
+                        DO UPDATE SET card_count = household_workload.card_count + EXCLUDED.card_count
+                        """)
+                .param("householdId", householdId)
+                .param("memberIds", memberIds.toArray(String[]::new))
+                .param("cardTemplateIds", cardTemplateIds.toArray(String[]::new))
+                .param("deltas", deltas.toArray(Integer[]::new))
+                .update();
+    }
+
+    public List<Row> summary(UUID householdId) {
+        return jdbcClient.sql("""
+                        SELECT member_id, category, frequency, card_count
+                        FROM household_workload
+                        WHERE household_id = :householdId AND card_count <> 0
+                        ORDER BY member_id, category, frequency
+                        """)
+                .param("householdId", householdId)
+                .query((rs, rowNum) -> new Row(
+                        rs.getString("member_id"),
+                        rs.getString("category"),
+                        rs.getString("frequency"),
+                        rs.getInt("card_count")))
+                .list();
+    }
+
+    /**
+     * Returns the ids of up to {@code batchSize} households after {@code after}, in id order.
+     */
+    public List<UUID> households(UUID after, int batchSize) {
+        return jdbcClient.sql("""
+                        SELECT id FROM household
+                        WHERE :after::uuid IS NULL OR id > :after::uuid
+                        ORDER BY id
+                        LIMIT :batchSize
+                        """)
+                .param("after", after)
+                .param("batchSize", batchSize)
+                .query(UUID.class)
+                .list();
+    }
+
+    /**
+     * Returns those of {@code householdIds} whose counters differ from a recount of their cards.
+     */
+    public List<UUID> drifted(List<UUID> householdIds) {
+        if (householdIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcClient.sql("""
+                        WITH actual AS (%s),
+                             stored AS (
+                                 SELECT household_id, member_id, category, frequency, card_count
+                                 FROM household_workload
+                                 WHERE household_id IN (:householdIds) AND card_count <> 0
+                             )
+                        SELECT DISTINCT household_id
+                        FROM actual a
+                        FULL JOIN stored s USING (household_id, member_id, category, frequency)
+                        WHERE a.card_count IS DISTINCT FROM s.card_count
+                        """.formatted(ACTUAL))
+                .param("householdIds", householdIds)
+                .query(UUID.class)
+                .list();
+    }
+
+    /**
+     * Recomputes a household's counters from its cards. The household's card rows are locked
+     * first, so no card change can interleave with the recount.
+     */
+    @Transactional
+    public void rebuild(UUID householdId) {
+        jdbcClient.sql("SELECT id FROM household_card WHERE household_id = :householdId FOR UPDATE")
+                .param("householdId", householdId)
+                .query(UUID.class)
+                .list();
+        jdbcClient.sql("DELETE FROM household_workload WHERE household_id = :householdId")
+                .param("householdId", householdId)
+                .update();
+        jdbcClient.sql("""
+                        INSERT INTO household_workload (household_id, member_id, category, frequency, card_count)
+                        """ + ACTUAL)
+                .param("householdIds", List.of(householdId))
+                .update();
+    }
+
+    private record Delta(String memberId, int amount) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.tandem.household;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recounts every household's cards and rebuilds the workload counters of the
+ * households that drifted, e.g. after a manual data fix. Rebuilds are counted as
+ * {@code household.workload.rebuilds}; outside such fixes the count should stay at zero.
+ */
+@Component
+public class WorkloadVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadVerifier.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    private final WorkloadAggregates aggregates;
+    private final Counter rebuilds;
+
+    public WorkloadVerifier(WorkloadAggregates aggregates, MeterRegistry meterRegistry) {
+        this.aggregates = aggregates;
+        this.rebuilds = meterRegistry.counter("household.workload.rebuilds");
+    }
+
+    @Scheduled(fixedDelayString = "${tandem.workload.verify-interval:6h}", initialDelayString = "5m")
+    public void verify() {
+        UUID after = null;
+        List<UUID> batch;
+        do {
+            batch = aggregates.households(after, BATCH_SIZE);
+            for (UUID householdId : aggregates.drifted(batch)) {
+                log.warn("Workload counters of household {} drifted from its cards; rebuilding", householdId);
+                aggregates.rebuild(householdId);
+                rebuilds.increment();
+            }
+            if (!batch.isEmpty()) {
+                after = batch.getLast();
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+}
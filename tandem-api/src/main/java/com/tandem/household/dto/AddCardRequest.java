@@ -0,0 +1,16 @@
+package com.tandem.household.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record AddCardRequest(
+        @NotBlank(message = "Card id is required")
+        @Size(max = 64, message = "Card id must be at most 64 characters")
+        String cardId,
+
+        String currentOwner,
+
+        @Size(max = 4000, message = "Notes must be at most 4000 characters")
+        String notes
+) {
+}
@@ -0,0 +1,17 @@
+package com.tandem.household.dto;
+
+import com.tandem.household.HouseholdRole;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record AddMemberRequest(
+        @NotBlank(message = "User id is required")
+        @Size(max = 128, message = "User id must be at most 128 characters")
+        String userId,
+
+        @Size(max = 120, message = "Display name must be at most 120 characters")
+        String displayName,
+
+        HouseholdRole role
+) {
+}
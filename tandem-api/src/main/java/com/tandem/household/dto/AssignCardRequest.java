@@ -0,0 +1,19 @@
+package com.tandem.household.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Reassigns a card. A {@code null} owner leaves the card unassigned; {@code version} is
+ * the card version the caller last saw. The optional note is kept in the card's history.
+ */
+public record AssignCardRequest(
+        String ownerId,
+
+        @NotNull(message = "Version is required")
+        Long version,
+
+        @Size(max = 1000, message = "Note must be at most 1000 characters")
+        String note
+) {
+}
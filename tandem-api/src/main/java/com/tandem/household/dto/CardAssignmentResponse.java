@@ -0,0 +1,17 @@
+package com.tandem.household.dto;
+
+import java.time.Instant;
+
+/**
+ * One line of a card's assignment history. {@code cursor} resumes the history after this
+ * entry, so a client can continue an interrupted stream from the last line it received.
+ */
+public record CardAssignmentResponse(
+        long id,
+        String assignedTo,
+        String assignedBy,
+        Instant assignedAt,
+        String note,
+        String cursor
+) {
+}
@@ -0,0 +1,14 @@
+package com.tandem.household.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CardBatchRequest(
+        @NotEmpty(message = "At least one operation is required")
+        @Size(max = 200, message = "At most 200 operations per batch")
+        List<@Valid @NotNull(message = "Operation is required") CardOperation> operations
+) {
+}
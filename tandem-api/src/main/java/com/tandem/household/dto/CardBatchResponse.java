@@ -0,0 +1,10 @@
+package com.tandem.household.dto;
+
+import java.util.List;
+
+public record CardBatchResponse(
+        int applied,
+        int skipped,
+        List<CardOperationResult> results
+) {
+}
@@ -0,0 +1,28 @@
+package com.tandem.household.dto;
+
+import com.tandem.household.CardOperationType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.UUID;
+
+/**
+ * One change in a {@link CardBatchRequest batch}. {@code ownerId} is required for
+ * {@code ASSIGN} and ignored otherwise; {@code version} is the card version the caller last saw.
+ */
+public record CardOperation(
+        @NotNull(message = "Operation type is required")
+        CardOperationType type,
+
+        @NotNull(message = "Card id is required")
+        UUID cardId,
+
+        @Size(max = 128, message = "Owner id must be at most 128 characters")
+        String ownerId,
+
+        @NotNull(message = "Version is required")
+        Long version,
+
+        @Size(max = 1000, message = "Note must be at most 1000 characters")
+        String note
+) {
+}
@@ -0,0 +1,17 @@
+package com.tandem.household.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome of the operation at {@code index}. {@code status} is {@code applied} or the reason
+ * it was skipped ({@code stale_version}, {@code card_not_found}, {@code owner_not_member},
+ * {@code owner_required}, {@code duplicate_card}); {@code version} is the card's version
+ * after the batch, when the card exists.
+ */
+public record CardOperationResult(
+        int index,
+        UUID cardId,
+        String status,
+        Long version
+) {
+}
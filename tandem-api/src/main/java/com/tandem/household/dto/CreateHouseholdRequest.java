@@ -0,0 +1,14 @@
+package com.tandem.household.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreateHouseholdRequest(
+        @NotBlank(message = "Name is required")
+        @Size(max = 120, message = "Name must be at most 120 characters")
+        String name,
+
+        @Size(max = 120, message = "Display name must be at most 120 characters")
+        String displayName
+) {
+}
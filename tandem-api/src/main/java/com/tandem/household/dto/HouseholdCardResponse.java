@@ -0,0 +1,24 @@
+package com.tandem.household.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A household card together with its template details. {@code notes} is only returned
+ * when a single card is fetched.
+ */
+public record HouseholdCardResponse(
+        UUID id,
+        String cardId,
+        String name,
+        String category,
+        String frequency,
+        String iconName,
+        String currentOwner,
+        Instant assignedAt,
+        boolean active,
+        String notes,
+        long version,
+        Instant updatedAt
+) {
+}
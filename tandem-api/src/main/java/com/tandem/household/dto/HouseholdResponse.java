@@ -0,0 +1,15 @@
+package com.tandem.household.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record HouseholdResponse(
+        UUID id,
+        String name,
+        String createdBy,
+        int memberCount,
+        int activeCardCount,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.tandem.household.dto;
+
+import com.tandem.household.HouseholdRole;
+import java.time.Instant;
+import java.util.UUID;
+
+public record HouseholdSummaryResponse(
+        UUID id,
+        String name,
+        HouseholdRole role,
+        Instant updatedAt
+) {
+}
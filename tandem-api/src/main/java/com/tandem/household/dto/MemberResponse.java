@@ -0,0 +1,12 @@
+package com.tandem.household.dto;
+
+import com.tandem.household.HouseholdRole;
+import java.time.Instant;
+
+public record MemberResponse(
+        String userId,
+        String displayName,
+        HouseholdRole role,
+        Instant joinedAt
+) {
+}
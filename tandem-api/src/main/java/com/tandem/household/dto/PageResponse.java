@@ -0,0 +1,12 @@
+package com.tandem.household.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is {@code null} on the last page.
+ */
+public record PageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
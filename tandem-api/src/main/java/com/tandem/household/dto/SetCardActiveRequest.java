@@ -0,0 +1,12 @@
+package com.tandem.household.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SetCardActiveRequest(
+        @NotNull(message = "Active flag is required")
+        Boolean active,
+
+        @NotNull(message = "Version is required")
+        Long version
+) {
+}
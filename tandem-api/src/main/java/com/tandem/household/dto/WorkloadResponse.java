@@ -0,0 +1,23 @@
+package com.tandem.household.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Active cards held by each member of a household. Members holding no active card are
+ * not listed.
+ */
+public record WorkloadResponse(
+        UUID householdId,
+        List<MemberWorkload> members
+) {
+
+    public record MemberWorkload(
+            String memberId,
+            int totalCards,
+            Map<String, Integer> byCategory,
+            Map<String, Integer> byFrequency
+    ) {
+    }
+}
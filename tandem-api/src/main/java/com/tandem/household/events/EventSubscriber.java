@@ -0,0 +1,161 @@
+package com.tandem.household.events;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open stream. Events are queued without blocking the publisher and written to the
+ * client by at most one task at a time; a subscriber whose queue overflows is closed
+ * rather than slowing down delivery to everybody else, and catches up on reconnect.
+ */
+final class EventSubscriber {
+
+    /**
+     * Where a subscriber's events are written, e.g. an {@code SseEmitter}.
+     */
+    interface Sink {
+
+        void send(HouseholdEvent event) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /**
+         * Tells the client to reload instead of replaying; {@code lastEventId} is where its
+         * next reconnect should resume.
+         */
+        void reset(long lastEventId) throws IOException;
+
+        void close();
+    }
+
+    // Control entries have no household; the heartbeat is told apart by identity
+    private static final HouseholdEvent HEARTBEAT = new HouseholdEvent(-1, null, "heartbeat", "");
+
+    private final UUID householdId;
+    private final Sink sink;
+    private final Executor executor;
+    private final BlockingQueue<HouseholdEvent> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Consumer<EventSubscriber> onClose;
+
+    // Guarded by this: live events held back while missed events are replayed
+    private List<HouseholdEvent> held = new ArrayList<>();
+    private volatile long lastEventId;
+
+    EventSubscriber(UUID householdId, Sink sink, int capacity, Executor executor,
+                    Consumer<EventSubscriber> onClose) {
+        this.householdId = householdId;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    UUID householdId() {
+        return householdId;
+    }
+
+    long lastEventId() {
+        return lastEventId;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Queues a live event, or holds it back while the subscriber is still replaying.
+     */
+    void deliver(HouseholdEvent event) {
+        synchronized (this) {
+            if (held != null) {
+                held.add(event);
+                return;
+            }
+        }
+        enqueue(event);
+    }
+
+    /**
+     * Queues the events missed since the client's last event, then the live events that
+     * arrived meanwhile, skipping those the replay already covered.
+     */
+    void replay(List<HouseholdEvent> missed, boolean truncated, long startId) {
+        lastEventId = startId;
+        if (truncated) {
+            enqueue(new HouseholdEvent(startId, null, "reset", ""));
+        } else {
+            missed.forEach(this::enqueue);
+        }
+        List<HouseholdEvent> live;
+        synchronized (this) {
+            live = held;
+            held = null;
+        }
+        live.forEach(this::enqueue);
+    }
+
+    void heartbeat() {
+        enqueue(HEARTBEAT);
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            sink.close();
+            onClose.accept(this);
+        }
+    }
+
+    private void enqueue(HouseholdEvent event) {
+        if (closed.get()) {
+            return;
+        }
+        // A household's sequence numbers commit in order, so one not above the last queued was already sent
+        if (event.householdId() != null && event.id() <= lastEventId) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            close();
+            return;
+        }
+        if (event.id() > lastEventId) {
+            lastEventId = event.id();
+        }
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            HouseholdEvent event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    sink.heartbeat();
+                } else if (event.householdId() == null) {
+                    sink.reset(event.id());
+                } else {
+                    sink.send(event);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Client went away mid-write
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // An event queued after the last poll but before draining was cleared
+        if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+}
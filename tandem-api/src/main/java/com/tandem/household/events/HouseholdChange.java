@@ -0,0 +1,46 @@
+package com.tandem.household.events;
+
+import com.tandem.household.HouseholdRole;
+import java.util.UUID;
+
+/**
+ * A change published to a household's subscribers. The record is the event's JSON payload
+ * and {@link #type()} its SSE event name.
+ */
+public sealed interface HouseholdChange {
+
+    String type();
+
+    record MemberAdded(String userId, HouseholdRole role) implements HouseholdChange {
+
+        @Override
+        public String type() {
+            return "member_added";
+        }
+    }
+
+    record CardAdded(UUID cardId, String templateId, String ownerId, long version) implements HouseholdChange {
+
+        @Override
+        public String type() {
+            return "card_added";
+        }
+    }
+
+    record CardAssigned(UUID cardId, String ownerId, String previousOwnerId, String assignedBy, long version)
+            implements HouseholdChange {
+
+        @Override
+        public String type() {
+            return "card_assigned";
+        }
+    }
+
+    record CardActiveChanged(UUID cardId, boolean active, long version) implements HouseholdChange {
+
+        @Override
+        public String type() {
+            return "card_active_changed";
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.tandem.household.events;
+
+import java.util.UUID;
+
+/**
+ * A stored household event; {@code id} is its sequence number within the household, which
+ * clients resume from, and {@code data} its JSON payload, sent to clients as is.
+ */
+public record HouseholdEvent(long id, UUID householdId, String type, String data) {
+}
@@ -0,0 +1,12 @@
+package com.tandem.household.events;
+
+/**
+ * This node already serves as many change-feed streams as it is configured for; the
+ * client should retry, likely landing on another node.
+ */
+public class HouseholdEventCapacityException extends RuntimeException {
+
+    public HouseholdEventCapacityException() {
+        super("Too many open change feeds, retry shortly", null, false, false);
+    }
+}
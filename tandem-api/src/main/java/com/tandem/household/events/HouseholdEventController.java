@@ -0,0 +1,73 @@
+package com.tandem.household.events;
+
+import com.tandem.household.HouseholdService;
+import java.io.IOException;
+import java.util.UUID;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class HouseholdEventController {
+
+    private final HouseholdService householdService;
+    private final HouseholdEventHub hub;
+    private final HouseholdEventProperties properties;
+
+    public HouseholdEventController(HouseholdService householdService, HouseholdEventHub hub,
+                                    HouseholdEventProperties properties) {
+        this.householdService = householdService;
+        this.hub = hub;
+        this.properties = properties;
+    }
+
+    /**
+     * Streams the household's changes as server-sent events named after the change type.
+     * Each event carries its sequence number within the household as its id, so a reconnecting
+     * client resumes with {@code Last-Event-ID}; a {@code reset} event means it fell too far
+     * behind, or further back than the retention, and should reload the household.
+     */
+    @GetMapping(path = "/api/households/{householdId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal Jwt jwt,
+                             @PathVariable UUID householdId,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        householdService.requireHousehold(jwt.getSubject(), householdId);
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        EventSubscriber subscriber = hub.subscribe(householdId, lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements EventSubscriber.Sink {
+
+        @Override
+        public void send(HouseholdEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.type())
+                    .data(event.data()));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(""));
+        }
+
+        @Override
+        public void reset(long lastEventId) throws IOException {
+            emitter.send(SseEmitter.event().id(Long.toString(lastEventId)).name("reset").data(""));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
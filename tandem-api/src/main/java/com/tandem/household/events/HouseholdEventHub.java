@@ -0,0 +1,186 @@
+package com.tandem.household.events;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans household events out to the streams open on this node. Notifications only carry
+ * event ids; each batch is loaded once, for the households that have subscribers here,
+ * and handed to every subscriber's own queue, so a slow client never holds up the rest.
+ */
+@Component
+public class HouseholdEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(HouseholdEventHub.class);
+
+    private final HouseholdEvents events;
+    private final HouseholdEventProperties properties;
+    private final int maxSubscribers;
+    private final Map<UUID, Set<EventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HouseholdEventHub(HouseholdEvents events, HouseholdEventProperties properties,
+                             @Value("${server.tomcat.max-connections:8192}") int maxConnections) {
+        this.events = events;
+        this.properties = properties;
+        this.maxSubscribers = properties.subscriberLimitFor(maxConnections);
+        if (maxSubscribers < properties.maxSubscribers()) {
+            log.warn("Limiting event streams to {} per node, below tandem.events.max-subscribers={}, to leave "
+                    + "connector capacity for other requests", maxSubscribers, properties.maxSubscribers());
+        }
+    }
+
+    /**
+     * Opens a subscription and replays the events after {@code lastEventId}. The subscriber
+     * is registered before the replay query, so nothing committed in between is lost;
+     * events seen both ways are sent once. A client that cannot be caught up exactly, because
+     * it is further behind than the replay limit, its next events were already purged, or the
+     * id is not one this household reached, gets a {@code reset} event instead.
+     *
+     * @param lastEventId the client's {@code Last-Event-ID}, or {@code null} to start from now
+     * @throws HouseholdEventCapacityException if this node already serves the maximum number
+     *                                         of streams
+     */
+    EventSubscriber subscribe(UUID householdId, Long lastEventId, EventSubscriber.Sink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new HouseholdEventCapacityException();
+        }
+        EventSubscriber subscriber = new EventSubscriber(householdId, sink, properties.queueCapacity(), writers,
+                this::remove);
+        subscribers.compute(householdId, (id, set) -> {
+            Set<EventSubscriber> current = set == null ? ConcurrentHashMap.newKeySet() : set;
+            current.add(subscriber);
+            return current;
+        });
+        try {
+            long latest = events.latestId(householdId);
+            if (lastEventId == null) {
+                subscriber.replay(List.of(), false, latest);
+            } else {
+                int limit = properties.replayLimit();
+                List<HouseholdEvent> missed = lastEventId < latest
+                        ? events.after(householdId, lastEventId, limit + 1)
+                        : List.of();
+                if (continuous(lastEventId, latest, missed, limit)) {
+                    subscriber.replay(missed, false, lastEventId);
+                } else {
+                    subscriber.replay(List.of(), true, latest);
+                }
+            }
+        } catch (RuntimeException ex) {
+            subscriber.close();
+            throw ex;
+        }
+        return subscriber;
+    }
+
+    /**
+     * Delivers the events announced by a batch of {@code household_events} notifications,
+     * each {@code <household id>:<event id>}.
+     */
+    void onNotifications(List<String> payloads) {
+        List<Long> ids = new ArrayList<>();
+        for (String payload : payloads) {
+            int separator = payload.indexOf(':');
+            if (subscribers.containsKey(UUID.fromString(payload.substring(0, separator)))) {
+                ids.add(Long.parseLong(payload.substring(separator + 1)));
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (HouseholdEvent event : events.byIds(ids)) {
+            Set<EventSubscriber> set = subscribers.get(event.householdId());
+            if (set != null) {
+                set.forEach(subscriber -> subscriber.deliver(event));
+            }
+        }
+    }
+
+    /**
+     * Catches subscribers up after the listener lost its connection, since notifications
+     * sent meanwhile are gone. Subscribers that cannot be caught up exactly are closed and
+     * get a reset when they reconnect.
+     */
+    void resync() {
+        int limit = properties.replayLimit();
+        for (Map.Entry<UUID, Set<EventSubscriber>> entry : subscribers.entrySet()) {
+            Set<EventSubscriber> set = entry.getValue();
+            long from = set.stream().mapToLong(EventSubscriber::lastEventId).min().orElse(Long.MAX_VALUE);
+            if (from == Long.MAX_VALUE) {
+                continue;
+            }
+            List<HouseholdEvent> missed = events.after(entry.getKey(), from, limit + 1);
+            for (EventSubscriber subscriber : set) {
+                boolean purged = !missed.isEmpty() && missed.get(0).id() > subscriber.lastEventId() + 1;
+                if (missed.size() > limit || purged) {
+                    subscriber.close();
+                    continue;
+                }
+                missed.forEach(subscriber::deliver);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tandem.events.heartbeat-interval:15s}",
+            initialDelayString = "${tandem.events.heartbeat-interval:15s}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(EventSubscriber::heartbeat));
+    }
+
+    @Scheduled(fixedDelayString = "1h", initialDelayString = "5m")
+    public void purge() {
+        try {
+            int purged = events.purgeOlderThan(properties.retention());
+            if (purged > 0) {
+                log.info("Purged {} household events older than {}", purged, properties.retention());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not purge household events", ex);
+        }
+    }
+
+    // Sequence numbers are gapless, so the replay is complete exactly when it starts right after
+    // lastEventId and stays within the limit
+    private static boolean continuous(long lastEventId, long latest, List<HouseholdEvent> missed, int limit) {
+        if (lastEventId >= latest) {
+            return lastEventId == latest;
+        }
+        return !missed.isEmpty() && missed.size() <= limit && missed.get(0).id() == lastEventId + 1;
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void close() {
+        subscribers.values().forEach(set -> set.forEach(EventSubscriber::close));
+        writers.shutdown();
+    }
+
+    private void remove(EventSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.householdId(), (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
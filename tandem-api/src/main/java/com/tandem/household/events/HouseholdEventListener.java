@@ -0,0 +1,114 @@
+package com.tandem.household.events;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens on the {@code household_events} channel over a dedicated connection, outside the
+ * pool: a listening connection is held for the life of the node and must not be handed
+ * out or recycled. Lost connections are reopened with backoff, after which the hub catches
+ * subscribers up from the table.
+ */
+@Component
+public class HouseholdEventListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(HouseholdEventListener.class);
+
+    static final String CHANNEL = "household_events";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofMinutes(1);
+
+    private final DataSourceProperties dataSource;
+    private final HouseholdEventHub hub;
+    private final HouseholdEventProperties properties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public HouseholdEventListener(DataSourceProperties dataSource, HouseholdEventHub hub,
+                                  HouseholdEventProperties properties) {
+        this.dataSource = dataSource;
+        this.hub = hub;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("household-events-listener").start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration delay = properties.reconnectDelay();
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    hub.resync();
+                }
+                delay = properties.reconnectDelay();
+                reconnecting = true;
+                listen(connection.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Household event listener disconnected, reconnecting in {}", delay, ex);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                delay = delay.multipliedBy(2).compareTo(MAX_RECONNECT_DELAY) > 0
+                        ? MAX_RECONNECT_DELAY
+                        : delay.multipliedBy(2);
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws SQLException {
+        List<String> payloads = new ArrayList<>();
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+            hub.onNotifications(payloads);
+            payloads.clear();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tandem.household.events;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Server-sent household change feed.
+ *
+ * @param heartbeatInterval how often idle streams get a comment line, so proxies keep them open
+ *                          and dead clients are noticed
+ * @param streamTimeout     lifetime of one stream; clients reconnect with {@code Last-Event-ID}
+ * @param queueCapacity     events buffered per subscriber; a subscriber that falls this far
+ *                          behind is disconnected and resumes from the database
+ * @param replayLimit       most events replayed on reconnect; further behind, the client is told
+ *                          to reload the household instead
+ * @param maxSubscribers    open streams per node; capped at {@link #SUBSCRIBER_SHARE} of the
+ *                          connector's {@code server.tomcat.max-connections}, since every stream
+ *                          holds a connection and the rest must stay free for other requests
+ * @param retention         how long events stay available for resuming; a client resuming from
+ *                          an older event gets a reset
+ * @param reconnectDelay    first delay before reconnecting the listener, doubled up to a minute
+ */
+@Validated
+@ConfigurationProperties(prefix = "tandem.events")
+public record HouseholdEventProperties(
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("256") @Positive int queueCapacity,
+        @DefaultValue("500") @Positive int replayLimit,
+        @DefaultValue("8000") @Positive int maxSubscribers,
+        @DefaultValue("3d") Duration retention,
+        @DefaultValue("1s") Duration reconnectDelay
+) {
+    /**
+     * Share of the connector's connections that event streams may take.
+     */
+    public static final double SUBSCRIBER_SHARE = 0.8;
+
+    public int subscriberLimitFor(int maxConnections) {
+        return Math.max(1, Math.min(maxSubscribers, (int) (maxConnections * SUBSCRIBER_SHARE)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.tandem.household.events;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The {@code household_event} table. Publishing inserts a row in the caller's transaction;
+ * the database announces it to listeners only once that transaction commits.
+ * <p>
+ * Events are identified within their household by a sequence drawn from
+ * {@code household.event_seq}. Drawing it locks the household row until the publishing
+ * transaction ends, so a household's events commit in sequence order without gaps, and a
+ * reader that has seen up to some sequence number has seen everything before it.
+ */
+@Repository
+public class HouseholdEvents {
+
+    private final JdbcClient jdbcClient;
+    private final JsonMapper jsonMapper;
+
+    public HouseholdEvents(JdbcClient jdbcClient, JsonMapper jsonMapper) {
+        this.jdbcClient = jdbcClient;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public void publish(UUID householdId, HouseholdChange change) {
+        jdbcClient.sql("""
+                        WITH next AS (
+                            UPDATE household SET event_seq = event_seq + 1
+                            WHERE id = :householdId
+                            RETURNING event_seq
+                        )
+                        INSERT INTO household_event (household_id, seq, type, payload)
+                        SELECT :householdId, next.event_seq, :type, CAST(:payload AS jsonb)
+                        FROM next
+                        """)
+                .param("householdId", householdId)
+                .param("type", change.type())
+                .param("payload", jsonMapper.writeValueAsString(change))
+                .update();
+    }
+
+    /**
+     * Publishes several changes with one insert; their sequence numbers follow the order of
+     * {@code changes}.
+     */
+    public void publishAll(UUID householdId, List<HouseholdChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        String[] types = new String[changes.size()];
+        String[] payloads = new String[changes.size()];
+        for (int i = 0; i < changes.size(); i++) {
+            types[i] = changes.get(i).type();
+            payloads[i] = jsonMapper.writeValueAsString(changes.get(i));
+        }
+        jdbcClient.sql("""
+                        WITH next AS (
+                            UPDATE household SET event_seq = event_seq + :count
+                            WHERE id = :householdId
+                            RETURNING event_seq - :count AS base
+                        )
+                        INSERT INTO household_event (household_id, seq, type, payload)
+                        SELECT :householdId, next.base + e.position, e.type, e.payload::jsonb
+                        FROM next,
+                             unnest(:types::text[], :payloads::text[]) WITH ORDINALITY AS e(type, payload, position)
+                        ORDER BY e.position
+                        """)
+                .param("householdId", householdId)
+                .param("count", changes.size())
+                .param("types", types)
+                .param("payloads", payloads)
+                .update();
+    }
+
+    /**
+     * Loads events by row id, as named in notifications; each household's events in sequence order.
+     */
+    public List<HouseholdEvent> byIds(Collection<Long> ids) {
+        return jdbcClient.sql("""
+                        SELECT seq, household_id, type, payload::text AS payload
+                        FROM household_event
+                        WHERE id IN (:ids)
+                        ORDER BY household_id, seq
+                        """)
+                .param("ids", ids)
+                .query(HouseholdEvents::event)
+                .list();
+    }
+
+    /**
+     * Returns up to {@code limit} events of the household after sequence number
+     * {@code afterSeq}, oldest first. Events older than the retention are gone, so the first
+     * one returned may come later than {@code afterSeq + 1}.
+     */
+    public List<HouseholdEvent> after(UUID householdId, long afterSeq, int limit) {
+        return jdbcClient.sql("""
+                        SELECT seq, household_id, type, payload::text AS payload
+                        FROM household_event
+                        WHERE household_id = :householdId AND seq > :afterSeq
+                        ORDER BY seq
+                        LIMIT :limit
+                        """)
+                .param("householdId", householdId)
+                .param("afterSeq", afterSeq)
+                .param("limit", limit)
+                .query(HouseholdEvents::event)
+                .list();
+    }
+
+    /**
+     * Sequence number of the household's latest committed event, or 0; where a new subscriber
+     * without a {@code Last-Event-ID} starts. Still known once the event itself was purged.
+     */
+    public long latestId(UUID householdId) {
+        return jdbcClient.sql("SELECT event_seq FROM household WHERE id = :householdId")
+                .param("householdId", householdId)
+                .query(Long.class)
+                .optional()
+                .orElse(0L);
+    }
+
+    public int purgeOlderThan(Duration retention) {
+        return jdbcClient.sql("DELETE FROM household_event WHERE created_at < now() - make_interval(secs => :secs)")
+                .param("secs", retention.toSeconds())
+                .update();
+    }
+
+    private static HouseholdEvent event(ResultSet rs, int rowNum) throws SQLException {
+        return new HouseholdEvent(
+                rs.getLong("seq"),
+                rs.getObject("household_id", UUID.class),
+                rs.getString("type"),
+                rs.getString("payload"));
+    }
+}
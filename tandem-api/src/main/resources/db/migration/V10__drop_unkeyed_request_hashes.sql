@@ -0,0 +1,5 @@
+-- Request hashes are now keyed HMACs; the plain SHA-256 hashes stored so far cover bodies that
+-- carry passwords and would never match again, so they are dropped rather than kept until expiry.
+DELETE FROM idempotency_key;
+
+COMMENT ON COLUMN idempotency_key.request_hash IS 'HMAC-SHA256 of method, path and body under a server-side key';
@@ -0,0 +1,6 @@
+-- V1 says signup_outbox_open_email_idx lets a retried form post join the queued signup. It does
+-- not: a second open signup for the same email conflicts with the index, is not inserted and is
+-- answered with a 409 (signup_in_progress). V1 is applied, so its text stays and the index carries the
+-- accurate description instead.
+COMMENT ON INDEX signup_outbox_open_email_idx IS
+    'At most one open signup per email; a second one while the first is pending or processing is a conflict';
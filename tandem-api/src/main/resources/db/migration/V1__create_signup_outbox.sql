@@ -0,0 +1,32 @@
+-- Signups accepted in async mode, drained to Auth0 by SignupOutboxWorker.
+-- The password is stored jasypt-encrypted and cleared once the row reaches a final state.
+CREATE TABLE signup_outbox (
+    id                 UUID         PRIMARY KEY,
+    email              VARCHAR(320) NOT NULL,
+    encrypted_password TEXT,
+    name               VARCHAR(255),
+    given_name         VARCHAR(255),
+    family_name        VARCHAR(255),
+    status             VARCHAR(16)  NOT NULL,
+    attempts           INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at    TIMESTAMPTZ  NOT NULL,
+    locked_until       TIMESTAMPTZ,
+    auth0_user_id      VARCHAR(255),
+    error_code         VARCHAR(64),
+    created_at         TIMESTAMPTZ  NOT NULL,
+    updated_at         TIMESTAMPTZ  NOT NULL
+);
+
+-- Rows the worker can claim, in the order it claims them
+CREATE INDEX signup_outbox_claimable_idx
+    ON signup_outbox (next_attempt_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+-- At most one open signup per email, so a retried form post joins the queued one
+CREATE UNIQUE INDEX signup_outbox_open_email_idx
+    ON signup_outbox (email)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX signup_outbox_finished_idx
+    ON signup_outbox (updated_at)
+    WHERE status IN ('COMPLETED', 'FAILED');
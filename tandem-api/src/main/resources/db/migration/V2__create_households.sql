@@ -0,0 +1,59 @@
+-- Households, their members, and the Fair Play cards they hold.
+-- Users are identified by their Auth0 subject (the JWT "sub" claim).
+
+CREATE TABLE card_template (
+    id                     VARCHAR(64)  PRIMARY KEY,
+    name                   VARCHAR(120) NOT NULL,
+    category               VARCHAR(32)  NOT NULL,
+    description            TEXT         NOT NULL,
+    conception_description TEXT         NOT NULL,
+    planning_description   TEXT         NOT NULL,
+    execution_description  TEXT         NOT NULL,
+    frequency              VARCHAR(16)  NOT NULL,
+    icon_name              VARCHAR(64)  NOT NULL
+);
+
+CREATE TABLE household (
+    id         UUID         PRIMARY KEY,
+    name       VARCHAR(120) NOT NULL,
+    created_by VARCHAR(128) NOT NULL,
+    version    BIGINT       NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL,
+    updated_at TIMESTAMPTZ  NOT NULL
+);
+
+CREATE TABLE household_member (
+    household_id UUID         NOT NULL REFERENCES household (id) ON DELETE CASCADE,
+    user_id      VARCHAR(128) NOT NULL,
+    display_name VARCHAR(120),
+    role         VARCHAR(16)  NOT NULL,
+    joined_at    TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (household_id, user_id)
+);
+
+-- "My households", read index-only in household order
+CREATE INDEX household_member_by_user_idx
+    ON household_member (user_id, household_id) INCLUDE (role);
+
+CREATE TABLE household_card (
+    id            UUID         PRIMARY KEY,
+    household_id  UUID         NOT NULL REFERENCES household (id) ON DELETE CASCADE,
+    card_id       VARCHAR(64)  NOT NULL REFERENCES card_template (id),
+    current_owner VARCHAR(128),
+    active        BOOLEAN      NOT NULL,
+    notes         TEXT,
+    version       BIGINT       NOT NULL,
+    created_at    TIMESTAMPTZ  NOT NULL,
+    updated_at    TIMESTAMPTZ  NOT NULL,
+    CONSTRAINT household_card_unique_card UNIQUE (household_id, card_id)
+);
+
+-- Cards by household and cards by household/owner, both paged by id. The INCLUDE columns
+-- make the household_card side of the page query an index-only scan.
+CREATE INDEX household_card_by_household_idx
+    ON household_card (household_id, id)
+    INCLUDE (card_id, current_owner, active, version, updated_at);
+
+CREATE INDEX household_card_by_owner_idx
+    ON household_card (household_id, current_owner, id)
+    INCLUDE (card_id, active, version, updated_at);
@@ -0,0 +1,53 @@
+-- Append-only card assignment history, partitioned by month of assigned_at. The current
+-- owner stays on household_card (current_owner, assigned_at) so that reading or changing it
+-- never touches the history.
+
+ALTER TABLE household_card ADD COLUMN assigned_at TIMESTAMPTZ;
+
+CREATE SEQUENCE card_assignment_id_seq;
+
+CREATE TABLE card_assignment (
+    id                BIGINT       NOT NULL DEFAULT nextval('card_assignment_id_seq'),
+    household_card_id UUID         NOT NULL REFERENCES household_card (id) ON DELETE CASCADE,
+    household_id      UUID         NOT NULL,
+    assigned_to       VARCHAR(128),
+    assigned_by       VARCHAR(128) NOT NULL,
+    note              TEXT,
+    assigned_at       TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (assigned_at, id)
+) PARTITION BY RANGE (assigned_at);
+
+ALTER SEQUENCE card_assignment_id_seq OWNED BY card_assignment.id;
+
+-- A card's history, newest first, paged by (assigned_at, id)
+CREATE INDEX card_assignment_by_card_idx
+    ON card_assignment (household_card_id, assigned_at DESC, id DESC);
+
+-- Catches rows outside the monthly partitions; stays empty while partitions are created ahead
+CREATE TABLE card_assignment_default PARTITION OF card_assignment DEFAULT;
+
+-- Creates the partition for the UTC month starting at month_start, if missing
+CREATE FUNCTION create_card_assignment_partition(month_start DATE) RETURNS VOID
+LANGUAGE plpgsql AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF card_assignment FOR VALUES FROM (%L) TO (%L)',
+                   'card_assignment_' || to_char(month_start, 'YYYY_MM'),
+                   month_start::timestamp AT TIME ZONE 'UTC',
+                   (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+END
+$$;
+
+SELECT create_card_assignment_partition((date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => m))::date)
+FROM generate_series(0, 2) AS m;
+
+-- Card pages also return assigned_at; keep them index-only
+DROP INDEX household_card_by_household_idx;
+DROP INDEX household_card_by_owner_idx;
+
+CREATE INDEX household_card_by_household_idx
+    ON household_card (household_id, id)
+    INCLUDE (card_id, current_owner, assigned_at, active, version, updated_at);
+
+CREATE INDEX household_card_by_owner_idx
+    ON household_card (household_id, current_owner, id)
+    INCLUDE (card_id, assigned_at, active, version, updated_at);
@@ -0,0 +1,19 @@
+-- Active cards held per household member, by card category and frequency. Maintained
+-- incrementally in the transaction that changes a card's owner or active flag; the rows
+-- per household are bounded by members x categories x frequencies, not by card count.
+
+CREATE TABLE household_workload (
+    household_id UUID         NOT NULL REFERENCES household (id) ON DELETE CASCADE,
+    member_id    VARCHAR(128) NOT NULL,
+    category     VARCHAR(32)  NOT NULL,
+    frequency    VARCHAR(16)  NOT NULL,
+    card_count   INTEGER      NOT NULL,
+    PRIMARY KEY (household_id, member_id, category, frequency)
+);
+
+INSERT INTO household_workload (household_id, member_id, category, frequency, card_count)
+SELECT hc.household_id, hc.current_owner, ct.category, ct.frequency, count(*)
+FROM household_card hc
+JOIN card_template ct ON ct.id = hc.card_id
+WHERE hc.active AND hc.current_owner IS NOT NULL
+GROUP BY hc.household_id, hc.current_owner, ct.category, ct.frequency;
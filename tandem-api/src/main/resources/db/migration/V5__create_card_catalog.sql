@@ -0,0 +1,64 @@
+-- Card catalog version, bumped by any change to card_template. API nodes poll it and swap
+-- in a freshly loaded catalog when it moves.
+
+CREATE TABLE card_catalog (
+    id         SMALLINT    PRIMARY KEY CHECK (id = 1),
+    version    BIGINT      NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO card_catalog (id, version, updated_at) VALUES (1, 1, now());
+
+CREATE FUNCTION bump_card_catalog_version() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE card_catalog SET version = version + 1, updated_at = now() WHERE id = 1;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER card_template_changed
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON card_template
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_card_catalog_version();
+
+-- The Fair Play deck shipped with the mobile app (ids match its card-N identifiers)
+INSERT INTO card_template (id, name, category, description, conception_description, planning_description,
+                           execution_description, frequency, icon_name)
+VALUES
+    ('card-1', 'Daily Tidying', 'home_care', 'Keep common areas clean and organized on a daily basis', 'Decide what "tidy" means and which areas need daily attention', 'Create a routine for tidying and determine best timing', 'Physically tidy spaces, put things away, wipe surfaces', 'daily', 'home'),
+    ('card-2', 'Laundry', 'home_care', 'Manage the complete laundry process from dirty to clean and put away', 'Decide when laundry needs to be done and sorting system', 'Sort clothes, check for stains, gather supplies', 'Wash, dry, fold, and put away all laundry', 'weekly', 'shirt'),
+    ('card-3', 'Dishes & Kitchen Cleanup', 'home_care', 'Keep kitchen clean including dishes, counters, and appliances', 'Decide on dish washing schedule and cleanliness standards', 'Empty dishwasher, organize dirty dishes', 'Wash/load dishes, wipe counters, clean sink and appliances', 'daily', 'utensils'),
+    ('card-4', 'Deep Cleaning', 'home_care', 'Thorough cleaning of bathrooms, floors, and deep-clean tasks', 'Determine which areas need deep cleaning and frequency', 'Schedule cleaning sessions, gather supplies', 'Scrub, vacuum, mop, dust all areas thoroughly', 'weekly', 'sparkles'),
+    ('card-5', 'Trash & Recycling', 'home_care', 'Empty trash, manage recycling, and handle waste disposal', 'Know trash schedule and what goes where', 'Monitor trash levels, prepare bins for pickup', 'Empty bins, take to curb, bring bins back in', 'weekly', 'trash'),
+    ('card-6', 'Home Maintenance', 'home_care', 'Track and complete home repairs and maintenance tasks', 'Notice what needs fixing or maintaining', 'Schedule repairs, find contractors, order parts', 'Complete fixes or coordinate with professionals', 'as_needed', 'wrench'),
+    ('card-7', 'Yard Work', 'home_care', 'Maintain outdoor spaces including lawn, garden, and yard', 'Decide on yard care standards and seasonal needs', 'Schedule mowing, plan seasonal tasks', 'Mow, trim, weed, rake, and maintain outdoor spaces', 'weekly', 'tree'),
+    ('card-8', 'Home Organization', 'home_care', 'Declutter and organize household spaces and storage', 'Identify areas that need organization systems', 'Plan storage solutions, gather organizing supplies', 'Sort, purge, organize, and maintain systems', 'seasonal', 'package'),
+    ('card-9', 'Pet Care', 'home_care', 'Feed, exercise, and care for household pets', 'Understand pet needs and care schedule', 'Track vet appointments, order supplies', 'Feed, walk, play with, and care for pets daily', 'daily', 'dog'),
+    ('card-10', 'Car Care', 'home_care', 'Maintain vehicles including cleaning and maintenance', 'Know maintenance schedule and car care needs', 'Schedule service, track registrations', 'Clean car, handle maintenance and repairs', 'monthly', 'car'),
+    ('card-11', 'Meal Planning', 'food_meals', 'Decide what meals to prepare for the week', 'Consider schedules, preferences, and dietary needs', 'Choose recipes, check pantry, plan balanced meals', 'Finalize meal plan and communicate to household', 'weekly', 'calendar'),
+    ('card-12', 'Grocery Shopping', 'food_meals', 'Purchase all food and household supplies', 'Know what items are needed and where to shop', 'Create shopping list, plan store trip', 'Shop, transport, and put away all groceries', 'weekly', 'shopping-cart'),
+    ('card-13', 'Breakfast', 'food_meals', 'Prepare and serve breakfast daily', 'Decide what breakfast options work for family', 'Ensure breakfast supplies are available', 'Prepare, serve, and clean up breakfast', 'daily', 'coffee'),
+    ('card-14', 'Lunch', 'food_meals', 'Prepare lunch including school/work lunches', 'Plan lunch types and packing system', 'Prep ingredients, ensure containers are ready', 'Make and pack lunches, clean up', 'daily', 'sandwich'),
+    ('card-15', 'Dinner', 'food_meals', 'Prepare and serve dinner', 'Decide what to cook and timing', 'Prep ingredients, start cooking at right time', 'Cook, serve, and coordinate dinner', 'daily', 'utensils'),
+    ('card-16', 'Snacks & Beverages', 'food_meals', 'Keep snacks and drinks stocked and accessible', 'Know family snack preferences and needs', 'Monitor inventory, add to shopping list', 'Stock, organize, and prepare snacks', 'weekly', 'apple'),
+    ('card-17', 'Special Dietary Needs', 'food_meals', 'Manage allergies, restrictions, and special diets', 'Understand dietary requirements', 'Find suitable recipes and products', 'Ensure safe, appropriate food is available', 'weekly', 'shield'),
+    ('card-18', 'Kitchen Inventory', 'food_meals', 'Track pantry staples and prevent food waste', 'Know what staples to keep on hand', 'Check expiration dates, organize pantry', 'Update inventory, use food before it expires', 'weekly', 'list'),
+    ('card-19', 'Morning Routine', 'childcare', 'Get kids up, dressed, fed, and ready for day', 'Create morning routine that works', 'Prepare clothes and supplies the night before', 'Wake kids, help with routine, get them out door', 'daily', 'sun'),
+    ('card-20', 'Bedtime Routine', 'childcare', 'Complete evening routine and get kids to bed', 'Establish consistent bedtime routine', 'Start routine at consistent time', 'Bath, pajamas, teeth, stories, tuck in', 'daily', 'moon'),
+    ('card-21', 'School Communication', 'childcare', 'Manage school emails, forms, and teacher communication', 'Stay on top of school requirements', 'Check school communications daily', 'Respond to emails, sign forms, coordinate', 'daily', 'school'),
+    ('card-22', 'Homework Help', 'childcare', 'Support children with homework and projects', 'Know what support kids need', 'Create homework time and space', 'Help with assignments, check completed work', 'daily', 'book'),
+    ('card-23', 'Kid Activities & Sports', 'childcare', 'Manage extracurricular activities and transportation', 'Decide on activities and commitments', 'Track schedules, register, pay fees', 'Transport to activities, coordinate with coaches', 'weekly', 'ball'),
+    ('card-24', 'Kid Medical & Health', 'childcare', 'Manage children''s healthcare and appointments', 'Know medical needs and provider info', 'Schedule checkups, track vaccinations', 'Take to appointments, manage medications', 'as_needed', 'heart'),
+    ('card-25', 'Bill Payment', 'financial', 'Pay all household bills on time', 'Know all bills and due dates', 'Track due dates, ensure funds available', 'Pay bills, track payments, file documents', 'monthly', 'dollar-sign'),
+    ('card-26', 'Budget Management', 'financial', 'Track spending and manage household budget', 'Create budget categories and limits', 'Review spending patterns monthly', 'Track expenses, adjust budget as needed', 'monthly', 'pie-chart'),
+    ('card-27', 'Taxes & Legal', 'financial', 'Handle tax preparation and legal documents', 'Understand tax obligations and deadlines', 'Gather documents, schedule with accountant', 'Complete tax returns, file documents', 'seasonal', 'file-text'),
+    ('card-28', 'Insurance Management', 'financial', 'Manage all household insurance policies', 'Know what coverage is needed', 'Review policies annually, compare rates', 'Maintain policies, handle claims', 'seasonal', 'shield'),
+    ('card-29', 'Gift Giving', 'social_family', 'Remember occasions and handle gift buying', 'Track birthdays, holidays, and occasions', 'Shop for gifts in advance', 'Buy, wrap, and deliver gifts on time', 'as_needed', 'gift'),
+    ('card-30', 'Social Planning', 'social_family', 'Coordinate social events and gatherings', 'Decide what social events to host or attend', 'Schedule events, send invitations', 'Prepare for and execute events', 'monthly', 'users'),
+    ('card-31', 'Family Relationships', 'social_family', 'Maintain connections with extended family', 'Decide how often to connect with family', 'Schedule calls, visits, celebrations', 'Make calls, send updates, coordinate visits', 'weekly', 'heart'),
+    ('card-32', 'Photo & Memory Keeping', 'social_family', 'Capture and organize family photos and memories', 'Decide how to document family life', 'Take photos regularly, organize digitally', 'Create albums, back up photos, share with family', 'monthly', 'camera'),
+    ('card-33', 'Personal Health Appointments', 'personal_care', 'Manage your own healthcare and appointments', 'Know what preventive care you need', 'Schedule annual checkups and appointments', 'Attend appointments, follow medical advice', 'seasonal', 'heart-pulse'),
+    ('card-34', 'Self-Care Time', 'personal_care', 'Schedule and protect personal wellness time', 'Identify what self-care means for you', 'Block time on calendar, arrange coverage', 'Take your self-care time without guilt', 'weekly', 'spa'),
+    ('card-35', 'Wardrobe Management', 'personal_care', 'Maintain and organize clothing for yourself', 'Know what you need and what fits', 'Seasonal wardrobe swaps, identify needs', 'Shop, repair, donate, organize clothing', 'seasonal', 'shirt'),
+    ('card-36', 'Personal Development', 'personal_care', 'Invest in your own growth and learning', 'Identify areas for personal growth', 'Find resources, courses, or communities', 'Dedicate time to learning and development', 'weekly', 'book-open')
+ON CONFLICT (id) DO NOTHING;
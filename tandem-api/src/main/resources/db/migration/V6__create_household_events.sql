@@ -0,0 +1,27 @@
+-- Change feed for household subscribers. Every row is announced on the household_events
+-- channel when its transaction commits; the table itself is kept for a few days so that
+-- reconnecting clients can resume from their Last-Event-ID.
+
+CREATE TABLE household_event (
+    id           BIGSERIAL    PRIMARY KEY,
+    household_id UUID         NOT NULL REFERENCES household (id) ON DELETE CASCADE,
+    type         VARCHAR(32)  NOT NULL,
+    payload      JSONB        NOT NULL,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+CREATE INDEX household_event_by_household_idx ON household_event (household_id, id);
+CREATE INDEX household_event_created_idx ON household_event (created_at);
+
+-- The notification only names the row ('<household_id>:<id>'); listeners read the rows they need
+CREATE FUNCTION notify_household_event() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_notify('household_events', NEW.household_id::text || ':' || NEW.id);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER household_event_inserted
+    AFTER INSERT ON household_event
+    FOR EACH ROW EXECUTE FUNCTION notify_household_event();
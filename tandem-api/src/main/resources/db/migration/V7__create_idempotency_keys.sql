@@ -0,0 +1,16 @@
+-- Responses to POSTs sent with an Idempotency-Key header, replayed for retries of the same key.
+-- A row without a status_code is still being processed by the node holding it until locked_until.
+CREATE TABLE idempotency_key (
+    scope            VARCHAR(255) NOT NULL,
+    idempotency_key  VARCHAR(255) NOT NULL,
+    request_hash     BYTEA        NOT NULL,
+    status_code      INTEGER,
+    headers          TEXT,
+    body             BYTEA,
+    locked_until     TIMESTAMPTZ,
+    created_at       TIMESTAMPTZ  NOT NULL,
+    expires_at       TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX idempotency_key_expires_idx ON idempotency_key (expires_at);
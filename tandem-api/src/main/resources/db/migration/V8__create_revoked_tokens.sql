@@ -0,0 +1,12 @@
+-- Access tokens revoked by logout, identified by their jti or, without one, the SHA-256 of the token.
+-- Nodes keep a Bloom filter of the live rows and only read this table when the filter reports a
+-- possible match; rows are useless once the token has expired and are purged after expires_at.
+CREATE TABLE revoked_token (
+    token_id    VARCHAR(255) PRIMARY KEY,
+    expires_at  TIMESTAMPTZ  NOT NULL,
+    revoked_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+-- Incremental sync picks up rows revoked since the last poll
+CREATE INDEX revoked_token_revoked_idx ON revoked_token (revoked_at);
+CREATE INDEX revoked_token_expires_idx ON revoked_token (expires_at);
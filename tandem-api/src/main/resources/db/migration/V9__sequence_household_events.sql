@@ -0,0 +1,24 @@
+-- Per-household event sequence. household_event.id follows insert order, not commit order, so
+-- a client resuming after an id could skip an event whose transaction committed after a later
+-- one. Publishing now draws seq from household.event_seq, whose row lock is held until commit:
+-- within a household, seqs are gapless and become visible in order, and clients resume from
+-- them. The id stays the row key the notifications name.
+
+ALTER TABLE household ADD COLUMN event_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE household_event ADD COLUMN seq BIGINT;
+
+UPDATE household_event e
+SET seq = numbered.seq
+FROM (SELECT id, row_number() OVER (PARTITION BY household_id ORDER BY id) AS seq
+      FROM household_event) numbered
+WHERE e.id = numbered.id;
+
+UPDATE household h
+SET event_seq = latest.seq
+FROM (SELECT household_id, max(seq) AS seq FROM household_event GROUP BY household_id) latest
+WHERE h.id = latest.household_id;
+
+ALTER TABLE household_event ALTER COLUMN seq SET NOT NULL;
+
+DROP INDEX household_event_by_household_idx;
+CREATE UNIQUE INDEX household_event_by_household_idx ON household_event (household_id, seq);
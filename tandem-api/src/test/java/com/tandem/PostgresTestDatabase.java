@@ -0,0 +1,44 @@
+package com.tandem;
+
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL for repository tests, so their SQL runs against the schema the application
+ * migrates to rather than a mock. One container is started on first use and shared by
+ * every test class; it is migrated with the Flyway scripts from {@code db/migration}.
+ * Test classes are annotated {@code @Testcontainers(disabledWithoutDocker = true)}, so they
+ * are skipped where Docker is not available, and clear the tables they use before each test.
+ */
+public final class PostgresTestDatabase {
+
+    // Same image as docker-compose.yml
+    private static final PostgreSQLContainer<?> CONTAINER = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DataSource dataSource;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            CONTAINER.start();
+            DataSource started = new DriverManagerDataSource(
+                    CONTAINER.getJdbcUrl(), CONTAINER.getUsername(), CONTAINER.getPassword());
+            Flyway.configure().dataSource(started).load().migrate();
+            dataSource = started;
+        }
+        return dataSource;
+    }
+
+    public static JdbcClient jdbcClient() {
+        return JdbcClient.create(dataSource());
+    }
+
+    public static void truncate(String... tables) {
+        jdbcClient().sql("TRUNCATE " + String.join(", ", tables) + " CASCADE").update();
+    }
+}
@@ -7,11 +7,14 @@ import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import com.tandem.auth.dto.Auth0TokenResponse;
+import com.tandem.auth.dto.SignUpRequest;
 import java.io.IOException;
+import java.time.Duration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
 class Auth0AuthenticationClientTest {
 
@@ -33,7 +36,7 @@ class Auth0AuthenticationClientTest {
                 "openid profile email"
         );
 
-        client = new Auth0AuthenticationClient(RestClient.builder(), properties);
+        client = new Auth0AuthenticationClient(RestClient.builder(), properties, Auth0CallExecutors.permissive());
     }
 
     @AfterEach
@@ -82,7 +85,95 @@ class Auth0AuthenticationClientTest {
 
         assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "wrong"))
                 .isInstanceOf(InvalidCredentialsException.class)
-                .hasMessageContaining("rejected");
+                .hasMessageContaining("rejected")
+                .hasNoCause();
+    }
+
+    @Test
+    void exchangeCredentialsDecodesUnverifiedEmail() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"unauthorized\",\"error_description\":\"Please verify your email before logging in.\"}"));
+
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class, ex -> {
+                    assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.EMAIL_NOT_VERIFIED);
+                    assertThat(ex.getStackTrace()).isEmpty();
+                });
+    }
+
+    @Test
+    void exchangeCredentialsDecodesTooManyAttemptsAndBlockedUser() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"too_many_attempts\",\"error_description\":\"Your account has been blocked after multiple consecutive login attempts.\"}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"unauthorized\",\"error_description\":\"user is blocked\"}"));
+
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.TOO_MANY_ATTEMPTS));
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.BLOCKED_USER));
+    }
+
+    @Test
+    void exchangeCredentialsTreatsUnreadableErrorBodyAsUnknown() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("Content-Type", "text/html")
+                .setBody("<html>Forbidden</html>"));
+
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.UNKNOWN));
+    }
+
+    @Test
+    void signUpDecodesExistingUser() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"name\":\"BadRequestError\",\"code\":\"user_exists\",\"description\":\"The user already exists.\",\"statusCode\":400}"));
+
+        assertThatThrownBy(() -> client.signUp(new SignUpRequest("user@example.com", "password123", null, null, null)))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.USER_EXISTS));
+    }
+
+    @Test
+    void refreshTokensUsesRefreshTokenGrant() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"access-2\",\"refresh_token\":\"rotated\",\"expires_in\":86400,\"token_type\":\"Bearer\"}"));
+
+        Auth0TokenResponse response = client.refreshTokens("refresh");
+
+        assertThat(response.accessToken()).isEqualTo("access-2");
+        assertThat(response.refreshToken()).isEqualTo("rotated");
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/oauth/token");
+        String body = request.getBody().readUtf8();
+        assertThat(body).contains("\"grant_type\":\"refresh_token\"");
+        assertThat(body).contains("\"refresh_token\":\"refresh\"");
+    }
+
+    @Test
+    void refreshTokensRejectsRevokedToken() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"invalid_grant\",\"error_description\":\"Unknown or invalid refresh token.\"}"));
+
+        assertThatThrownBy(() -> client.refreshTokens("revoked"))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("Refresh token is invalid");
     }
 
     @Test
@@ -91,6 +182,87 @@ class Auth0AuthenticationClientTest {
 
         assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
                 .isInstanceOf(Auth0ClientException.class)
-                .hasMessageContaining("unexpected error");
+                .hasMessageContaining("unexpected error")
+                .hasCauseInstanceOf(RestClientResponseException.class);
+    }
+
+    @Test
+    void userInfoRateLimitIsAnOutageToRetry() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Retry-After", "7")
+                .setBody("{\"error\":\"too_many_requests\",\"error_description\":\"Too Many Requests\"}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429));
+
+        assertThatThrownBy(() -> client.userInfo("access"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class, ex -> {
+                    assertThat(ex.operation()).isEqualTo(Auth0Operation.USERINFO);
+                    assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(7));
+                });
+        assertThatThrownBy(() -> client.userInfo("access"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void userInfoTreatsOnlyUnauthorizedAsInvalidCredentials() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"invalid_token\"}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(403));
+
+        assertThatThrownBy(() -> client.userInfo("expired"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> client.userInfo("access"))
+                .isExactlyInstanceOf(Auth0ClientException.class)
+                .hasMessageContaining("rejected the user profile request");
+    }
+
+    @Test
+    void exchangeCredentialsRateLimitIsAnOutageToRetry() {
+        mockWebServer.enqueue(rateLimited());
+
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class, ex -> {
+                    assertThat(ex.operation()).isEqualTo(Auth0Operation.TOKEN);
+                    assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(7));
+                });
+    }
+
+    @Test
+    void refreshTokensRateLimitIsAnOutageToRetry() {
+        mockWebServer.enqueue(rateLimited());
+
+        assertThatThrownBy(() -> client.refreshTokens("refresh"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.operation()).isEqualTo(Auth0Operation.REFRESH));
+    }
+
+    @Test
+    void signUpRateLimitIsAnOutageToRetry() {
+        mockWebServer.enqueue(rateLimited());
+
+        assertThatThrownBy(() -> client.signUp(new SignUpRequest("new@example.com", "password123", null, null, null)))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.operation()).isEqualTo(Auth0Operation.SIGNUP));
+    }
+
+    @Test
+    void revokeRefreshTokenRateLimitIsAnOutageToRetry() {
+        mockWebServer.enqueue(rateLimited());
+
+        assertThatThrownBy(() -> client.revokeRefreshToken("refresh"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.operation()).isEqualTo(Auth0Operation.REVOKE));
+    }
+
+    private static MockResponse rateLimited() {
+        return new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Retry-After", "7")
+                .setBody("{\"error\":\"too_many_requests\",\"error_description\":\"Global limit has been reached\"}");
     }
 }
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.when;
 import com.tandem.auth.dto.Auth0TokenResponse;
 import com.tandem.auth.dto.LoginRequest;
 import com.tandem.auth.dto.LoginResponse;
+import com.tandem.auth.dto.RefreshTokenRequest;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -14,7 +16,11 @@ class Auth0AuthenticationServiceTest {
     @Test
     void loginDelegatesToAuth0ClientAndMapsResponse() {
         Auth0AuthenticationClient client = Mockito.mock(Auth0AuthenticationClient.class);
-        Auth0AuthenticationService service = new Auth0AuthenticationService(client);
+        AuthConcurrencyLimiter limiter = new AuthConcurrencyLimiter(
+                new AuthConcurrencyProperties(10, 10, 10, 10, Duration.ofMillis(100)),
+                Auth0CallExecutors.httpProperties(50));
+        Auth0AuthenticationService service = new Auth0AuthenticationService(client, limiter,
+                new AuthCoalescingProperties(Duration.ZERO));
 
         Auth0TokenResponse tokenResponse = new Auth0TokenResponse(
                 "access",
@@ -36,4 +42,37 @@ class Auth0AuthenticationServiceTest {
         assertThat(response.tokenType()).isEqualTo("Bearer");
         assertThat(response.scope()).isEqualTo("openid profile");
     }
+
+    @Test
+    void refreshReturnsRotatedRefreshTokenWhenAuth0IssuesOne() {
+        Auth0AuthenticationClient client = Mockito.mock(Auth0AuthenticationClient.class);
+        Auth0AuthenticationService service = new Auth0AuthenticationService(client, new AuthConcurrencyLimiter(
+                new AuthConcurrencyProperties(10, 10, 10, 10, Duration.ofMillis(100)),
+                Auth0CallExecutors.httpProperties(50)),
+                new AuthCoalescingProperties(Duration.ZERO));
+
+        when(client.refreshTokens("old-refresh")).thenReturn(
+                new Auth0TokenResponse("access-2", 7200, "Bearer", null, "openid", "new-refresh"));
+
+        LoginResponse response = service.refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertThat(response.accessToken()).isEqualTo("access-2");
+        assertThat(response.refreshToken()).isEqualTo("new-refresh");
+    }
+
+    @Test
+    void refreshKeepsPresentedRefreshTokenWhenRotationIsDisabled() {
+        Auth0AuthenticationClient client = Mockito.mock(Auth0AuthenticationClient.class);
+        Auth0AuthenticationService service = new Auth0AuthenticationService(client, new AuthConcurrencyLimiter(
+                new AuthConcurrencyProperties(10, 10, 10, 10, Duration.ofMillis(100)),
+                Auth0CallExecutors.httpProperties(50)),
+                new AuthCoalescingProperties(Duration.ZERO));
+
+        when(client.refreshTokens("long-lived")).thenReturn(
+                new Auth0TokenResponse("access-2", 7200, "Bearer", null, "openid", null));
+
+        LoginResponse response = service.refresh(new RefreshTokenRequest("long-lived"));
+
+        assertThat(response.refreshToken()).isEqualTo("long-lived");
+    }
 }
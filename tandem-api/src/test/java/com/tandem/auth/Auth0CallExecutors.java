@@ -0,0 +1,30 @@
+package com.tandem.auth;
+
+import com.tandem.auth.resilience.Auth0CallExecutor;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+
+/**
+ * Executors for tests that exercise {@link Auth0AuthenticationClient} without tripping its protections.
+ */
+public final class Auth0CallExecutors {
+
+    private Auth0CallExecutors() {
+    }
+
+    public static Auth0CallExecutor permissive() {
+        return new Auth0CallExecutor(new Auth0ResilienceProperties(
+                100, 100, 100, Duration.ofSeconds(30), 3,
+                1000, 1000, 1000, 1000, Duration.ofSeconds(30), 0.9), httpProperties(1000), ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Default transport settings with the given pool size, which the executor's limits are capped at.
+     */
+    public static Auth0HttpProperties httpProperties(int connectionsPerRoute) {
+        return new Auth0HttpProperties(connectionsPerRoute, connectionsPerRoute * 2,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMillis(500),
+                Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofMinutes(5), Duration.ofSeconds(2),
+                false);
+    }
+}
@@ -0,0 +1,120 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.auth.dto.SignUpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The pre-encoded bodies must be the same JSON documents the client used to build as maps
+ * and serialize with Jackson.
+ */
+class Auth0RequestBodiesTest {
+
+    private static final String TRICKY =
+            "p\"a\\s/s\b\f\n\r\t\u0000\u001f\u007f \u00e9 \u00df \u20ac \u2028 \ud83d\ude00 \u6f22\u5b57";
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final Auth0Properties properties = new Auth0Properties(
+            "https://tenant.example.com",
+            "client-id",
+            "client-\"secret\\",
+            "https://api.example.com",
+            "Username-Password-Authentication",
+            null
+    );
+    private final Auth0RequestBodies bodies = new Auth0RequestBodies(properties);
+
+    @Test
+    void passwordRealmMatchesMapPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("grant_type", Auth0RequestBodies.PASSWORD_REALM_GRANT);
+        payload.put("username", "user@example.com");
+        payload.put("password", TRICKY);
+        payload.put("audience", properties.audience());
+        payload.put("client_id", properties.clientId());
+        payload.put("client_secret", properties.clientSecret());
+        payload.put("realm", properties.realm());
+        payload.put("scope", properties.resolvedScope());
+
+        assertSameDocument(bodies.passwordRealm("user@example.com", TRICKY), payload);
+    }
+
+    @Test
+    void refreshMatchesMapPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("grant_type", Auth0RequestBodies.REFRESH_TOKEN_GRANT);
+        payload.put("refresh_token", "v1.MRrt\"NX6");
+        payload.put("client_id", properties.clientId());
+        payload.put("client_secret", properties.clientSecret());
+
+        assertSameDocument(bodies.refresh("v1.MRrt\"NX6"), payload);
+    }
+
+    @Test
+    void signupMatchesMapPayloadWithAndWithoutProfileFields() {
+        Map<String, Object> minimal = new HashMap<>();
+        minimal.put("client_id", properties.clientId());
+        minimal.put("email", "new@example.com");
+        minimal.put("password", TRICKY);
+        minimal.put("connection", properties.realm());
+        assertSameDocument(bodies.signup(new SignUpRequest("new@example.com", TRICKY, " ", null, "")), minimal);
+
+        Map<String, Object> full = new HashMap<>(minimal);
+        full.put("name", "Zo\u00eb \"Z\" \u00dcnal");
+        full.put("given_name", "Zo\u00eb");
+        full.put("family_name", "\u00dcnal");
+        assertSameDocument(bodies.signup(
+                new SignUpRequest("new@example.com", TRICKY, "Zo\u00eb \"Z\" \u00dcnal", "Zo\u00eb", "\u00dcnal")), full);
+    }
+
+    @Test
+    void resendVerificationMatchesMapPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("client_id", properties.clientId());
+        payload.put("email", "user@example.com");
+        payload.put("connection", properties.realm());
+
+        assertSameDocument(bodies.resendVerification("user@example.com"), payload);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "plain", TRICKY, "\u0001\u0002\u0003\u0019", "\ud834\udd1e outside the BMP"})
+    void stringsAreEncodedByteForByteLikeJackson(String value) {
+        byte[] encoded = JsonStringEncoder.encode(value);
+
+        assertThat(encoded).hasSize(JsonStringEncoder.encodedLength(value));
+        assertThat(new String(encoded, StandardCharsets.UTF_8))
+                .isEqualTo(new String(mapper.writeValueAsBytes(value), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void loneSurrogateIsReplacedInsteadOfProducingInvalidUtf8() {
+        byte[] encoded = JsonStringEncoder.encode("a\uD800b");
+
+        assertThat(encoded).hasSize(JsonStringEncoder.encodedLength("a\uD800b"));
+        assertThat(mapper.readValue(encoded, String.class)).isEqualTo("a\ufffdb");
+    }
+
+    @Test
+    void revokeMatchesMapPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("client_id", properties.clientId());
+        payload.put("client_secret", properties.clientSecret());
+        payload.put("token", TRICKY);
+
+        assertSameDocument(bodies.revoke(TRICKY), payload);
+    }
+
+    private void assertSameDocument(byte[] body, Map<String, Object> payload) {
+        JsonNode expected = mapper.readTree(mapper.writeValueAsBytes(payload));
+        assertThat(mapper.readTree(body)).isEqualTo(expected);
+    }
+}
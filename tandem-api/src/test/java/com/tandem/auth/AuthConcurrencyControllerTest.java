@@ -0,0 +1,111 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.tandem.auth.dto.Auth0TokenResponse;
+import com.tandem.auth.ratelimit.AuthRateLimiter;
+import com.tandem.auth.revocation.LogoutService;
+import com.tandem.auth.signup.AsyncSignupService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Drives the concurrency caps through the controller, with the real service and limiter and
+ * only the Auth0 client mocked.
+ */
+@WebMvcTest(controllers = AuthController.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {
+                AuthExceptionHandler.class, Auth0AuthenticationService.class, AuthConcurrencyLimiter.class}),
+        properties = {"auth0.concurrency.login=1", "auth0.concurrency.acquire-timeout=50ms"})
+@AutoConfigureMockMvc(addFilters = false)
+class AuthConcurrencyControllerTest {
+
+    private static final Auth0TokenResponse TOKENS =
+            new Auth0TokenResponse("access", 3600, "Bearer", "id", "openid", "refresh");
+
+    @TestConfiguration
+    @EnableConfigurationProperties({AuthConcurrencyProperties.class, Auth0HttpProperties.class,
+            AuthCoalescingProperties.class})
+    static class Properties {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private Auth0AuthenticationClient auth0Client;
+
+    @MockBean
+    private AuthRateLimiter rateLimiter;
+
+    @MockBean
+    private AsyncSignupService asyncSignupService;
+
+    @MockBean
+    private UserProfileService userProfileService;
+
+    @MockBean
+    private LogoutService logoutService;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void saturatedLoginIsBusyWhileRefreshIsStillServed() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(auth0Client.exchangeCredentials(anyString(), anyString())).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return TOKENS;
+        });
+        when(auth0Client.refreshTokens(anyString())).thenReturn(TOKENS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<MvcResult> first = executor.submit(() -> mockMvc.perform(login("first@example.com")).andReturn());
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.perform(login("second@example.com"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("auth_busy"));
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"refresh-token\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accessToken").value("access"));
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(200);
+        }
+    }
+
+    private static MockHttpServletRequestBuilder login(String email) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}");
+    }
+}
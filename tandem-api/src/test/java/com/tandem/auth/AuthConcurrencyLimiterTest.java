@@ -0,0 +1,155 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.auth.dto.Auth0TokenResponse;
+import com.tandem.auth.dto.LoginRequest;
+import com.tandem.auth.dto.RefreshTokenRequest;
+import com.tandem.auth.dto.ResendVerificationRequest;
+import com.tandem.auth.dto.SignUpRequest;
+import com.tandem.auth.dto.SignUpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AuthConcurrencyLimiterTest {
+
+    private static final int POOL = 50;
+    private static final int CONCURRENT_LOGINS = 3000;
+    private static final AuthConcurrencyProperties DEFAULTS =
+            new AuthConcurrencyProperties(null, null, null, null, Duration.ofMillis(50));
+
+    @Test
+    void defaultCapsAreSharesThatAddUpToThePool() {
+        int total = 0;
+        for (AuthEndpoint endpoint : AuthEndpoint.values()) {
+            int limit = DEFAULTS.limitFor(endpoint, POOL);
+            assertThat(limit).isPositive().isLessThan(POOL);
+            total += limit;
+        }
+        assertThat(total).isLessThanOrEqualTo(POOL);
+        assertThat(new AuthConcurrencyProperties(200, null, null, null, Duration.ofMillis(50))
+                .limitFor(AuthEndpoint.LOGIN, POOL)).isEqualTo(POOL);
+    }
+
+    @Test
+    void saturatedLoginsLeaveRoomForRefreshAndSignup() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Auth0AuthenticationClient client = Mockito.mock(Auth0AuthenticationClient.class);
+        when(client.exchangeCredentials(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return new Auth0TokenResponse("access", 3600, "Bearer", "id", "openid", "refresh");
+        });
+        when(client.refreshTokens(anyString()))
+                .thenReturn(new Auth0TokenResponse("access", 3600, "Bearer", "id", "openid", "refresh"));
+        when(client.signUp(any())).thenReturn(new SignUpResponse("auth0|new", "new@example.com", false,
+                null, null, null, null, null, null, null, null));
+
+        AuthConcurrencyLimiter limiter = new AuthConcurrencyLimiter(DEFAULTS, Auth0CallExecutors.httpProperties(POOL));
+        Auth0AuthenticationService service = new Auth0AuthenticationService(client, limiter,
+                new AuthCoalescingProperties(Duration.ZERO));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> logins = new ArrayList<>();
+            for (int i = 0; i < POOL; i++) {
+                String email = "user" + i + "@example.com";
+                logins.add(executor.submit(() -> {
+                    try {
+                        service.login(new LoginRequest(email, "password123"));
+                    } catch (AuthCapacityExceededException ex) {
+                        // Past the login share; the point is that the share is exhausted
+                    }
+                }));
+            }
+            awaitExhausted(limiter, AuthEndpoint.LOGIN);
+
+            assertThat(service.refresh(new RefreshTokenRequest("refresh-token")).accessToken())
+                    .isEqualTo("access");
+            assertThat(service.signup(new SignUpRequest("new@example.com", "password123", null, null, null)).id())
+                    .isEqualTo("auth0|new");
+
+            release.countDown();
+            for (Future<?> login : logins) {
+                login.get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void thousandsOfSlowLoginsDoNotStarveOtherEndpoints() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Auth0AuthenticationClient client = Mockito.mock(Auth0AuthenticationClient.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.exchangeCredentials(anyString(), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                return new Auth0TokenResponse("access", 3600, "Bearer", "id", "openid", "refresh");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        doNothing().when(client).resendVerificationEmail(anyString());
+
+        AuthConcurrencyLimiter limiter = new AuthConcurrencyLimiter(DEFAULTS, Auth0CallExecutors.httpProperties(POOL));
+        int loginLimit = DEFAULTS.limitFor(AuthEndpoint.LOGIN, POOL);
+        Auth0AuthenticationService service = new Auth0AuthenticationService(client, limiter,
+                new AuthCoalescingProperties(Duration.ZERO));
+
+        AtomicInteger served = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> logins = new ArrayList<>(CONCURRENT_LOGINS);
+            for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+                logins.add(executor.submit(() -> {
+                    try {
+                        service.login(new LoginRequest("user@example.com", "password123"));
+                        served.incrementAndGet();
+                    } catch (AuthCapacityExceededException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+
+            awaitExhausted(limiter, AuthEndpoint.LOGIN);
+
+            // Every login slot is held until release, so this only succeeds on its own permit
+            service.resendVerification(new ResendVerificationRequest("other@example.com"));
+            verify(client).resendVerificationEmail("other@example.com");
+            assertThat(limiter.available(AuthEndpoint.LOGIN)).isZero();
+
+            release.countDown();
+            for (Future<?> login : logins) {
+                login.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(loginLimit);
+        assertThat(served.get()).isGreaterThanOrEqualTo(loginLimit);
+        assertThat(rejected.get()).isPositive();
+        assertThat(served.get() + rejected.get()).isEqualTo(CONCURRENT_LOGINS);
+    }
+
+    private static void awaitExhausted(AuthConcurrencyLimiter limiter, AuthEndpoint endpoint)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (limiter.available(endpoint) > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(limiter.available(endpoint)).as("available %s permits", endpoint).isZero();
+    }
+}
@@ -1,12 +1,26 @@
 package com.tandem.auth;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.tandem.auth.dto.LoginResponse;
+import com.tandem.auth.dto.UserProfileResponse;
+import com.tandem.auth.ratelimit.AuthRateLimiter;
+import com.tandem.auth.revocation.LogoutService;
+import com.tandem.auth.signup.AsyncSignupService;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -29,6 +43,18 @@ class AuthControllerTest {
     @MockBean
     private Auth0AuthenticationService authenticationService;
 
+    @MockBean
+    private AuthRateLimiter rateLimiter;
+
+    @MockBean
+    private AsyncSignupService asyncSignupService;
+
+    @MockBean
+    private UserProfileService userProfileService;
+
+    @MockBean
+    private LogoutService logoutService;
+
     @MockBean
     private JwtDecoder jwtDecoder;
 
@@ -65,6 +91,37 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.code").value("invalid_credentials"));
     }
 
+    @Test
+    void loginReturnsTooManyRequestsWhenAuth0ThrottlesTheAccount() throws Exception {
+        when(authenticationService.login(any()))
+                .thenThrow(new InvalidCredentialsException(Auth0ErrorCode.TOO_MANY_ATTEMPTS, null));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{" +
+                                "\"email\":\"user@example.com\"," +
+                                "\"password\":\"password123\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("too_many_attempts"));
+    }
+
+    @Test
+    void loginReturnsTooManyRequestsWithoutCallingAuth0WhenRateLimited() throws Exception {
+        doThrow(new RateLimitExceededException(AuthEndpoint.LOGIN, Duration.ofMillis(1500)))
+                .when(rateLimiter).check(eq(AuthEndpoint.LOGIN), any(), eq("user@example.com"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{" +
+                                "\"email\":\"user@example.com\"," +
+                                "\"password\":\"password123\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.code").value("rate_limited"));
+
+        verifyNoInteractions(authenticationService);
+    }
+
     @Test
     void loginReturnsBadRequestWhenPayloadInvalid() throws Exception {
         mockMvc.perform(post("/api/auth/login")
@@ -75,4 +132,69 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.code").value("validation_failed"));
     }
+
+    @Test
+    void signupIsAcceptedIntoTheOutboxWhenAsync() throws Exception {
+        UUID id = UUID.fromString("0b6f7f0e-4d1b-4c8e-9a51-3c2b1d7e9f10");
+        when(asyncSignupService.enabled()).thenReturn(true);
+        when(asyncSignupService.enqueue(any())).thenReturn(id);
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{" +
+                                "\"email\":\"new@example.com\"," +
+                                "\"password\":\"password123\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/auth/signup/" + id))
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void secondSignupForAnOpenEmailIsAConflict() throws Exception {
+        when(asyncSignupService.enabled()).thenReturn(true);
+        when(asyncSignupService.enqueue(any())).thenThrow(new SignupInProgressException());
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{" +
+                                "\"email\":\"new@example.com\"," +
+                                "\"password\":\"password123\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("signup_in_progress"));
+    }
+
+    @Test
+    void signupStatusReturnsNotFoundForUnknownId() throws Exception {
+        when(asyncSignupService.status(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/auth/signup/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void meReturnsTheProfileOfTheAuthenticatedUser() throws Exception {
+        when(userProfileService.profile(any())).thenReturn(new UserProfileResponse(
+                "auth0|user", "user@example.com", true, "Ada Lovelace", "Ada", "Lovelace", "ada", null));
+
+        mockMvc.perform(get("/api/auth/me").with(jwt().jwt(token -> token.subject("auth0|user"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sub").value("auth0|user"))
+                .andExpect(jsonPath("$.email_verified").value(true))
+                .andExpect(jsonPath("$.given_name").value("Ada"))
+                .andExpect(jsonPath("$.family_name").value("Lovelace"));
+    }
+
+    @Test
+    void logoutRevokesTheTokensAndReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .with(jwt().jwt(token -> token.subject("auth0|user")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"refresh\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(logoutService).logout(any(), eq("refresh"));
+    }
 }
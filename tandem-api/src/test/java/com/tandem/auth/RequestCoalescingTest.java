@@ -0,0 +1,166 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.auth.dto.ResendVerificationRequest;
+import com.tandem.auth.dto.SignUpRequest;
+import com.tandem.auth.dto.SignUpResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class RequestCoalescingTest {
+
+    private static final int CALLERS = 50;
+
+    private MockWebServer mockWebServer;
+    private Auth0AuthenticationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        Auth0Properties properties = new Auth0Properties(
+                mockWebServer.url("/").toString(),
+                "client-id",
+                "client-secret",
+                "https://api.example.com",
+                "Username-Password-Authentication",
+                "openid profile email"
+        );
+        Auth0AuthenticationClient client = new Auth0AuthenticationClient(
+                RestClient.builder(), properties, Auth0CallExecutors.permissive());
+        AuthConcurrencyLimiter limiter = new AuthConcurrencyLimiter(
+                new AuthConcurrencyProperties(100, 100, 100, 100, Duration.ofSeconds(1)),
+                Auth0CallExecutors.httpProperties(1000));
+        service = new Auth0AuthenticationService(client, limiter, new AuthCoalescingProperties(Duration.ofMillis(300)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void concurrentResendRequestsProduceOneOutboundCall() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        runConcurrently(i -> service.resendVerification(
+                new ResendVerificationRequest(i % 2 == 0 ? "user@example.com" : "USER@example.com ")));
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentSignupsShareResultAndRetryAfterWindowCallsAgain() throws Exception {
+        mockWebServer.enqueue(signupResponse().setBodyDelay(200, TimeUnit.MILLISECONDS));
+        mockWebServer.enqueue(signupResponse());
+
+        List<Object> results = runConcurrently(i -> service.signup(
+                new SignUpRequest("new@example.com", "password123", null, null, null)));
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(results).allSatisfy(result ->
+                assertThat(result).isInstanceOfSatisfying(SignUpResponse.class,
+                        response -> assertThat(response.id()).isEqualTo("auth0|123")));
+
+        TimeUnit.MILLISECONDS.sleep(500);
+        service.signup(new SignUpRequest("new@example.com", "password123", null, null, null));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void signupsForOneEmailWithDifferentPayloadsAreNotShared() throws Exception {
+        mockWebServer.enqueue(signupResponse().setBodyDelay(200, TimeUnit.MILLISECONDS));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"code\":\"user_exists\",\"description\":\"The user already exists.\"}"));
+        SignUpRequest first = new SignUpRequest("new@example.com", "password123", "First", null, null);
+        SignUpRequest second = new SignUpRequest("NEW@example.com", "different456", "Second", null, null);
+
+        Object secondOutcome;
+        Object firstOutcome;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> firstResult = executor.submit(() -> signupOutcome(first));
+            TimeUnit.MILLISECONDS.sleep(50);
+            secondOutcome = signupOutcome(second);
+            firstOutcome = firstResult.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(firstOutcome).isEqualTo("auth0|123");
+        assertThat(secondOutcome).isEqualTo(Auth0ErrorCode.USER_EXISTS);
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("password123");
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("different456");
+    }
+
+    @Test
+    void concurrentCallersShareTheSameFailure() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"code\":\"user_exists\",\"description\":\"The user already exists.\"}")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        List<Object> results = runConcurrently(i -> {
+            try {
+                return service.signup(new SignUpRequest("taken@example.com", "password123", null, null, null));
+            } catch (InvalidCredentialsException ex) {
+                return ex.errorCode();
+            }
+        });
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(results).containsOnly(Auth0ErrorCode.USER_EXISTS);
+    }
+
+    private Object signupOutcome(SignUpRequest request) {
+        try {
+            return service.signup(request).id();
+        } catch (InvalidCredentialsException ex) {
+            return ex.errorCode();
+        }
+    }
+
+    private List<Object> runConcurrently(IntFunction<Object> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                int caller = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.apply(caller);
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private static MockResponse signupResponse() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"_id\":\"auth0|123\",\"email\":\"new@example.com\",\"email_verified\":false}");
+    }
+}
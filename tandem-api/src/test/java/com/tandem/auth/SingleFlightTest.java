@@ -0,0 +1,61 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMinutes(1));
+
+    @Test
+    void errorInTheCallReleasesJoinersAndIsNotShared() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> owner = executor.submit(() -> singleFlight.execute("key", () -> {
+                running.countDown();
+                await(fail);
+                throw new AssertionError("boom");
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Thread> joinerThread = new CompletableFuture<>();
+            Future<String> joiner = executor.submit(() -> {
+                joinerThread.complete(Thread.currentThread());
+                return singleFlight.execute("key", () -> "not run");
+            });
+            // Fail the call only once the joiner is parked on it
+            Thread parked = joinerThread.get(5, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (parked.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            fail.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> joiner.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AssertionError.class);
+        }
+
+        assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
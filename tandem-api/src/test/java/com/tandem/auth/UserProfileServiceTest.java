@@ -0,0 +1,132 @@
+package com.tandem.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.tandem.auth.dto.UserProfileResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class UserProfileServiceTest {
+
+    private static final String SUBJECT = "auth0|user";
+
+    private final Auth0AuthenticationClient auth0Client = mock(Auth0AuthenticationClient.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    void profileClaimsInTheTokenAreUsedWithoutCallingAuth0() {
+        UserProfileService service = newService("https://tandem.app/");
+        Jwt jwt = jwtBuilder("token")
+                .claim("https://tandem.app/email", "user@example.com")
+                .claim("https://tandem.app/email_verified", true)
+                .claim("https://tandem.app/name", "Ada Lovelace")
+                .claim("given_name", "Ada")
+                .build();
+
+        UserProfileResponse profile = service.profile(jwt);
+
+        assertThat(profile).isEqualTo(new UserProfileResponse(
+                SUBJECT, "user@example.com", true, "Ada Lovelace", "Ada", null, null, null));
+        verifyNoInteractions(auth0Client);
+    }
+
+    @Test
+    void userInfoIsLoadedOncePerSubject() {
+        UserProfileService service = newService("");
+        when(auth0Client.userInfo("first")).thenReturn(profile("Ada"));
+
+        service.profile(jwtBuilder("first").build());
+        UserProfileResponse second = service.profile(jwtBuilder("second").build());
+
+        assertThat(second.name()).isEqualTo("Ada");
+        verify(auth0Client, times(1)).userInfo("first");
+        verify(auth0Client, times(0)).userInfo("second");
+    }
+
+    @Test
+    void staleEntryIsServedWhileItRefreshesInTheBackground() throws InterruptedException {
+        UserProfileService service = newService("");
+        when(auth0Client.userInfo("first")).thenReturn(profile("Ada"));
+        when(auth0Client.userInfo("second")).thenReturn(profile("Ada King"));
+        service.profile(jwtBuilder("first").build());
+
+        clock.advance(Duration.ofMinutes(11));
+        UserProfileResponse stale = service.profile(jwtBuilder("second").build());
+        refresher.shutdown();
+        assertThat(refresher.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(stale.name()).isEqualTo("Ada");
+        assertThat(service.profile(jwtBuilder("third").build()).name()).isEqualTo("Ada King");
+        verify(auth0Client, times(1)).userInfo("second");
+    }
+
+    @Test
+    void expiredEntryIsLoadedAgain() {
+        UserProfileService service = newService("");
+        when(auth0Client.userInfo("first")).thenReturn(profile("Ada"));
+        when(auth0Client.userInfo("second")).thenReturn(profile("Ada King"));
+        service.profile(jwtBuilder("first").build());
+
+        clock.advance(Duration.ofHours(2));
+
+        assertThat(service.profile(jwtBuilder("second").build()).name()).isEqualTo("Ada King");
+    }
+
+    private UserProfileService newService(String claimNamespace) {
+        return new UserProfileService(auth0Client,
+                new UserProfileProperties(claimNamespace, 100, Duration.ofHours(1), Duration.ofMinutes(10)),
+                clock, refresher);
+    }
+
+    private static UserProfileResponse profile(String name) {
+        return new UserProfileResponse(SUBJECT, "user@example.com", true, name, null, null, null, null);
+    }
+
+    private static Jwt.Builder jwtBuilder(String token) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject(SUBJECT);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
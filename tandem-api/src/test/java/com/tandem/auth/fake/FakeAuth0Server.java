@@ -0,0 +1,372 @@
+package com.tandem.auth.fake;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Local stand-in for the parts of the Auth0 authentication API that tandem-api uses: the
+ * password-realm and refresh-token grants, database signup and verification email, and the
+ * discovery and JWKS documents. Access and ID tokens are real RS256 JWTs signed with a key
+ * published at {@code /.well-known/jwks.json}, so the resource server validates them exactly
+ * as it would Auth0's.
+ * <p>
+ * Latency and failures can be injected for the API endpoints; the key documents are always
+ * served promptly. Users live in memory and signups start unverified unless
+ * {@link #autoVerifySignups(boolean)} is set.
+ */
+public final class FakeAuth0Server implements AutoCloseable {
+
+    public static final String PASSWORD_REALM_GRANT = "http://auth0.com/oauth/grant-type/password-realm";
+    public static final String REFRESH_TOKEN_GRANT = "refresh_token";
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(24);
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final MockWebServer server = new MockWebServer();
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final RSAKey signingKey;
+    private final JWSSigner signer;
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessionsByRefreshToken = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestsByPath = new ConcurrentHashMap<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration latencyJitter = Duration.ZERO;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+    private volatile boolean autoVerifySignups;
+    private volatile boolean rotateRefreshTokens;
+
+    private FakeAuth0Server() throws JOSEException {
+        this.signingKey = new RSAKeyGenerator(2048).keyID("fake-" + UUID.randomUUID()).generate();
+        this.signer = new RSASSASigner(signingKey);
+    }
+
+    public static FakeAuth0Server start() throws IOException {
+        FakeAuth0Server fake;
+        try {
+            fake = new FakeAuth0Server();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to generate a signing key", ex);
+        }
+        fake.server.setDispatcher(fake.new Auth0Dispatcher());
+        fake.server.start();
+        return fake;
+    }
+
+    /** Value for {@code auth0.domain}. */
+    public String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    public String issuer() {
+        return baseUrl() + "/";
+    }
+
+    public String jwksUri() {
+        return baseUrl() + "/.well-known/jwks.json";
+    }
+
+    public FakeAuth0Server withUser(String email, String password, boolean verified) {
+        usersByEmail.put(email, new User(newUserId(), email, password, verified));
+        return this;
+    }
+
+    /** Delays every API response by {@code base} plus up to {@code jitter}. */
+    public FakeAuth0Server latency(Duration base, Duration jitter) {
+        this.latency = base;
+        this.latencyJitter = jitter;
+        return this;
+    }
+
+    /** Answers {@code rate} of API requests with {@code status} instead of handling them. */
+    public FakeAuth0Server failing(double rate, int status) {
+        this.failureRate = rate;
+        this.failureStatus = status;
+        return this;
+    }
+
+    public FakeAuth0Server autoVerifySignups(boolean autoVerify) {
+        this.autoVerifySignups = autoVerify;
+        return this;
+    }
+
+    public FakeAuth0Server rotateRefreshTokens(boolean rotate) {
+        this.rotateRefreshTokens = rotate;
+        return this;
+    }
+
+    /** A valid access token for an existing user, without a round trip. */
+    public String accessTokenFor(String email, String audience) {
+        User user = usersByEmail.get(email);
+        if (user == null) {
+            throw new IllegalArgumentException("Unknown user " + email);
+        }
+        return sign(accessTokenClaims(user, audience, "fake-client", "openid profile email"));
+    }
+
+    public long requestCount(String path) {
+        LongAdder count = requestsByPath.get(path);
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private final class Auth0Dispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getRequestUrl() == null ? "" : request.getRequestUrl().encodedPath();
+            requestsByPath.computeIfAbsent(path, p -> new LongAdder()).increment();
+
+            switch (path) {
+                case "/.well-known/jwks.json":
+                    return json(200, new JWKSet(signingKey.toPublicJWK()).toString());
+                case "/.well-known/openid-configuration":
+                    return json(200, discoveryDocument());
+                default:
+                    break;
+            }
+
+            MockResponse response;
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                response = injectedFailure();
+            } else {
+                Map<String, Object> body = readBody(request);
+                response = switch (path) {
+                    case "/oauth/token" -> token(body);
+                    case "/dbconnections/signup" -> signup(body);
+                    case "/dbconnections/resend_verification" -> resendVerification(body);
+                    default -> json(404, "{\"error\":\"not_found\"}");
+                };
+            }
+            return delayed(response);
+        }
+    }
+
+    private MockResponse token(Map<String, Object> body) {
+        String grantType = string(body, "grant_type");
+        String clientId = string(body, "client_id");
+        if (PASSWORD_REALM_GRANT.equals(grantType)) {
+            User user = usersByEmail.get(string(body, "username"));
+            if (user == null || !user.password().equals(string(body, "password"))) {
+                return error(403, "invalid_grant", "Wrong email or password.");
+            }
+            if (!user.verified()) {
+                return error(401, "unauthorized", "Please verify your email before logging in.");
+            }
+            String scope = body.containsKey("scope") ? string(body, "scope") : "openid profile email";
+            String refreshToken = null;
+            if (scope.contains("offline_access")) {
+                refreshToken = newRefreshToken(new Session(user.email(), string(body, "audience"), scope));
+            }
+            return tokens(user, string(body, "audience"), clientId, scope, refreshToken);
+        }
+        if (REFRESH_TOKEN_GRANT.equals(grantType)) {
+            String refreshToken = string(body, "refresh_token");
+            Session session = refreshToken == null ? null : sessionsByRefreshToken.get(refreshToken);
+            if (session == null) {
+                return error(403, "invalid_grant", "Unknown or invalid refresh token.");
+            }
+            // Auth0 omits refresh_token from the response unless rotation is enabled
+            String rotated = null;
+            if (rotateRefreshTokens && sessionsByRefreshToken.remove(refreshToken) != null) {
+                rotated = newRefreshToken(session);
+            }
+            return tokens(usersByEmail.get(session.email()), session.audience(), clientId, session.scope(), rotated);
+        }
+        return error(403, "unsupported_grant_type", "Unsupported grant type: " + grantType);
+    }
+
+    private MockResponse tokens(User user, String audience, String clientId, String scope, String refreshToken) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("access_token", sign(accessTokenClaims(user, audience, clientId, scope)));
+        response.put("id_token", sign(idTokenClaims(user, clientId)));
+        if (refreshToken != null) {
+            response.put("refresh_token", refreshToken);
+        }
+        response.put("scope", scope);
+        response.put("expires_in", TOKEN_LIFETIME.toSeconds());
+        response.put("token_type", "Bearer");
+        return json(200, mapper.writeValueAsString(response));
+    }
+
+    private String newRefreshToken(Session session) {
+        String refreshToken = "v1." + UUID.randomUUID();
+        sessionsByRefreshToken.put(refreshToken, session);
+        return refreshToken;
+    }
+
+    private MockResponse signup(Map<String, Object> body) {
+        String email = string(body, "email");
+        String password = string(body, "password");
+        if (password == null || password.length() < 8) {
+            return json(400, """
+                    {"name":"PasswordStrengthError","message":"Password is too weak","code":"invalid_password",\
+                    "description":{"rules":[{"message":"At least %d characters in length","format":[8],\
+                    "code":"lengthAtLeast","verified":false}],"verified":false},"statusCode":400}""");
+        }
+        User user = new User(newUserId(), email, password, autoVerifySignups);
+        if (usersByEmail.putIfAbsent(email, user) != null) {
+            return json(400, """
+                    {"name":"BadRequestError","code":"user_exists","description":"The user already exists.",\
+                    "statusCode":400}""");
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("_id", user.id());
+        response.put("email", email);
+        response.put("email_verified", user.verified());
+        if (body.containsKey("given_name")) {
+            response.put("given_name", body.get("given_name"));
+        }
+        if (body.containsKey("family_name")) {
+            response.put("family_name", body.get("family_name"));
+        }
+        if (body.containsKey("name")) {
+            response.put("name", body.get("name"));
+        }
+        return json(200, mapper.writeValueAsString(response));
+    }
+
+    private MockResponse resendVerification(Map<String, Object> body) {
+        if (!usersByEmail.containsKey(string(body, "email"))) {
+            return json(400, "{\"error\":\"invalid_request\",\"error_description\":\"User does not exist\"}");
+        }
+        return json(200, "{}");
+    }
+
+    private JWTClaimsSet accessTokenClaims(User user, String audience, String clientId, String scope) {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .subject(user.id())
+                .audience(audience == null ? List.of() : List.of(audience, issuer() + "userinfo"))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("azp", clientId)
+                .claim("scope", scope)
+                .build();
+    }
+
+    private JWTClaimsSet idTokenClaims(User user, String clientId) {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .subject(user.id())
+                .audience(clientId)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(10))))
+                .claim("email", user.email())
+                .claim("email_verified", user.verified())
+                .build();
+    }
+
+    private String sign(JWTClaimsSet claims) {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .type(JOSEObjectType.JWT)
+                .keyID(signingKey.getKeyID())
+                .build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to sign token", ex);
+        }
+        return jwt.serialize();
+    }
+
+    private String discoveryDocument() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("issuer", issuer());
+        document.put("authorization_endpoint", baseUrl() + "/authorize");
+        document.put("token_endpoint", baseUrl() + "/oauth/token");
+        document.put("userinfo_endpoint", baseUrl() + "/userinfo");
+        document.put("jwks_uri", jwksUri());
+        document.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        document.put("grant_types_supported", List.of(PASSWORD_REALM_GRANT, REFRESH_TOKEN_GRANT));
+        return mapper.writeValueAsString(document);
+    }
+
+    private MockResponse injectedFailure() {
+        if (failureStatus == 429) {
+            return error(429, "too_many_requests", "Global limit has been reached");
+        }
+        return error(failureStatus, "server_error", "Injected failure");
+    }
+
+    private MockResponse delayed(MockResponse response) {
+        long delayMillis = latency.toMillis();
+        long jitterMillis = latencyJitter.toMillis();
+        if (jitterMillis > 0) {
+            delayMillis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        return delayMillis > 0 ? response.setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS) : response;
+    }
+
+    private MockResponse error(int status, String error, String description) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", error);
+        body.put("error_description", description);
+        return json(status, mapper.writeValueAsString(body));
+    }
+
+    private Map<String, Object> readBody(RecordedRequest request) {
+        String body = request.getBody().readUtf8();
+        return body.isEmpty() ? Map.of() : mapper.readValue(body, JSON_OBJECT);
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    private static String string(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static String newUserId() {
+        return "auth0|" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+    }
+
+    private record User(String id, String email, String password, boolean verified) {
+    }
+
+    private record Session(String email, String audience, String scope) {
+    }
+}
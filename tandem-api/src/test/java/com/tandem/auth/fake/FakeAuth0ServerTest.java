@@ -0,0 +1,90 @@
+package com.tandem.auth.fake;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0CallExecutors;
+import com.tandem.auth.Auth0ClientException;
+import com.tandem.auth.Auth0ErrorCode;
+import com.tandem.auth.Auth0Properties;
+import com.tandem.auth.InvalidCredentialsException;
+import com.tandem.auth.dto.Auth0TokenResponse;
+import com.tandem.auth.dto.SignUpRequest;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestClient;
+
+class FakeAuth0ServerTest {
+
+    private static final String AUDIENCE = "https://api.example.com";
+
+    private FakeAuth0Server fake;
+    private Auth0AuthenticationClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fake = FakeAuth0Server.start().withUser("user@example.com", "password123", true);
+        Auth0Properties properties = new Auth0Properties(
+                fake.baseUrl(),
+                "client-id",
+                "client-secret",
+                AUDIENCE,
+                "Username-Password-Authentication",
+                "openid profile email offline_access"
+        );
+        client = new Auth0AuthenticationClient(RestClient.builder(), properties, Auth0CallExecutors.permissive());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fake.close();
+    }
+
+    @Test
+    void issuesTokensThatVerifyAgainstItsJwks() {
+        Auth0TokenResponse tokens = client.exchangeCredentials("user@example.com", "password123");
+
+        Jwt jwt = NimbusJwtDecoder.withJwkSetUri(fake.jwksUri()).build().decode(tokens.accessToken());
+        assertThat(jwt.getIssuer().toString()).isEqualTo(fake.issuer());
+        assertThat(jwt.getAudience()).contains(AUDIENCE);
+        assertThat(tokens.refreshToken()).startsWith("v1.");
+
+        Auth0TokenResponse refreshed = client.refreshTokens(tokens.refreshToken());
+        assertThat(NimbusJwtDecoder.withJwkSetUri(fake.jwksUri()).build().decode(refreshed.accessToken())
+                .getAudience()).contains(AUDIENCE);
+    }
+
+    @Test
+    void rejectsLikeAuth0() {
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "wrong"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.INVALID_GRANT));
+
+        client.signUp(new SignUpRequest("new@example.com", "password123", null, null, null));
+        assertThatThrownBy(() -> client.exchangeCredentials("new@example.com", "password123"))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.EMAIL_NOT_VERIFIED));
+        assertThatThrownBy(() -> client.signUp(new SignUpRequest("new@example.com", "password123", null, null, null)))
+                .isInstanceOfSatisfying(InvalidCredentialsException.class,
+                        ex -> assertThat(ex.errorCode()).isEqualTo(Auth0ErrorCode.USER_EXISTS));
+    }
+
+    @Test
+    void injectsLatencyAndFailures() {
+        fake.latency(Duration.ofMillis(200), Duration.ZERO);
+        long start = System.nanoTime();
+        client.resendVerificationEmail("user@example.com");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+
+        fake.latency(Duration.ZERO, Duration.ZERO).failing(1.0, 503);
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOf(Auth0ClientException.class);
+        assertThat(fake.requestCount("/oauth/token")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,254 @@
+package com.tandem.auth.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.auth.IdempotencyProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/auth/signup";
+    private static final String BODY = "{\"email\":\"new@example.com\",\"password\":\"password123\"}";
+
+    private static final SecretKey HASH_KEY =
+            new SecretKeySpec("test-request-hash-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+    private final IdempotencyRepository repository = mock(IdempotencyRepository.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(repository,
+            new IdempotencyProperties(true, Duration.ofHours(24), 100, Duration.ofSeconds(30),
+                    Duration.ofSeconds(2), Duration.ofMillis(10), 65536),
+            JsonMapper.builder().build(), HASH_KEY);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void retryIsReplayedByteForByteWithoutRunningAgain() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        FilterChain chain = created("auth0|123");
+
+        MockHttpServletResponse first = perform("key-1", BODY, chain);
+        MockHttpServletResponse retry = perform("key-1", BODY, chain);
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(retry.getHeader("Location")).isEqualTo("/api/users/auth0|123");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        verify(repository).complete(eq(PATH), eq("key-1"), any());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        FilterChain chain = created("auth0|123");
+        perform("key-1", BODY, chain);
+
+        MockHttpServletResponse reused = perform("key-1", BODY.replace("new@", "other@"), chain);
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains("idempotency_key_reused");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreReleasedSoTheRetryRunsAgain() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        FilterChain unavailable = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        perform("key-1", BODY, unavailable);
+        MockHttpServletResponse retry = perform("key-1", BODY, created("auth0|123"));
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+        verify(repository).release(eq(PATH), eq("key-1"), any());
+    }
+
+    @Test
+    void authenticationFailuresAreReleasedSoTheRetryRunsAgain() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        FilterChain rejected = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(401);
+        };
+
+        perform("key-1", BODY, rejected);
+        MockHttpServletResponse retry = perform("key-1", BODY, created("auth0|123"));
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+        verify(repository).release(eq(PATH), eq("key-1"), any());
+    }
+
+    @Test
+    void responseRecordedByAnotherNodeIsReplayed() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(false);
+        when(repository.findCompleted(PATH, "key-1")).thenAnswer(invocation -> Optional.of(new StoredResponse(
+                hashOf(BODY), 201, List.of(Map.entry("Content-Type", "application/json")),
+                "{\"_id\":\"auth0|456\"}".getBytes(StandardCharsets.UTF_8))));
+
+        MockHttpServletResponse replayed = perform("key-1", BODY, created("auth0|123"));
+
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getContentAsString()).isEqualTo("{\"_id\":\"auth0|456\"}");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyWaitForTheFirst() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            created("auth0|123").doFilter(request, response);
+        };
+
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            responses.add(executor.submit(() -> perform("key-1", BODY, slow)));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 10; i++) {
+                responses.add(executor.submit(() -> perform("key-1", BODY, slow)));
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+            proceed.countDown();
+            byte[] expected = responses.get(0).get(5, TimeUnit.SECONDS).getContentAsByteArray();
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+                assertThat(response.get(5, TimeUnit.SECONDS).getContentAsByteArray()).isEqualTo(expected);
+            }
+        }
+
+        assertThat(executions).hasValue(1);
+        verify(repository, never()).findCompleted(any(), any());
+    }
+
+    @Test
+    void storedRequestHashIsKeyed() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        perform("key-1", BODY, created("auth0|123"));
+
+        byte[] unkeyed = MessageDigest.getInstance("SHA-256")
+                .digest(("POST " + PATH + "\n" + BODY).getBytes(StandardCharsets.UTF_8));
+        verify(repository).claim(eq(PATH), eq("key-1"), eq(hashOf(BODY)), any(), any());
+        verify(repository, never()).claim(any(), any(), eq(unkeyed), any(), any());
+    }
+
+    @Test
+    void bufferedBodyCanBeReadThroughAReadListener() throws Exception {
+        when(repository.claim(eq(PATH), eq("key-1"), any(), any(), any())).thenReturn(true);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger completed = new AtomicInteger();
+        FilterChain nonBlocking = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[16];
+                    while (in.isReady() && !in.isFinished()) {
+                        int read = in.read(buffer);
+                        if (read > 0) {
+                            received.write(buffer, 0, read);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable failure) {
+                }
+            });
+            ((HttpServletResponse) response).setStatus(204);
+        };
+
+        perform("key-1", BODY, nonBlocking);
+
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(completed).hasValue(1);
+    }
+
+    @Test
+    void requestsWithoutTheHeaderPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), created("auth0|123"));
+        filter.doFilter(request, new MockHttpServletResponse(), created("auth0|123"));
+
+        assertThat(executions).hasValue(2);
+        verify(repository, never()).claim(any(), any(), any(), any(), any());
+    }
+
+    private MockHttpServletResponse perform(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain created(String userId) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            byte[] requestBody = request.getInputStream().readAllBytes();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.setHeader("Location", "/api/users/" + userId);
+            http.getOutputStream().write(("{\"_id\":\"" + userId + "\",\"bytes\":" + requestBody.length + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static byte[] hashOf(String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(HASH_KEY);
+        mac.update(("POST " + PATH + "\n").getBytes(StandardCharsets.UTF_8));
+        return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
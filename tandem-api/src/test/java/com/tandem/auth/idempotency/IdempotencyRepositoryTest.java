@@ -0,0 +1,108 @@
+package com.tandem.auth.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.PostgresTestDatabase;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class IdempotencyRepositoryTest {
+
+    private static final String SCOPE = "/api/auth/signup";
+    private static final byte[] HASH = {1, 2, 3};
+    private static final byte[] OTHER_HASH = {4, 5, 6};
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final Duration TTL = Duration.ofHours(24);
+    // Negative durations put the lease or expiry in the past without waiting for the clock
+    private static final Duration LAPSED = Duration.ofSeconds(-1);
+
+    private final JdbcClient jdbcClient = PostgresTestDatabase.jdbcClient();
+    private final IdempotencyRepository repository = new IdempotencyRepository(jdbcClient);
+
+    @BeforeEach
+    void setUp() {
+        PostgresTestDatabase.truncate("idempotency_key");
+    }
+
+    @Test
+    void keyIsClaimedOnceWhileItsLeaseHolds() {
+        assertThat(repository.claim(SCOPE, "key-1", HASH, LEASE, TTL)).isTrue();
+
+        assertThat(repository.claim(SCOPE, "key-1", HASH, LEASE, TTL)).isFalse();
+        assertThat(repository.claim("/api/other", "key-1", HASH, LEASE, TTL)).isTrue();
+    }
+
+    @Test
+    void keyWhoseLeaseRanOutIsClaimedByTheNextNode() {
+        repository.claim(SCOPE, "key-1", HASH, LAPSED, TTL);
+
+        assertThat(repository.claim(SCOPE, "key-1", OTHER_HASH, LEASE, TTL)).isTrue();
+        assertThat(jdbcClient.sql("SELECT request_hash FROM idempotency_key").query(byte[].class).single())
+                .isEqualTo(OTHER_HASH);
+    }
+
+    @Test
+    void completedKeyIsReplayedAndNotClaimedAgainBeforeItExpires() {
+        repository.claim(SCOPE, "key-1", HASH, LAPSED, TTL);
+        repository.complete(SCOPE, "key-1", response(HASH));
+
+        assertThat(repository.claim(SCOPE, "key-1", HASH, LEASE, TTL)).isFalse();
+        assertThat(repository.findCompleted(SCOPE, "key-1")).hasValueSatisfying(stored -> {
+            assertThat(stored.matches(HASH)).isTrue();
+            assertThat(stored.status()).isEqualTo(201);
+            assertThat(stored.headers()).containsExactly(Map.entry("Content-Type", "application/json"));
+            assertThat(new String(stored.body(), StandardCharsets.UTF_8)).isEqualTo("{\"_id\":\"auth0|123\"}");
+        });
+    }
+
+    @Test
+    void expiredKeyIsClaimedAfreshAndItsResponseCleared() {
+        repository.claim(SCOPE, "key-1", HASH, LEASE, LAPSED);
+        repository.complete(SCOPE, "key-1", response(HASH));
+        assertThat(repository.findCompleted(SCOPE, "key-1")).isEmpty();
+
+        assertThat(repository.claim(SCOPE, "key-1", OTHER_HASH, LEASE, TTL)).isTrue();
+
+        assertThat(jdbcClient.sql("SELECT status_code FROM idempotency_key").query(Integer.class).list())
+                .containsExactly((Integer) null);
+    }
+
+    @Test
+    void onlyTheClaimForTheSameRequestCanCompleteOrReleaseIt() {
+        repository.claim(SCOPE, "key-1", HASH, LEASE, TTL);
+
+        repository.complete(SCOPE, "key-1", response(OTHER_HASH));
+        repository.release(SCOPE, "key-1", OTHER_HASH);
+        assertThat(repository.findCompleted(SCOPE, "key-1")).isEmpty();
+        assertThat(count()).isEqualTo(1);
+
+        repository.release(SCOPE, "key-1", HASH);
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredKeys() {
+        repository.claim(SCOPE, "expired", HASH, LEASE, LAPSED);
+        repository.claim(SCOPE, "live", HASH, LEASE, TTL);
+
+        assertThat(repository.purgeExpired()).isEqualTo(1);
+        assertThat(jdbcClient.sql("SELECT idempotency_key FROM idempotency_key").query(String.class).list())
+                .containsExactly("live");
+    }
+
+    private int count() {
+        return jdbcClient.sql("SELECT count(*) FROM idempotency_key").query(Integer.class).single();
+    }
+
+    private static StoredResponse response(byte[] requestHash) {
+        return new StoredResponse(requestHash, 201, List.of(Map.entry("Content-Type", "application/json")),
+                "{\"_id\":\"auth0|123\"}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.tandem.auth.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.tandem.auth.Auth0JwksProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.client.RestClient;
+
+class Auth0JwkSourceTest {
+
+    private MockWebServer mockWebServer;
+    private RSAKey signingKey;
+    private Auth0JwkSource jwkSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        signingKey = new RSAKeyGenerator(2048).keyID("live-key").generate();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (jwkSource != null) {
+            jwkSource.close();
+        }
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void coldStartFileServesKeysWithoutWaitingOnTheNetwork() throws Exception {
+        mockWebServer.enqueue(jwksResponse(signingKey).setBodyDelay(2, TimeUnit.SECONDS));
+        Resource coldStart = new ByteArrayResource(
+                new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8));
+        jwkSource = newSource(Duration.ofMinutes(10), coldStart);
+        jwkSource.start();
+
+        long start = System.nanoTime();
+        List<JWK> keys = jwkSource.get(selectorFor("live-key"), null);
+
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("live-key");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+    }
+
+    @Test
+    void floodOfUnknownKeyIdsDoesNotStampedeAuth0() throws Exception {
+        mockWebServer.enqueue(jwksResponse(signingKey));
+        jwkSource = newSource(Duration.ofHours(1), null);
+        jwkSource.start();
+        assertThat(mockWebServer.takeRequest(2, TimeUnit.SECONDS)).isNotNull();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<JWK>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                lookups.add(executor.submit(() -> jwkSource.get(selectorFor(UUID.randomUUID().toString()), null)));
+            }
+            for (Future<List<JWK>> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).isEmpty();
+            }
+        }
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(jwkSource.get(selectorFor("live-key"), null)).hasSize(1);
+    }
+
+    @Test
+    void unknownKeyIdTriggersRefetchOnceIntervalHasElapsed() throws Exception {
+        RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("rotated-key").generate();
+        mockWebServer.enqueue(jwksResponse(signingKey));
+        mockWebServer.enqueue(jwksResponse(signingKey, rotatedKey));
+        jwkSource = newSource(Duration.ZERO, null);
+        jwkSource.start();
+        assertThat(mockWebServer.takeRequest(2, TimeUnit.SECONDS)).isNotNull();
+
+        List<JWK> keys = jwkSource.get(selectorFor("rotated-key"), null);
+
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("rotated-key");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentLookupsForARotatedKeyShareOneFetchAndAllSeeTheKey() throws Exception {
+        RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("rotated-key").generate();
+        mockWebServer.enqueue(jwksResponse(signingKey, rotatedKey).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        jwkSource = newSource(Duration.ofHours(1), null);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<JWK>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                lookups.add(executor.submit(() -> jwkSource.get(selectorFor("rotated-key"), null)));
+            }
+            for (Future<List<JWK>> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).extracting(JWK::getKeyID).containsExactly("rotated-key");
+            }
+        }
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    private Auth0JwkSource newSource(Duration minRefetchInterval, Resource coldStartFile) {
+        Auth0JwksProperties properties = new Auth0JwksProperties(
+                Duration.ofHours(1), Duration.ofMinutes(1), minRefetchInterval, Duration.ofSeconds(2), coldStartFile);
+        return new Auth0JwkSource(RestClient.create(), mockWebServer.url("/.well-known/jwks.json").toString(),
+                properties);
+    }
+
+    private static JWKSelector selectorFor(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+
+    private static MockResponse jwksResponse(RSAKey... keys) {
+        List<JWK> publicKeys = new ArrayList<>();
+        for (RSAKey key : keys) {
+            publicKeys.add(key.toPublicJWK());
+        }
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(new JWKSet(publicKeys).toString());
+    }
+}
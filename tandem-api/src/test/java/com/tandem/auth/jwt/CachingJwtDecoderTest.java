@@ -0,0 +1,69 @@
+package com.tandem.auth.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+
+    @Test
+    void repeatedTokenIsVerifiedOnlyOnce() {
+        when(delegate.decode("token")).thenReturn(jwt("token", Instant.now().plus(Duration.ofHours(1))));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(15));
+
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).decode("token");
+        assertThat(decoder.cache().stats().hitCount()).isEqualTo(1);
+        assertThat(decoder.cache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entryDoesNotOutliveTokenExpiry() {
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        when(delegate.decode("token")).thenReturn(jwt("token", now.minusSeconds(1)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(15),
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void failedDecodesAreNotCached() {
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("bad signature"));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(15));
+
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("forged");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("auth0|user")
+                .issuedAt(expiresAt.minus(Duration.ofHours(2)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.tandem.auth.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tandem.auth.AuthEndpoint;
+import com.tandem.auth.AuthRateLimitProperties;
+import com.tandem.auth.RateLimitExceededException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AuthRateLimiterTest {
+
+    private static final AuthRateLimitProperties.Policy LOGIN = new AuthRateLimitProperties.Policy(100, 60, 3, 1);
+    private static final AuthRateLimitProperties.Policy OTHER = new AuthRateLimitProperties.Policy(5, 5, 5, 5);
+
+    // Time only moves when a test advances it, so no budget refills behind a test's back
+    private final AtomicLong nanos = new AtomicLong();
+    private final AuthRateLimiter rateLimiter = new AuthRateLimiter(new AuthRateLimitProperties(
+            true, 1000, Duration.ofMinutes(10), LOGIN, OTHER, OTHER, OTHER), nanos::get);
+
+    @Test
+    void emailBudgetIsSharedAcrossSpellingsOfTheSameAddress() {
+        rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com");
+        rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.2", "User@Example.com");
+        rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.3", " user@example.com ");
+
+        assertThatThrownBy(() -> rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.4", "USER@example.com"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, ex -> {
+                    assertThat(ex.endpoint()).isEqualTo(AuthEndpoint.LOGIN);
+                    assertThat(ex.retryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1));
+                });
+    }
+
+    @Test
+    void endpointsHaveIndependentBudgets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com");
+        }
+
+        rateLimiter.check(AuthEndpoint.RESEND_VERIFICATION, "10.0.0.1", "user@example.com");
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheIpCapacity() throws InterruptedException {
+        AtomicInteger allowed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                int attempt = i;
+                executor.submit(() -> {
+                    try {
+                        rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.9", "user" + attempt + "@example.com");
+                        allowed.incrementAndGet();
+                    } catch (RateLimitExceededException ex) {
+                        // expected once the IP budget is spent
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    @Test
+    void requestRejectedForItsEmailDoesNotSpendTheIpBudget() {
+        AuthRateLimitProperties.Policy tight = new AuthRateLimitProperties.Policy(2, 1, 1, 1);
+        AuthRateLimiter limiter = new AuthRateLimiter(new AuthRateLimitProperties(
+                true, 1000, Duration.ofMinutes(10), tight, OTHER, OTHER, OTHER), nanos::get);
+
+        limiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com");
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> limiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com"))
+                    .isInstanceOf(RateLimitExceededException.class);
+        }
+
+        limiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "other@example.com");
+        assertThatThrownBy(() -> limiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "third@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void budgetsRefillAsTheClockAdvances() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com");
+        }
+        assertThatThrownBy(() -> rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofMinutes(1)));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        rateLimiter.check(AuthEndpoint.LOGIN, "10.0.0.1", "user@example.com");
+    }
+
+    @Test
+    void tokenBucketRefillsOverTime() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, interval, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(interval);
+        assertThat(bucket.tryAcquire(interval)).isZero();
+    }
+
+    @Test
+    void refundedTokenCanBeTakenAgainButAFullBucketStaysFull() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(1, interval, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        bucket.refund(0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(interval);
+
+        bucket.refund(5 * interval);
+        assertThat(bucket.tryAcquire(5 * interval)).isZero();
+        assertThat(bucket.tryAcquire(5 * interval)).isEqualTo(interval);
+    }
+}
@@ -0,0 +1,46 @@
+package com.tandem.auth.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void callsInFlightDuringOneSlowdownBackOffOnce() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 40, THRESHOLD, 0.5);
+        long window = limit.generation();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSuccess(window, SLOW);
+        }
+        limit.onFailure(window);
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void callAdmittedAfterTheCutCanBackOffAgain() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 40, THRESHOLD, 0.5);
+
+        limit.onFailure(limit.generation());
+        limit.onFailure(limit.generation());
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void fastCallsGrowTheLimitUpToTheMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 12, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 1000; i++) {
+            limit.onSuccess(limit.generation(), 0);
+        }
+
+        assertThat(limit.limit()).isEqualTo(12);
+    }
+}
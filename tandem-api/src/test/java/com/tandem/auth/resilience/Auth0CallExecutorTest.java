@@ -0,0 +1,229 @@
+package com.tandem.auth.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0CallExecutors;
+import com.tandem.auth.Auth0ClientException;
+import com.tandem.auth.Auth0Operation;
+import com.tandem.auth.Auth0Properties;
+import com.tandem.auth.Auth0ResilienceProperties;
+import com.tandem.auth.Auth0UnavailableException;
+import com.tandem.auth.InvalidCredentialsException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+class Auth0CallExecutorTest {
+
+    private MockWebServer mockWebServer;
+    private Auth0CallExecutor executor;
+    private Auth0AuthenticationClient client;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        Auth0Properties properties = new Auth0Properties(
+                mockWebServer.url("/").toString(),
+                "client-id",
+                "client-secret",
+                "https://api.example.com",
+                "Username-Password-Authentication",
+                "openid profile email"
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        executor = new Auth0CallExecutor(new Auth0ResilienceProperties(
+                50, 4, 4, Duration.ofMillis(300), 1,
+                10, 10, 2, 20, Duration.ofMillis(200), 0.5),
+                Auth0CallExecutors.httpProperties(20), observationRegistry);
+        client = new Auth0AuthenticationClient(RestClient.builder(), properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void breakerOpensOnOutagesAndFailsFastWithoutCallingAuth0() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                    .isInstanceOf(Auth0ClientException.class);
+        }
+
+        assertThat(executor.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        // Less than a second of the 300ms open state is left; Retry-After is whole seconds
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+        assertThat(executor.state(Auth0Operation.SIGNUP)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenProbeClosesBreakerOnceAuth0Recovers() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "password123"))
+                    .isInstanceOf(Auth0ClientException.class);
+        }
+        assertThat(executor.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        TimeUnit.MILLISECONDS.sleep(400);
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"access\",\"expires_in\":86400,\"token_type\":\"Bearer\"}"));
+
+        assertThat(client.exchangeCredentials("user@example.com", "password123").accessToken()).isEqualTo("access");
+        assertThat(executor.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void openBreakerAsksForARetryWhenItWillLetAProbeThrough() {
+        AtomicLong nanos = new AtomicLong();
+        Auth0CallExecutor ticking = new Auth0CallExecutor(new Auth0ResilienceProperties(
+                50, 4, 4, Duration.ofSeconds(30), 1,
+                10, 10, 2, 20, Duration.ofMillis(200), 0.5),
+                Auth0CallExecutors.httpProperties(20), ObservationRegistry.NOOP, nanos::get);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> ticking.execute(Auth0Operation.TOKEN, () -> {
+                throw new Auth0ClientException("Unable to reach Auth0 authentication service");
+            })).isInstanceOf(Auth0ClientException.class);
+        }
+        assertThat(ticking.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertThatThrownBy(() -> ticking.execute(Auth0Operation.TOKEN, () -> "unreached"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(10)));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(9) + TimeUnit.MILLISECONDS.toNanos(900));
+        assertThatThrownBy(() -> ticking.execute(Auth0Operation.TOKEN, () -> "unreached"))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class,
+                        ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void rejectedCredentialsDoNotOpenTheBreaker() {
+        for (int i = 0; i < 6; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(403)
+                    .setHeader("Content-Type", "application/json")
+                    .setBody("{\"error\":\"invalid_grant\"}"));
+        }
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "wrong"))
+                    .isInstanceOf(InvalidCredentialsException.class);
+        }
+
+        assertThat(executor.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void limitsAreDerivedFromTheConnectionPool() {
+        Auth0CallExecutor derived = new Auth0CallExecutor(new Auth0ResilienceProperties(
+                50, 20, 10, Duration.ofSeconds(30), 3,
+                null, null, 4, null, Duration.ofSeconds(1), 0.9),
+                Auth0CallExecutors.httpProperties(50), ObservationRegistry.NOOP);
+        Auth0CallExecutor capped = new Auth0CallExecutor(new Auth0ResilienceProperties(
+                50, 20, 10, Duration.ofSeconds(30), 3,
+                100, 20, 4, 200, Duration.ofSeconds(1), 0.9),
+                Auth0CallExecutors.httpProperties(50), ObservationRegistry.NOOP);
+
+        assertThat(derived.concurrencyLimit().limit()).isEqualTo(50);
+        assertThat(capped.concurrencyLimit().limit()).isEqualTo(20);
+        assertThat(new Auth0ResilienceProperties(50, 20, 10, Duration.ofSeconds(30), 3,
+                null, null, 4, null, Duration.ofSeconds(1), 0.9).bulkheadFor(50)).isEqualTo(25);
+        assertThat(new Auth0ResilienceProperties(50, 20, 10, Duration.ofSeconds(30), 3,
+                100, 20, 4, 200, Duration.ofSeconds(1), 0.9).bulkheadFor(50)).isEqualTo(50);
+    }
+
+    @Test
+    void poolAcquireTimeoutsAreBusyRejectionsNotAuth0Failures() {
+        int initialLimit = executor.concurrencyLimit().limit();
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> executor.execute(Auth0Operation.TOKEN, () -> {
+                throw new Auth0ClientException("Unable to reach Auth0 authentication service",
+                        new ResourceAccessException("I/O error",
+                                new ConnectionRequestTimeoutException("Timeout deadline: 500 MILLISECONDS")));
+            })).isInstanceOfSatisfying(Auth0UnavailableException.class,
+                    ex -> assertThat(ex.retryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        }
+
+        assertThat(executor.state(Auth0Operation.TOKEN)).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(executor.concurrencyLimit().limit()).isEqualTo(initialLimit);
+        assertThat(executor.concurrencyLimit().inFlight()).isZero();
+    }
+
+    @Test
+    void adaptiveLimitBacksOffWhenAuth0SlowsDown() {
+        int initialLimit = executor.concurrencyLimit().limit();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"access\",\"expires_in\":86400,\"token_type\":\"Bearer\"}")
+                .setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        client.exchangeCredentials("user@example.com", "password123");
+
+        assertThat(executor.concurrencyLimit().limit()).isLessThan(initialLimit);
+        assertThat(executor.concurrencyLimit().inFlight()).isZero();
+    }
+
+    @Test
+    void callsAreTimedByOperationOutcomeAndErrorCode() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"access\",\"expires_in\":86400,\"token_type\":\"Bearer\"}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"invalid_grant\"}"));
+
+        client.exchangeCredentials("user@example.com", "password123");
+        assertThatThrownBy(() -> client.exchangeCredentials("user@example.com", "wrong"))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        Timer success = meterRegistry.get("auth0.client.calls")
+                .tags("operation", Auth0Operation.TOKEN.tag(), "outcome", "success", "error.code", "none")
+                .timer();
+        Timer rejected = meterRegistry.get("auth0.client.calls")
+                .tags("operation", Auth0Operation.TOKEN.tag(), "outcome", "rejected", "error.code", "invalid_grant")
+                .timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(rejected.count()).isEqualTo(1);
+        assertThat(rejected.getId().getTag("error")).isEqualTo("none");
+    }
+}
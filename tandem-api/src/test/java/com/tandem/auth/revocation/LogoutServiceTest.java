@@ -0,0 +1,65 @@
+package com.tandem.auth.revocation;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0ErrorCode;
+import com.tandem.auth.Auth0Operation;
+import com.tandem.auth.Auth0UnavailableException;
+import com.tandem.auth.InvalidCredentialsException;
+import com.tandem.auth.UserProfileService;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class LogoutServiceTest {
+
+    private static final Jwt ACCESS_TOKEN = Jwt.withTokenValue("access")
+            .header("alg", "RS256")
+            .subject("auth0|123")
+            .jti("token-1")
+            .expiresAt(Instant.parse("2026-01-01T00:00:00Z"))
+            .build();
+
+    private final Auth0AuthenticationClient auth0Client = mock(Auth0AuthenticationClient.class);
+    private final TokenDenylist denylist = mock(TokenDenylist.class);
+    private final LogoutService logoutService =
+            new LogoutService(auth0Client, denylist, mock(UserProfileService.class));
+
+    @Test
+    void refreshTokenAuth0DoesNotRecogniseIsSkipped() {
+        doThrow(new InvalidCredentialsException(Auth0ErrorCode.INVALID_GRANT, null))
+                .when(auth0Client).revokeRefreshToken("refresh");
+
+        logoutService.logout(ACCESS_TOKEN, "refresh");
+
+        verify(denylist).revoke("jti:token-1", ACCESS_TOKEN.getExpiresAt());
+    }
+
+    @Test
+    void rateLimitedRevocationFailsTheLogoutSoTheClientRetries() {
+        doThrow(new Auth0UnavailableException(Auth0Operation.REVOKE, Duration.ofSeconds(7)))
+                .when(auth0Client).revokeRefreshToken("refresh");
+
+        assertThatThrownBy(() -> logoutService.logout(ACCESS_TOKEN, "refresh"))
+                .isInstanceOf(Auth0UnavailableException.class);
+        verify(denylist, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void otherRejectionsFailTheLogout() {
+        doThrow(new InvalidCredentialsException(Auth0ErrorCode.UNKNOWN, null))
+                .when(auth0Client).revokeRefreshToken("refresh");
+
+        assertThatThrownBy(() -> logoutService.logout(ACCESS_TOKEN, "refresh"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(denylist, never()).revoke(anyString(), any());
+    }
+}
@@ -0,0 +1,145 @@
+package com.tandem.auth.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.auth.TokenDenylistProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+class TokenDenylistTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenDenylist denylist = new TokenDenylist(repository, new TokenDenylistProperties(
+            true, 1000, 0.001, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofMinutes(10), 100));
+
+    @Test
+    void tokensTheFilterRulesOutNeverReachTheDatabase() {
+        when(repository.now()).thenReturn(NOW);
+        when(repository.live()).thenReturn(List.of("jti:revoked"));
+        denylist.rebuild();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(denylist.isRevoked("jti:valid-" + i)).isFalse();
+        }
+
+        verify(repository, never()).isRevoked(anyString());
+    }
+
+    @Test
+    void possibleMatchIsConfirmedAgainstTheDatabaseOnce() {
+        when(repository.now()).thenReturn(NOW);
+        when(repository.live()).thenReturn(List.of("jti:revoked"));
+        when(repository.isRevoked("jti:revoked")).thenReturn(true);
+        denylist.rebuild();
+
+        assertThat(denylist.isRevoked("jti:revoked")).isTrue();
+        assertThat(denylist.isRevoked("jti:revoked")).isTrue();
+
+        verify(repository, times(1)).isRevoked("jti:revoked");
+    }
+
+    @Test
+    void localRevocationTakesEffectImmediately() {
+        when(repository.now()).thenReturn(NOW);
+        when(repository.live()).thenReturn(List.of());
+        denylist.rebuild();
+
+        denylist.revoke("jti:logged-out", NOW.plus(Duration.ofHours(1)));
+
+        assertThat(denylist.isRevoked("jti:logged-out")).isTrue();
+        verify(repository).revoke("jti:logged-out", NOW.plus(Duration.ofHours(1)));
+        verify(repository, never()).isRevoked(anyString());
+    }
+
+    @Test
+    void revocationsFromOtherNodesArriveWithTheNextSync() {
+        when(repository.now()).thenReturn(NOW, NOW.plusSeconds(2));
+        when(repository.live()).thenReturn(List.of());
+        denylist.rebuild();
+        assertThat(denylist.isRevoked("jti:elsewhere")).isFalse();
+
+        when(repository.revokedSince(NOW.minusSeconds(30))).thenReturn(List.of("jti:elsewhere"));
+        denylist.sync();
+
+        assertThat(denylist.isRevoked("jti:elsewhere")).isTrue();
+    }
+
+    @Test
+    void revocationDuringARebuildIsNotLostWithTheOldFilter() {
+        when(repository.now()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(10)));
+        when(repository.live()).thenReturn(List.of());
+        denylist.rebuild();
+
+        // The revoke lands after the rebuild read the live rows but before the new filter is in place
+        when(repository.live()).thenAnswer(invocation -> {
+            denylist.revoke("jti:during-rebuild", NOW.plus(Duration.ofHours(1)));
+            return List.of();
+        });
+        when(repository.revokedSince(NOW.plus(Duration.ofMinutes(10)).minusSeconds(30)))
+                .thenReturn(List.of("jti:during-rebuild"));
+        denylist.rebuild();
+
+        assertThat(denylist.isRevoked("jti:during-rebuild")).isTrue();
+        verify(repository, never()).isRevoked(anyString());
+    }
+
+    @Test
+    void untilTheFilterLoadsEveryLookupGoesToTheDatabase() {
+        when(repository.isRevoked("jti:revoked")).thenReturn(true);
+
+        assertThat(denylist.isRevoked("jti:revoked")).isTrue();
+        assertThat(denylist.isRevoked("jti:valid")).isFalse();
+        verify(repository).isRevoked("jti:valid");
+    }
+
+    @Test
+    void decoderRejectsRevokedTokensAndFailsClosedWhenTheDenylistIsUnreadable() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        when(delegate.decode(any())).thenAnswer(invocation -> jwt(invocation.getArgument(0)));
+        when(repository.isRevoked("jti:revoked")).thenReturn(true);
+        when(repository.isRevoked("jti:broken")).thenThrow(new DataAccessResourceFailureException("down"));
+        DenylistJwtDecoder decoder = new DenylistJwtDecoder(delegate, denylist);
+
+        assertThat(decoder.decode("valid").getId()).isEqualTo("valid");
+        assertThatThrownBy(() -> decoder.decode("revoked")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("broken"))
+                .isInstanceOf(JwtException.class)
+                .isNotInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void tokensWithoutJtiAreIdentifiedByTheirDigest() {
+        Jwt withoutJti = Jwt.withTokenValue("raw-token").header("alg", "RS256").subject("auth0|user").build();
+
+        assertThat(TokenIds.of(withoutJti))
+                .hasSize(64)
+                .isEqualTo(TokenIds.of(Jwt.withTokenValue("raw-token").header("alg", "RS256").claim("x", 1).build()));
+        assertThat(TokenIds.of(jwt("abc"))).isEqualTo("jti:abc");
+    }
+
+    private static Jwt jwt(String jti) {
+        return Jwt.withTokenValue(jti)
+                .header("alg", "RS256")
+                .subject("auth0|user")
+                .jti(jti)
+                .expiresAt(NOW.plus(Duration.ofHours(1)))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.tandem.auth.signup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.PostgresTestDatabase;
+import com.tandem.auth.dto.SignupStatusResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class SignupOutboxRepositoryTest {
+
+    private final JdbcClient jdbcClient = PostgresTestDatabase.jdbcClient();
+    private final SignupOutboxRepository repository = new SignupOutboxRepository(jdbcClient);
+
+    @BeforeEach
+    void setUp() {
+        PostgresTestDatabase.truncate("signup_outbox");
+    }
+
+    @Test
+    void secondSignupForAnOpenEmailIsRefusedAndLeavesTheFirstRowAlone() {
+        UUID first = enqueue("new@example.com", "first-secret").orElseThrow();
+
+        Optional<UUID> second = enqueue("new@example.com", "second-secret");
+
+        assertThat(second).isEmpty();
+        assertThat(jdbcClient.sql("SELECT encrypted_password FROM signup_outbox").query(String.class).list())
+                .containsExactly("first-secret");
+        assertThat(repository.findStatus(first)).contains(new SignupStatusResponse(first, SignupStatus.PENDING));
+    }
+
+    @Test
+    void emailCanSignUpAgainOnceItsSignupFinished() {
+        UUID first = enqueue("new@example.com", "first-secret").orElseThrow();
+        repository.claim(10, Duration.ofMinutes(1));
+        repository.markFailed(first, "user_exists");
+
+        Optional<UUID> second = enqueue("new@example.com", "second-secret");
+
+        assertThat(second).isPresent().get().isNotEqualTo(first);
+        assertThat(repository.findStatus(first)).contains(new SignupStatusResponse(first, SignupStatus.FAILED));
+    }
+
+    @Test
+    void claimTakesDueRowsOnceUntilTheLeaseRunsOut() {
+        UUID id = enqueue("new@example.com", "secret").orElseThrow();
+
+        List<SignupOutboxEntry> claimed = repository.claim(10, Duration.ofMinutes(1));
+        List<SignupOutboxEntry> again = repository.claim(10, Duration.ofMinutes(1));
+
+        assertThat(claimed).singleElement().satisfies(entry -> {
+            assertThat(entry.id()).isEqualTo(id);
+            assertThat(entry.encryptedPassword()).isEqualTo("secret");
+            assertThat(entry.attempts()).isEqualTo(1);
+        });
+        assertThat(again).isEmpty();
+        assertThat(repository.findStatus(id)).contains(new SignupStatusResponse(id, SignupStatus.PROCESSING));
+
+        jdbcClient.sql("UPDATE signup_outbox SET locked_until = now() - interval '1 second'").update();
+        assertThat(repository.claim(10, Duration.ofMinutes(1)))
+                .singleElement().satisfies(entry -> assertThat(entry.attempts()).isEqualTo(2));
+    }
+
+    @Test
+    void retriedRowIsNotClaimedBeforeItIsDue() {
+        UUID id = enqueue("new@example.com", "secret").orElseThrow();
+        repository.claim(10, Duration.ofMinutes(1));
+
+        repository.scheduleRetry(id, Duration.ofMinutes(5), "auth0_unavailable");
+
+        assertThat(repository.claim(10, Duration.ofMinutes(1))).isEmpty();
+        assertThat(repository.findStatus(id)).contains(new SignupStatusResponse(id, SignupStatus.PENDING));
+    }
+
+    @Test
+    void claimIsLimitedToTheBatchSize() {
+        for (int i = 0; i < 5; i++) {
+            enqueue("user" + i + "@example.com", "secret");
+        }
+
+        assertThat(repository.claim(3, Duration.ofMinutes(1))).hasSize(3);
+        assertThat(repository.claim(3, Duration.ofMinutes(1))).hasSize(2);
+    }
+
+    @Test
+    void completedRowDropsThePassword() {
+        UUID id = enqueue("new@example.com", "secret").orElseThrow();
+        repository.claim(10, Duration.ofMinutes(1));
+
+        repository.markCompleted(id, "auth0|123");
+
+        assertThat(jdbcClient.sql("SELECT encrypted_password FROM signup_outbox WHERE id = :id")
+                .param("id", id).query(String.class).list()).containsExactly((String) null);
+        assertThat(repository.findStatus(id)).contains(new SignupStatusResponse(id, SignupStatus.COMPLETED));
+    }
+
+    private Optional<UUID> enqueue(String email, String encryptedPassword) {
+        return repository.enqueue(email, encryptedPassword, null, null, null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.tandem.auth.signup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0ClientException;
+import com.tandem.auth.Auth0ErrorCode;
+import com.tandem.auth.Auth0Operation;
+import com.tandem.auth.Auth0UnavailableException;
+import com.tandem.auth.InvalidCredentialsException;
+import com.tandem.auth.SignupOutboxProperties;
+import com.tandem.auth.dto.SignUpRequest;
+import com.tandem.auth.dto.SignUpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.jasypt.encryption.StringEncryptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class SignupOutboxWorkerTest {
+
+    private SignupOutboxRepository repository;
+    private Auth0AuthenticationClient client;
+    private SignupOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SignupOutboxRepository.class);
+        client = mock(Auth0AuthenticationClient.class);
+        StringEncryptor encryptor = mock(StringEncryptor.class);
+        when(encryptor.decrypt("encrypted")).thenReturn("password123");
+
+        SignupOutboxProperties properties = new SignupOutboxProperties(
+                true, 2, 2, Duration.ofSeconds(1), Duration.ofMinutes(2),
+                3, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofDays(7));
+        worker = new SignupOutboxWorker(repository, client, encryptor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.destroy();
+    }
+
+    @Test
+    void drainKeepsClaimingWhileBatchesAreFull() throws InterruptedException {
+        SignupOutboxEntry first = entry(1);
+        SignupOutboxEntry second = entry(1);
+        SignupOutboxEntry third = entry(1);
+        when(repository.claim(anyInt(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(client.signUp(any())).thenReturn(signedUp("auth0|123"));
+
+        worker.drain();
+
+        verify(repository, times(2)).claim(eq(2), eq(Duration.ofMinutes(2)));
+        verify(repository).markCompleted(first.id(), "auth0|123");
+        verify(repository).markCompleted(second.id(), "auth0|123");
+        verify(repository).markCompleted(third.id(), "auth0|123");
+    }
+
+    @Test
+    void forwardsTheDecryptedPassword() {
+        when(client.signUp(any())).thenReturn(signedUp("auth0|123"));
+
+        worker.process(entry(1));
+
+        ArgumentCaptor<SignUpRequest> request = ArgumentCaptor.forClass(SignUpRequest.class);
+        verify(client).signUp(request.capture());
+        assertThat(request.getValue().email()).isEqualTo("new@example.com");
+        assertThat(request.getValue().password()).isEqualTo("password123");
+    }
+
+    @Test
+    void rejectionIsFinal() {
+        SignupOutboxEntry entry = entry(1);
+        when(client.signUp(any())).thenThrow(new InvalidCredentialsException(Auth0ErrorCode.USER_EXISTS, null));
+
+        worker.process(entry);
+
+        verify(repository).markFailed(entry.id(), "user_exists");
+        verify(repository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    void throttledSignupIsRetriedWithBackoff() {
+        SignupOutboxEntry entry = entry(2);
+        HttpClientErrorException tooManyRequests = HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        when(client.signUp(any())).thenThrow(new InvalidCredentialsException(Auth0ErrorCode.UNKNOWN, tooManyRequests));
+
+        worker.process(entry);
+
+        ArgumentCaptor<Duration> delay = ArgumentCaptor.forClass(Duration.class);
+        verify(repository).scheduleRetry(eq(entry.id()), delay.capture(), eq(SignupOutboxWorker.THROTTLED));
+        assertThat(delay.getValue()).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+    }
+
+    @Test
+    void openBreakerDelaysRetryUntilItMayHaveClosed() {
+        SignupOutboxEntry entry = entry(1);
+        when(client.signUp(any()))
+                .thenThrow(new Auth0UnavailableException(Auth0Operation.SIGNUP, Duration.ofSeconds(30)));
+
+        worker.process(entry);
+
+        verify(repository).scheduleRetry(entry.id(), Duration.ofSeconds(30), SignupOutboxWorker.UNAVAILABLE);
+    }
+
+    @Test
+    void outageFailsTheRowOnceAttemptsAreExhausted() {
+        SignupOutboxEntry entry = entry(3);
+        when(client.signUp(any())).thenThrow(new Auth0ClientException("Auth0 returned an unexpected error"));
+
+        worker.process(entry);
+
+        verify(repository).markFailed(entry.id(), SignupOutboxWorker.UNAVAILABLE);
+        verify(repository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(worker.backoff(1)).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+        assertThat(worker.backoff(2)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+        assertThat(worker.backoff(20)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+    }
+
+    private static SignupOutboxEntry entry(int attempts) {
+        return new SignupOutboxEntry(UUID.randomUUID(), "new@example.com", "encrypted", null, null, null, attempts);
+    }
+
+    private static SignUpResponse signedUp(String id) {
+        return new SignUpResponse(id, "new@example.com", false, null, null, null, null, null, null, null, null);
+    }
+}
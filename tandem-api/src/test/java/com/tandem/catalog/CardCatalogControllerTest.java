@@ -0,0 +1,128 @@
+package com.tandem.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.tandem.catalog.dto.CardTemplateResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+@WebMvcTest(controllers = CardCatalogController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CardCatalogControllerTest {
+
+    private static final List<CardTemplateResponse> TEMPLATES = List.of(
+            template("card-11", "Meal Planning", "food_meals"),
+            template("card-1", "Daily Tidying", "home_care"),
+            template("card-2", "Laundry", "home_care"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CardCatalogService catalogService;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    private CardCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = CardCatalog.of(3, TEMPLATES, JsonMapper.builder().build());
+        when(catalogService.catalog()).thenReturn(catalog);
+    }
+
+    @Test
+    void catalogIsServedPrecompressedWithAStrongEtag() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/catalog/cards")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalog.gzipEtag()))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(catalog.gzipEtag()).startsWith("\"").endsWith("-gzip\"").isNotEqualTo(catalog.etag());
+        assertThat(gunzip(body)).isEqualTo(catalog.json());
+    }
+
+    @Test
+    void clientsWithoutGzipGetPlainJson() throws Exception {
+        mockMvc.perform(get("/api/catalog/cards").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, catalog.etag()))
+                .andExpect(content().bytes(catalog.json()))
+                .andExpect(jsonPath("$[1].id").value("card-1"));
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        mockMvc.perform(get("/api/catalog/cards")
+                        .header(HttpHeaders.IF_NONE_MATCH, catalog.gzipEtag())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, catalog.gzipEtag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void eitherRepresentationsEtagIsNotModified() throws Exception {
+        mockMvc.perform(get("/api/catalog/cards")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\", " + catalog.etag())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, catalog.gzipEtag()));
+
+        mockMvc.perform(get("/api/catalog/cards").header(HttpHeaders.IF_NONE_MATCH, "W/" + catalog.gzipEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, catalog.etag()));
+
+        mockMvc.perform(get("/api/catalog/cards").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void templatesAreLookedUpFromTheIndex() throws Exception {
+        mockMvc.perform(get("/api/catalog/cards").param("category", "home_care"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Daily Tidying"));
+
+        mockMvc.perform(get("/api/catalog/cards/card-11"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category").value("food_meals"));
+
+        mockMvc.perform(get("/api/catalog/cards/card-99"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static CardTemplateResponse template(String id, String name, String category) {
+        return new CardTemplateResponse(id, name, category, "", "", "", "", "weekly", "home");
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tandem.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.catalog.dto.CardTemplateResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class CardCatalogServiceTest {
+
+    private final CardCatalogRepository repository = mock(CardCatalogRepository.class);
+    private final CardCatalogService service = new CardCatalogService(repository, JsonMapper.builder().build());
+
+    @Test
+    void catalogIsReloadedOnlyWhenItsVersionChanges() {
+        CardTemplateResponse laundry = new CardTemplateResponse("card-2", "Laundry", "home_care", "", "", "", "",
+                "weekly", "shirt");
+        CardTemplateResponse renamed = new CardTemplateResponse("card-2", "Laundry & Ironing", "home_care", "", "",
+                "", "", "weekly", "shirt");
+        when(repository.load())
+                .thenReturn(new CardCatalogRepository.Snapshot(1, List.of(laundry)))
+                .thenReturn(new CardCatalogRepository.Snapshot(2, List.of(renamed)));
+
+        CardCatalog first = service.catalog();
+        when(repository.version()).thenReturn(1L);
+        service.refresh();
+        assertThat(service.catalog()).isSameAs(first);
+
+        when(repository.version()).thenReturn(2L);
+        service.refresh();
+
+        CardCatalog second = service.catalog();
+        assertThat(second.version()).isEqualTo(2);
+        assertThat(second.template("card-2")).get().extracting(CardTemplateResponse::name)
+                .isEqualTo("Laundry & Ironing");
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        assertThat(first.template("card-2")).get().extracting(CardTemplateResponse::name).isEqualTo("Laundry");
+        verify(repository, times(2)).load();
+    }
+}
@@ -0,0 +1,124 @@
+package com.tandem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tandem.auth.Auth0AuthenticationClient;
+import com.tandem.auth.Auth0CallExecutors;
+import com.tandem.auth.Auth0HttpProperties;
+import com.tandem.auth.Auth0Properties;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class Auth0HttpClientConfigTest {
+
+    private MockWebServer mockWebServer;
+    private Auth0Properties properties;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private Auth0AuthenticationClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        properties = new Auth0Properties(
+                mockWebServer.url("/").toString(),
+                "client-id",
+                "client-secret",
+                "https://api.example.com",
+                "Username-Password-Authentication",
+                "openid profile email"
+        );
+        useHttpProperties(httpProperties(Duration.ofSeconds(60)));
+    }
+
+    private void useHttpProperties(Auth0HttpProperties httpProperties) {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+        connectionManager = Auth0HttpClientConfig.connectionManager(httpProperties);
+        RestClient.Builder builder = RestClient.builder()
+                .requestFactory(Auth0HttpClientConfig.pooledRequestFactory(connectionManager, httpProperties));
+        client = new Auth0AuthenticationClient(builder, properties, Auth0CallExecutors.permissive());
+    }
+
+    private static Auth0HttpProperties httpProperties(Duration idleEviction) {
+        return new Auth0HttpProperties(
+                4, 8,
+                Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMillis(200),
+                Duration.ofSeconds(30), idleEviction, Duration.ofMinutes(5), Duration.ofSeconds(2),
+                false
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionManager.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void consecutiveCallsReuseThePooledConnection() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader("Content-Type", "application/json")
+                    .setBody("{\"access_token\":\"access\",\"expires_in\":86400,\"token_type\":\"Bearer\"}"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            client.exchangeCredentials("user@example.com", "password123");
+        }
+
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isZero();
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isEqualTo(1);
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isEqualTo(2);
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+    }
+
+    @Test
+    void idleConnectionsAreClosedByTheEvictor() throws Exception {
+        Auth0HttpProperties httpProperties = httpProperties(Duration.ofMillis(100));
+        useHttpProperties(httpProperties);
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(tokenResponse());
+        }
+        IdleConnectionEvictor evictor = Auth0HttpClientConfig.idleConnectionEvictor(connectionManager, httpProperties);
+        evictor.start();
+        try {
+            client.exchangeCredentials("user@example.com", "password123");
+            assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (connectionManager.getTotalStats().getAvailable() > 0 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            assertThat(connectionManager.getTotalStats().getAvailable()).isZero();
+
+            client.exchangeCredentials("user@example.com", "password123");
+        } finally {
+            evictor.shutdown();
+        }
+
+        // The first request on a fresh connection
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isZero();
+    }
+
+    private static MockResponse tokenResponse() {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"access\",\"expires_in\":86400,\"token_type\":\"Bearer\"}");
+    }
+}
@@ -0,0 +1,82 @@
+package com.tandem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jasypt.encryption.StringEncryptor;
+import org.jasypt.encryption.pbe.StandardPBEStringEncryptor;
+import org.jasypt.iv.RandomIvGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+class PropertyEncryptionConfigTest {
+
+    private static final String PASSWORD = "test-password";
+
+    @Test
+    void eachCiphertextIsDecryptedOnce() {
+        String ciphertext = encrypt("client-secret");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("jasypt.encryptor.password", PASSWORD)
+                .withProperty("jasypt.encryptor.pool-size", "2");
+        CountingEncryptor encryptor = new CountingEncryptor(
+                PropertyEncryptionConfig.jasyptStringEncryptor(environment));
+        EncryptablePropertyResolver resolver = PropertyEncryptionConfig.encryptablePropertyResolver(
+                new StaticListableBeanFactory(Map.of("jasyptStringEncryptor", encryptor))
+                        .getBeanProvider(StringEncryptor.class),
+                environment);
+
+        assertThat(resolver.resolvePropertyValue("ENC(" + ciphertext + ")")).isEqualTo("client-secret");
+        assertThat(resolver.resolvePropertyValue("${AUTH0_CLIENT_SECRET:ENC(" + ciphertext + ")}"))
+                .isEqualTo("client-secret");
+        assertThat(resolver.resolvePropertyValue("plain")).isEqualTo("plain");
+        assertThat(encryptor.decryptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void encryptedDefaultIsNotDecryptedWhenTheEnvironmentProvidesTheValue() {
+        MockEnvironment environment = new MockEnvironment().withProperty("AUTH0_CLIENT_SECRET", "from-env");
+        CountingEncryptor encryptor = new CountingEncryptor(
+                PropertyEncryptionConfig.jasyptStringEncryptor(environment));
+        EncryptablePropertyResolver resolver = PropertyEncryptionConfig.encryptablePropertyResolver(
+                new StaticListableBeanFactory(Map.of("jasyptStringEncryptor", encryptor))
+                        .getBeanProvider(StringEncryptor.class),
+                environment);
+
+        assertThat(resolver.resolvePropertyValue("${AUTH0_CLIENT_SECRET:ENC(bm90LWRlY3J5cHRlZA==)}"))
+                .isEqualTo("${AUTH0_CLIENT_SECRET:ENC(bm90LWRlY3J5cHRlZA==)}");
+        assertThat(encryptor.decryptions.get()).isZero();
+    }
+
+    private static String encrypt(String value) {
+        StandardPBEStringEncryptor encryptor = new StandardPBEStringEncryptor();
+        encryptor.setPassword(PASSWORD);
+        encryptor.setAlgorithm(PropertyEncryptionConfig.DEFAULT_ALGORITHM);
+        encryptor.setIvGenerator(new RandomIvGenerator());
+        return encryptor.encrypt(value);
+    }
+
+    private static final class CountingEncryptor implements StringEncryptor {
+
+        private final StringEncryptor delegate;
+        private final AtomicInteger decryptions = new AtomicInteger();
+
+        CountingEncryptor(StringEncryptor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encrypt(String message) {
+            return delegate.encrypt(message);
+        }
+
+        @Override
+        public String decrypt(String encryptedMessage) {
+            decryptions.incrementAndGet();
+            return delegate.decrypt(encryptedMessage);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tandem.household;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tandem.household.dto.CardAssignmentResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.Record5;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardAssignmentsTest {
+
+    private static final UUID CARD = UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+
+    private final List<String> statements = new ArrayList<>();
+    private final List<List<Object>> bindings = new ArrayList<>();
+    private DSLContext dsl;
+    private CardAssignments assignments;
+
+    @BeforeEach
+    void setUp() {
+        DSLContext empty = DSL.using(SQLDialect.POSTGRES);
+        Result<Record5<Long, String, String, String, Instant>> history = empty.newResult(
+                HouseholdTables.ASSIGNMENT_ID, HouseholdTables.ASSIGNMENT_ASSIGNED_TO,
+                HouseholdTables.ASSIGNMENT_ASSIGNED_BY, HouseholdTables.ASSIGNMENT_NOTE,
+                HouseholdTables.ASSIGNMENT_ASSIGNED_AT);
+        history.add(assignment(empty, 7, "auth0|sam", Instant.parse("2026-03-01T10:00:00Z")));
+        history.add(assignment(empty, 5, "auth0|alex", Instant.parse("2026-02-01T10:00:00Z")));
+        dsl = DSL.using(new MockConnection(context -> {
+            statements.add(context.sql());
+            bindings.add(List.of(context.bindings()));
+            // The first page holds the whole history; any later page is past its end
+            Result<Record5<Long, String, String, String, Instant>> page = statements.size() == 1
+                    ? history
+                    : empty.newResult(HouseholdTables.ASSIGNMENT_ID, HouseholdTables.ASSIGNMENT_ASSIGNED_TO,
+                            HouseholdTables.ASSIGNMENT_ASSIGNED_BY, HouseholdTables.ASSIGNMENT_NOTE,
+                            HouseholdTables.ASSIGNMENT_ASSIGNED_AT);
+            return new MockResult[] {new MockResult(page.size(), page)};
+        }), SQLDialect.POSTGRES);
+        assignments = new CardAssignments(dsl);
+    }
+
+    @Test
+    void streamSeeksPastTheCursorAndHandsOutResumableEntries() throws Exception {
+        CardAssignments.Position after = new CardAssignments.Position(Instant.parse("2026-04-01T00:00:00Z"), 9);
+        List<CardAssignmentResponse> received = new ArrayList<>();
+
+        int count = assignments.stream(CARD, after, 100, received::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(statements).singleElement().asString()
+                .contains("(\"card_assignment\".\"assigned_at\", \"card_assignment\".\"id\") < (?, ?)")
+                .contains("order by \"card_assignment\".\"assigned_at\" desc, \"card_assignment\".\"id\" desc")
+                .doesNotContain("offset");
+        assertThat(received).extracting(CardAssignmentResponse::assignedTo).containsExactly("auth0|sam", "auth0|alex");
+        assertThat(CardAssignments.Position.decode(received.get(1).cursor()))
+                .isEqualTo(new CardAssignments.Position(Instant.parse("2026-02-01T10:00:00Z"), 5));
+    }
+
+    @Test
+    void streamReadsShortPagesEachSeekingPastTheLastEntry() throws Exception {
+        List<CardAssignmentResponse> received = new ArrayList<>();
+
+        int count = new CardAssignments(dsl, 2).stream(CARD, null, 100, received::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).doesNotContain("(\"card_assignment\".\"assigned_at\", ");
+        assertThat(bindings.get(0)).contains(2);
+        assertThat(statements.get(1)).contains(
+                "(\"card_assignment\".\"assigned_at\", \"card_assignment\".\"id\") < (?, ?)");
+        assertThat(bindings.get(1)).contains(5L, 2);
+    }
+
+    @Test
+    void streamStopsAtTheLimitAcrossPages() throws Exception {
+        List<CardAssignmentResponse> received = new ArrayList<>();
+
+        int count = new CardAssignments(dsl, 1).stream(CARD, null, 1, received::add);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(statements).hasSize(1);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThat(CardAssignments.Position.decode(null)).isNull();
+        assertThatThrownBy(() -> CardAssignments.Position.decode(KeysetCursor.encode("2026-01-01T00:00:00Z")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CardAssignments.Position.decode(KeysetCursor.encode("yesterday/3")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static Record5<Long, String, String, String, Instant> assignment(DSLContext dsl, long id, String to,
+                                                                          Instant at) {
+        Record5<Long, String, String, String, Instant> record = dsl.newRecord(
+                HouseholdTables.ASSIGNMENT_ID, HouseholdTables.ASSIGNMENT_ASSIGNED_TO,
+                HouseholdTables.ASSIGNMENT_ASSIGNED_BY, HouseholdTables.ASSIGNMENT_NOTE,
+                HouseholdTables.ASSIGNMENT_ASSIGNED_AT);
+        record.values(id, to, "auth0|alex", null, at);
+        return record;
+    }
+}
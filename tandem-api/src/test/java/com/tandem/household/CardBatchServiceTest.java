@@ -0,0 +1,111 @@
+package com.tandem.household;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tandem.household.dto.CardBatchRequest;
+import com.tandem.household.dto.CardBatchResponse;
+import com.tandem.household.dto.CardOperation;
+import com.tandem.household.dto.CardOperationResult;
+import com.tandem.household.events.HouseholdChange;
+import com.tandem.household.events.HouseholdEvents;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.Record5;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardBatchServiceTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+    private static final UUID DISHES = UUID.fromString("0a000000-0000-4000-8000-000000000001");
+    private static final UUID LAUNDRY = UUID.fromString("0a000000-0000-4000-8000-000000000002");
+    private static final UUID BINS = UUID.fromString("0a000000-0000-4000-8000-000000000003");
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private final List<String> statements = new ArrayList<>();
+    private final HouseholdQueries queries = mock(HouseholdQueries.class);
+    private final CardAssignments assignments = mock(CardAssignments.class);
+    private final WorkloadAggregates workload = mock(WorkloadAggregates.class);
+    private final HouseholdEvents events = mock(HouseholdEvents.class);
+    private CardBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        DSLContext records = DSL.using(SQLDialect.POSTGRES);
+        DSLContext dsl = DSL.using(new MockConnection(context -> {
+            statements.add(context.sql());
+            if (!context.batch()) {
+                Result<Record5<UUID, String, String, Boolean, Long>> cards = records.newResult(
+                        HouseholdTables.CARD_ID, HouseholdTables.CARD_TEMPLATE_ID, HouseholdTables.CARD_CURRENT_OWNER,
+                        HouseholdTables.CARD_ACTIVE, HouseholdTables.CARD_VERSION);
+                cards.add(card(records, DISHES, "dishes", "auth0|alex", true, 3));
+                cards.add(card(records, LAUNDRY, "laundry", "auth0|sam", true, 1));
+                cards.add(card(records, BINS, "bins", "auth0|alex", false, 5));
+                return new MockResult[] {new MockResult(cards.size(), cards)};
+            }
+            // The bins card is changed by someone else between the read and its update
+            Object[][] bindings = context.batchBindings();
+            MockResult[] counts = new MockResult[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                counts[i] = new MockResult(BINS.equals(bindings[i][4]) ? 0 : 1);
+            }
+            return counts;
+        }), SQLDialect.POSTGRES);
+        service = new CardBatchService(dsl, queries, assignments, workload, events, Clock.fixed(NOW, ZoneOffset.UTC));
+        when(queries.isMember(HOUSEHOLD, "auth0|alex")).thenReturn(true);
+        when(queries.memberIds(any(), anyCollection())).thenReturn(Set.of("auth0|sam"));
+    }
+
+    @Test
+    void appliesWhatItCanInOneBatchAndReportsEachOperation() {
+        CardBatchResponse response = service.apply("auth0|alex", HOUSEHOLD, new CardBatchRequest(List.of(
+                new CardOperation(CardOperationType.ASSIGN, DISHES, "auth0|sam", 3L, "Rebalance"),
+                new CardOperation(CardOperationType.ASSIGN, LAUNDRY, "auth0|stranger", 1L, null),
+                new CardOperation(CardOperationType.ACTIVATE, BINS, null, 5L, null),
+                new CardOperation(CardOperationType.UNASSIGN, DISHES, null, 3L, null),
+                new CardOperation(CardOperationType.DEACTIVATE, LAUNDRY, null, 1L, null),
+                new CardOperation(CardOperationType.ASSIGN, UUID.randomUUID(), "auth0|sam", 1L, null))));
+
+        assertThat(response.applied()).isEqualTo(2);
+        assertThat(response.skipped()).isEqualTo(4);
+        assertThat(response.results()).extracting(CardOperationResult::status).containsExactly(
+                "applied", "owner_not_member", "stale_version", "duplicate_card", "applied", "card_not_found");
+        assertThat(response.results().get(0).version()).isEqualTo(4L);
+        assertThat(response.results().get(4).version()).isEqualTo(2L);
+
+        // One read and one batch of updates, whatever the number of operations
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(1)).startsWith("update \"household_card\"");
+        verify(assignments).appendAll(HOUSEHOLD, "auth0|alex", NOW,
+                List.of(new CardAssignments.NewEntry(DISHES, "auth0|sam", "Rebalance")));
+        verify(workload).moveAll(HOUSEHOLD, List.of(
+                new WorkloadAggregates.Move("dishes", "auth0|alex", "auth0|sam"),
+                new WorkloadAggregates.Move("laundry", "auth0|sam", null)));
+        verify(events).publishAll(HOUSEHOLD, List.of(
+                new HouseholdChange.CardAssigned(DISHES, "auth0|sam", "auth0|alex", "auth0|alex", 4L),
+                new HouseholdChange.CardActiveChanged(LAUNDRY, false, 2L)));
+    }
+
+    private static Record5<UUID, String, String, Boolean, Long> card(DSLContext records, UUID id, String templateId,
+                                                                     String owner, boolean active, long version) {
+        return records.newRecord(HouseholdTables.CARD_ID, HouseholdTables.CARD_TEMPLATE_ID,
+                        HouseholdTables.CARD_CURRENT_OWNER, HouseholdTables.CARD_ACTIVE, HouseholdTables.CARD_VERSION)
+                .values(id, templateId, owner, active, version);
+    }
+}
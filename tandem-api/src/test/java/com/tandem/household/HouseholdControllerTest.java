@@ -0,0 +1,185 @@
+package com.tandem.household;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.tandem.auth.AuthExceptionHandler;
+import com.tandem.household.dto.CardAssignmentResponse;
+import com.tandem.household.dto.CardBatchResponse;
+import com.tandem.household.dto.CardOperationResult;
+import com.tandem.household.dto.HouseholdCardResponse;
+import com.tandem.household.dto.PageResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = HouseholdController.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {HouseholdExceptionHandler.class, AuthExceptionHandler.class}))
+@AutoConfigureMockMvc(addFilters = false)
+class HouseholdControllerTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+    private static final UUID CARD = UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HouseholdService householdService;
+
+    @MockBean
+    private CardBatchService cardBatchService;
+
+    @MockBean
+    private CardAssignments assignments;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void cardsReturnsAPageWithItsNextCursor() throws Exception {
+        HouseholdCardResponse card = new HouseholdCardResponse(CARD, "dishes", "Dishes", "home_care", "daily",
+                "dish", "auth0|alex", null, true, null, 3, Instant.parse("2026-01-01T00:00:00Z"));
+        when(householdService.cards("auth0|alex", HOUSEHOLD, "auth0|alex", true, null, 1))
+                .thenReturn(new PageResponse<>(List.of(card), "next-page"));
+
+        mockMvc.perform(get("/api/households/" + HOUSEHOLD + "/cards")
+                        .param("owner", "auth0|alex")
+                        .param("active", "true")
+                        .param("limit", "1")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(CARD.toString()))
+                .andExpect(jsonPath("$.items[0].name").value("Dishes"))
+                .andExpect(jsonPath("$.items[0].version").value(3))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    void historyIsStreamedAsOneJsonLinePerAssignment() throws Exception {
+        doAnswer(invocation -> {
+            CardAssignments.Sink sink = invocation.getArgument(3);
+            sink.accept(new CardAssignmentResponse(2, "auth0|sam", "auth0|alex",
+                    Instant.parse("2026-02-01T00:00:00Z"), "Swap for February", "c2"));
+            sink.accept(new CardAssignmentResponse(1, "auth0|alex", "auth0|alex",
+                    Instant.parse("2026-01-01T00:00:00Z"), null, "c1"));
+            return 2;
+        }).when(assignments).stream(eq(CARD), isNull(), eq(1000), any());
+
+        MvcResult result = mockMvc.perform(get("/api/households/" + HOUSEHOLD + "/cards/" + CARD + "/history")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(matchesPattern(
+                        "\\{\"id\":2,\"assignedTo\":\"auth0\\|sam\".*\"cursor\":\"c2\"}\n"
+                                + "\\{\"id\":1,.*\"cursor\":\"c1\"}\n")));
+    }
+
+    @Test
+    void historyOfAnotherHouseholdsCardIsNotFound() throws Exception {
+        doThrow(new HouseholdCardNotFoundException())
+                .when(householdService).requireCard("auth0|alex", HOUSEHOLD, CARD);
+
+        mockMvc.perform(get("/api/households/" + HOUSEHOLD + "/cards/" + CARD + "/history")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex"))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("card_not_found"));
+        verifyNoInteractions(assignments);
+    }
+
+    @Test
+    void nonMembersCannotTellAHouseholdExists() throws Exception {
+        when(householdService.household("auth0|stranger", HOUSEHOLD)).thenThrow(new HouseholdNotFoundException());
+
+        mockMvc.perform(get("/api/households/" + HOUSEHOLD)
+                        .with(jwt().jwt(token -> token.subject("auth0|stranger"))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("household_not_found"));
+    }
+
+    @Test
+    void staleCardVersionIsAConflict() throws Exception {
+        when(householdService.assignCard(eq("auth0|alex"), eq(HOUSEHOLD), eq(CARD), any()))
+                .thenThrow(HouseholdService.staleCard());
+
+        mockMvc.perform(put("/api/households/" + HOUSEHOLD + "/cards/" + CARD + "/owner")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ownerId\":\"auth0|sam\",\"version\":2}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("stale_version"));
+    }
+
+    @Test
+    void assignmentWithoutVersionIsRejected() throws Exception {
+        mockMvc.perform(put("/api/households/" + HOUSEHOLD + "/cards/" + CARD + "/owner")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ownerId\":\"auth0|sam\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("validation_failed"));
+    }
+
+    @Test
+    void batchReportsEveryOperation() throws Exception {
+        when(cardBatchService.apply(eq("auth0|alex"), eq(HOUSEHOLD), any())).thenReturn(new CardBatchResponse(1, 1,
+                List.of(new CardOperationResult(0, CARD, "applied", 3L),
+                        new CardOperationResult(1, CARD, "duplicate_card", 3L))));
+
+        mockMvc.perform(post("/api/households/" + HOUSEHOLD + "/cards/batch")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":["
+                                + "{\"type\":\"ASSIGN\",\"cardId\":\"" + CARD + "\","
+                                + "\"ownerId\":\"auth0|sam\",\"version\":2},"
+                                + "{\"type\":\"DEACTIVATE\",\"cardId\":\"" + CARD + "\",\"version\":2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("applied"))
+                .andExpect(jsonPath("$.results[0].version").value(3))
+                .andExpect(jsonPath("$.results[1].status").value("duplicate_card"));
+    }
+
+    @Test
+    void batchOperationWithoutVersionIsRejected() throws Exception {
+        mockMvc.perform(post("/api/households/" + HOUSEHOLD + "/cards/batch")
+                        .with(jwt().jwt(token -> token.subject("auth0|alex")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"ACTIVATE\",\"cardId\":\"" + CARD + "\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("validation_failed"));
+
+        verifyNoInteractions(cardBatchService);
+    }
+}
@@ -0,0 +1,76 @@
+package com.tandem.household;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HouseholdQueriesTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+
+    private final List<String> statements = new ArrayList<>();
+    private HouseholdQueries queries;
+
+    @BeforeEach
+    void setUp() {
+        DSLContext empty = DSL.using(SQLDialect.POSTGRES);
+        DSLContext dsl = DSL.using(new MockConnection(context -> {
+            statements.add(context.sql());
+            return new MockResult[] {new MockResult(0, empty.newResult(HouseholdTables.CARD_ID))};
+        }), SQLDialect.POSTGRES);
+        queries = new HouseholdQueries(dsl);
+    }
+
+    @Test
+    void cardPageIsOneSeekQueryJoinedWithTemplates() {
+        UUID after = UUID.randomUUID();
+
+        queries.cards(HOUSEHOLD, "auth0|alex", true, KeysetCursor.encode(after.toString()), 25);
+
+        assertThat(statements).hasSize(1);
+        String sql = statements.get(0);
+        assertThat(sql)
+                .contains("join \"card_template\"")
+                .contains("\"household_card\".\"current_owner\" = ?")
+                .contains("\"household_card\".\"id\" > ?")
+                .contains("order by \"household_card\".\"id\"")
+                .contains("limit ?")
+                .doesNotContain("offset")
+                .doesNotContain("\"notes\"");
+    }
+
+    @Test
+    void firstPageHasNoSeekPredicate() {
+        queries.members(HOUSEHOLD, null, 50);
+
+        assertThat(statements).singleElement().asString()
+                .doesNotContain("\"user_id\" > ?")
+                .contains("order by \"household_member\".\"user_id\"");
+    }
+
+    @Test
+    void malformedCursorIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> queries.cards(HOUSEHOLD, null, null, "%%%", 50))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> queries.cards(HOUSEHOLD, null, null, KeysetCursor.encode("not-a-uuid"), 50))
+                .isInstanceOf(InvalidCursorException.class);
+
+        assertThat(statements).isEmpty();
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(HouseholdQueries.pageSize(0)).isEqualTo(1);
+        assertThat(HouseholdQueries.pageSize(10_000)).isEqualTo(HouseholdQueries.MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,97 @@
+package com.tandem.household;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.tandem.household.dto.AssignCardRequest;
+import com.tandem.household.dto.HouseholdCardResponse;
+import com.tandem.household.dto.SetCardActiveRequest;
+import com.tandem.household.dto.WorkloadResponse;
+import com.tandem.household.events.HouseholdChange;
+import com.tandem.household.events.HouseholdEvents;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HouseholdServiceTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private final HouseholdCardRepository cards = mock(HouseholdCardRepository.class);
+    private final HouseholdQueries queries = mock(HouseholdQueries.class);
+    private final CardAssignments assignments = mock(CardAssignments.class);
+    private final WorkloadAggregates workload = mock(WorkloadAggregates.class);
+    private final HouseholdEvents events = mock(HouseholdEvents.class);
+    private HouseholdService service;
+    private HouseholdCard card;
+
+    @BeforeEach
+    void setUp() {
+        service = new HouseholdService(mock(HouseholdRepository.class), mock(HouseholdMemberRepository.class), cards,
+                queries, assignments, workload, events, Clock.fixed(NOW, ZoneOffset.UTC));
+        card = new HouseholdCard(HOUSEHOLD, "dishes", "auth0|alex", null, NOW.minusSeconds(60));
+        ReflectionTestUtils.setField(card, "version", 4L);
+        when(cards.findByIdAndHouseholdId(card.getId(), HOUSEHOLD)).thenReturn(Optional.of(card));
+        when(queries.isMember(any(), any())).thenReturn(true);
+        when(queries.card(any(), any())).thenReturn(Optional.of(new HouseholdCardResponse(card.getId(), "dishes",
+                "Dishes", "home_care", "daily", "dish", null, null, true, null, 5, NOW)));
+    }
+
+    @Test
+    void reassigningAnActiveCardMovesItsWeightAndAppendsHistory() {
+        service.assignCard("auth0|alex", HOUSEHOLD, card.getId(), new AssignCardRequest("auth0|sam", 4L, "Your turn"));
+
+        verify(assignments).append(HOUSEHOLD, card.getId(), "auth0|sam", "auth0|alex", "Your turn", NOW);
+        verify(workload).move(HOUSEHOLD, "dishes", "auth0|alex", "auth0|sam");
+        verify(events).publish(HOUSEHOLD,
+                new HouseholdChange.CardAssigned(card.getId(), "auth0|sam", "auth0|alex", "auth0|alex", 4L));
+    }
+
+    @Test
+    void deactivatingACardStopsCountingIt() {
+        service.setCardActive("auth0|alex", HOUSEHOLD, card.getId(), new SetCardActiveRequest(false, 4L));
+
+        verify(workload).move(HOUSEHOLD, "dishes", "auth0|alex", null);
+        verify(events).publish(HOUSEHOLD, new HouseholdChange.CardActiveChanged(card.getId(), false, 4L));
+    }
+
+    @Test
+    void staleVersionChangesNothing() {
+        assertThatThrownBy(() -> service.assignCard("auth0|alex", HOUSEHOLD, card.getId(),
+                new AssignCardRequest("auth0|sam", 3L, null)))
+                .isInstanceOf(HouseholdConflictException.class);
+
+        assertThat(card.getCurrentOwner()).isEqualTo("auth0|alex");
+        verifyNoInteractions(assignments, workload, events);
+    }
+
+    @Test
+    void workloadIsSummarisedPerMemberFromTheCounters() {
+        when(workload.summary(HOUSEHOLD)).thenReturn(List.of(
+                new WorkloadAggregates.Row("auth0|alex", "food_meals", "daily", 2),
+                new WorkloadAggregates.Row("auth0|alex", "home_care", "daily", 1),
+                new WorkloadAggregates.Row("auth0|alex", "home_care", "weekly", 3),
+                new WorkloadAggregates.Row("auth0|sam", "childcare", "daily", 4)));
+
+        WorkloadResponse response = service.workload("auth0|alex", HOUSEHOLD);
+
+        assertThat(response.members()).hasSize(2);
+        WorkloadResponse.MemberWorkload alex = response.members().getFirst();
+        assertThat(alex.totalCards()).isEqualTo(6);
+        assertThat(alex.byCategory()).isEqualTo(Map.of("food_meals", 2, "home_care", 4));
+        assertThat(alex.byFrequency()).isEqualTo(Map.of("daily", 3, "weekly", 3));
+    }
+}
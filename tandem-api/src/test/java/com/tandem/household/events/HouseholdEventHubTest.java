@@ -0,0 +1,211 @@
+package com.tandem.household.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HouseholdEventHubTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+
+    private final HouseholdEvents events = mock(HouseholdEvents.class);
+    private HouseholdEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    void reconnectReplaysMissedEventsAndSendsLiveOnesOnce() throws InterruptedException {
+        hub = newHub(16, 10);
+        when(events.latestId(HOUSEHOLD)).thenReturn(7L);
+        when(events.after(HOUSEHOLD, 5L, 11)).thenAnswer(invocation -> {
+            // Event 7 commits while the replay query runs, so it arrives both ways
+            hub.onNotifications(List.of(HOUSEHOLD + ":7", HOUSEHOLD + ":8"));
+            return List.of(event(6), event(7));
+        });
+        when(events.byIds(anyCollection())).thenReturn(List.of(event(7), event(8)));
+        RecordingSink sink = new RecordingSink();
+
+        hub.subscribe(HOUSEHOLD, 5L, sink);
+
+        assertThat(sink.take(3)).containsExactly("6", "7", "8");
+        assertThat(sink.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void subscriberTooFarBehindIsToldToReload() throws InterruptedException {
+        hub = newHub(16, 2);
+        when(events.after(HOUSEHOLD, 5L, 3)).thenReturn(List.of(event(6), event(7), event(8)));
+        when(events.latestId(HOUSEHOLD)).thenReturn(40L);
+        RecordingSink sink = new RecordingSink();
+
+        hub.subscribe(HOUSEHOLD, 5L, sink);
+
+        assertThat(sink.take(1)).containsExactly("reset:40");
+    }
+
+    @Test
+    void subscriberResumingFromAPurgedEventIsToldToReload() throws InterruptedException {
+        hub = newHub(16, 10);
+        when(events.latestId(HOUSEHOLD)).thenReturn(40L);
+        when(events.after(HOUSEHOLD, 5L, 11)).thenReturn(List.of(event(38), event(39), event(40)));
+        RecordingSink sink = new RecordingSink();
+
+        hub.subscribe(HOUSEHOLD, 5L, sink);
+
+        assertThat(sink.take(1)).containsExactly("reset:40");
+        assertThat(sink.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void subscriberWithAnIdTheHouseholdNeverReachedIsToldToReload() throws InterruptedException {
+        hub = newHub(16, 10);
+        when(events.latestId(HOUSEHOLD)).thenReturn(12L);
+        RecordingSink sink = new RecordingSink();
+
+        hub.subscribe(HOUSEHOLD, 9000L, sink);
+
+        assertThat(sink.take(1)).containsExactly("reset:12");
+    }
+
+    @Test
+    void resyncClosesSubscribersWhoseMissedEventsWerePurged() throws InterruptedException {
+        hub = newHub(16, 10);
+        when(events.latestId(HOUSEHOLD)).thenReturn(5L);
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(HOUSEHOLD, null, sink);
+        when(events.after(HOUSEHOLD, 5L, 11)).thenReturn(List.of(event(9), event(10)));
+
+        hub.resync();
+
+        assertThat(sink.closed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(sink.received).isEmpty();
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutHoldingUpOthers() throws InterruptedException {
+        hub = newHub(2, 10);
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(stuck);
+        RecordingSink fast = new RecordingSink();
+        hub.subscribe(HOUSEHOLD, null, slow);
+        hub.subscribe(HOUSEHOLD, null, fast);
+        List<HouseholdEvent> batch = new ArrayList<>();
+        for (int id = 1; id <= 10; id++) {
+            batch.add(event(id));
+        }
+        when(events.byIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(HouseholdEventHubTest::event).toList();
+        });
+
+        for (HouseholdEvent event : batch) {
+            hub.onNotifications(List.of(HOUSEHOLD + ":" + event.id()));
+            assertThat(fast.take(1)).containsExactly(Long.toString(event.id()));
+        }
+
+        assertThat(slow.closed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        stuck.countDown();
+    }
+
+    @Test
+    void subscriptionsBeyondTheNodeLimitAreRejected() {
+        hub = new HouseholdEventHub(events, properties(16, 10, 1), 8192);
+        hub.subscribe(HOUSEHOLD, null, new RecordingSink());
+
+        assertThatThrownBy(() -> hub.subscribe(HOUSEHOLD, null, new RecordingSink()))
+                .isInstanceOf(HouseholdEventCapacityException.class);
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscriptionsLeaveConnectorCapacityForOtherRequests() {
+        hub = new HouseholdEventHub(events, properties(16, 10, 100), 10);
+        for (int i = 0; i < 8; i++) {
+            hub.subscribe(HOUSEHOLD, null, new RecordingSink());
+        }
+
+        assertThatThrownBy(() -> hub.subscribe(HOUSEHOLD, null, new RecordingSink()))
+                .isInstanceOf(HouseholdEventCapacityException.class);
+        assertThat(hub.subscriberCount()).isEqualTo(8);
+    }
+
+    private HouseholdEventHub newHub(int queueCapacity, int replayLimit) {
+        return new HouseholdEventHub(events, properties(queueCapacity, replayLimit, 100), 8192);
+    }
+
+    private static HouseholdEventProperties properties(int queueCapacity, int replayLimit, int maxSubscribers) {
+        return new HouseholdEventProperties(Duration.ofSeconds(15), Duration.ofMinutes(30), queueCapacity,
+                replayLimit, maxSubscribers, Duration.ofDays(3), Duration.ofSeconds(1));
+    }
+
+    private static HouseholdEvent event(long id) {
+        return new HouseholdEvent(id, HOUSEHOLD, "card_assigned", "{}");
+    }
+
+    private static final class RecordingSink implements EventSubscriber.Sink {
+
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch blockSends;
+
+        RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingSink(CountDownLatch blockSends) {
+            this.blockSends = blockSends;
+        }
+
+        @Override
+        public void send(HouseholdEvent event) {
+            try {
+                blockSends.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(Long.toString(event.id()));
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void reset(long lastEventId) {
+            received.add("reset:" + lastEventId);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String next = received.poll(1, TimeUnit.SECONDS);
+                assertThat(next).as("event %d of %d", i + 1, count).isNotNull();
+                taken.add(next);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.tandem.household.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.tandem.PostgresTestDatabase;
+import com.tandem.household.HouseholdRole;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import tools.jackson.databind.json.JsonMapper;
+
+@Testcontainers(disabledWithoutDocker = true)
+class HouseholdEventsTest {
+
+    private static final UUID HOUSEHOLD = UUID.fromString("6f1c2d3e-4b5a-4c7d-8e9f-0a1b2c3d4e5f");
+    private static final UUID OTHER = UUID.fromString("0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d");
+
+    private final JdbcClient jdbcClient = PostgresTestDatabase.jdbcClient();
+    private final HouseholdEvents events = new HouseholdEvents(jdbcClient, JsonMapper.builder().build());
+    private final TransactionTemplate transactions =
+            new TransactionTemplate(new DataSourceTransactionManager(PostgresTestDatabase.dataSource()));
+
+    @BeforeEach
+    void setUp() {
+        PostgresTestDatabase.truncate("household");
+        insertHousehold(HOUSEHOLD);
+        insertHousehold(OTHER);
+    }
+
+    @Test
+    void eachHouseholdHasItsOwnGaplessSequence() {
+        events.publish(HOUSEHOLD, memberAdded("a"));
+        events.publish(OTHER, memberAdded("b"));
+        events.publishAll(HOUSEHOLD, List.of(memberAdded("c"), memberAdded("d")));
+
+        assertThat(events.after(HOUSEHOLD, 0, 10))
+                .extracting(HouseholdEvent::id, HouseholdEventsTest::userId)
+                .containsExactly(tuple(1L, "a"), tuple(2L, "c"), tuple(3L, "d"));
+        assertThat(events.after(OTHER, 0, 10)).extracting(HouseholdEvent::id).containsExactly(1L);
+        assertThat(events.latestId(HOUSEHOLD)).isEqualTo(3);
+        assertThat(events.after(HOUSEHOLD, 1, 1)).extracting(HouseholdEvent::id).containsExactly(2L);
+    }
+
+    @Test
+    void laterPublisherWaitsForTheEarlierOneToCommit() throws Exception {
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> first = executor.submit(() -> transactions.executeWithoutResult(status -> {
+                events.publish(HOUSEHOLD, memberAdded("first"));
+                published.countDown();
+                await(commit);
+            }));
+            assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> transactions.executeWithoutResult(
+                    status -> events.publish(HOUSEHOLD, memberAdded("second"))));
+
+            // Blocked on the household row, so it cannot commit a sequence number ahead of the first
+            assertThat(completesWithin(second, Duration.ofMillis(300))).isFalse();
+            assertThat(events.after(HOUSEHOLD, 0, 10)).isEmpty();
+
+            commit.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(events.after(HOUSEHOLD, 0, 10))
+                .extracting(HouseholdEvent::id, HouseholdEventsTest::userId)
+                .containsExactly(tuple(1L, "first"), tuple(2L, "second"));
+    }
+
+    @Test
+    void latestSequenceOutlivesPurgedEvents() {
+        events.publish(HOUSEHOLD, memberAdded("a"));
+        events.publish(HOUSEHOLD, memberAdded("b"));
+        jdbcClient.sql("UPDATE household_event SET created_at = now() - interval '4 days'").update();
+
+        assertThat(events.purgeOlderThan(Duration.ofDays(3))).isEqualTo(2);
+
+        assertThat(events.latestId(HOUSEHOLD)).isEqualTo(2);
+        assertThat(events.after(HOUSEHOLD, 0, 10)).isEmpty();
+        events.publish(HOUSEHOLD, memberAdded("c"));
+        assertThat(events.after(HOUSEHOLD, 0, 10)).extracting(HouseholdEvent::id).containsExactly(3L);
+    }
+
+    private void insertHousehold(UUID id) {
+        jdbcClient.sql("""
+                        INSERT INTO household (id, name, created_by, version, created_at, updated_at)
+                        VALUES (:id, 'Home', 'auth0|owner', 0, now(), now())
+                        """)
+                .param("id", id)
+                .update();
+    }
+
+    private static HouseholdChange memberAdded(String userId) {
+        return new HouseholdChange.MemberAdded(userId, HouseholdRole.MEMBER);
+    }
+
+    private static String userId(HouseholdEvent event) {
+        return JsonMapper.builder().build().readTree(event.data()).get("userId").asString();
+    }
+
+    private static boolean completesWithin(Future<?> future, Duration timeout) throws Exception {
+        try {
+            future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException ex) {
+            return false;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}